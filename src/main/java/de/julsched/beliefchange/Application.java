@@ -2,34 +2,42 @@ package de.julsched.beliefchange;
 
 import java.io.File;
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Paths;
 
 import org.apache.commons.io.FilenameUtils;
 
+import de.julsched.beliefchange.asp.AspBatchInferenceCheck;
+import de.julsched.beliefchange.asp.AspBatchModelCheck;
 import de.julsched.beliefchange.asp.AspInferenceCheck;
 import de.julsched.beliefchange.asp.AspModelCheck;
 import de.julsched.beliefchange.asp.CompilerAsp;
 import de.julsched.beliefchange.exceptions.WrongInputException;
 import de.julsched.beliefchange.ilp.CompilerIlp;
+import de.julsched.beliefchange.ilp.IlpBatchModelCheck;
 import de.julsched.beliefchange.ilp.IlpInferenceCheck;
 import de.julsched.beliefchange.ilp.IlpModelCheck;
 import de.julsched.beliefchange.instance.InferenceCheckInstance;
 import de.julsched.beliefchange.instance.ModelCheckInstance;
+import de.julsched.beliefchange.naive.NaiveBatchModelCheck;
 import de.julsched.beliefchange.naive.NaiveInferenceCheck;
 import de.julsched.beliefchange.naive.NaiveModelCheck;
 import de.julsched.beliefchange.naive.NaiveModelDetermination;
 import de.julsched.beliefchange.sat.CompilerSat;
+import de.julsched.beliefchange.sat.SatBatchInferenceCheck;
+import de.julsched.beliefchange.sat.SatBatchModelCheck;
 import de.julsched.beliefchange.sat.SatInferenceCheck;
 import de.julsched.beliefchange.sat.SatModelCheck;
 import de.julsched.beliefchange.values.EncodingType;
+import de.julsched.beliefchange.values.ModelFormat;
 import de.julsched.beliefchange.values.Algorithm;
 import de.julsched.beliefchange.values.Distance;
+import de.julsched.beliefchange.values.NegationEncoding;
 import de.julsched.beliefchange.values.Operation;
+import de.julsched.beliefchange.values.SatBackend;
 
 public class Application {
 
     private static Algorithm preCompilationAlgorithm;
+    private static boolean batch;
     private static boolean compilation;
     private static BeliefChangeCompiler compiler;
     private static Distance distance;
@@ -39,7 +47,10 @@ public class Application {
     private static File instanceFile;
     public static String instanceName;
     private static boolean modelCheck;
+    public static ModelFormat modelFormat;
+    public static NegationEncoding negationEncoding;
     private static Operation operation;
+    public static SatBackend satBackend;
     private static boolean validateInstance = true;
 
     public static final String dirResults = "results";
@@ -67,9 +78,31 @@ public class Application {
     public static long timeTotal = 0;
 
     public static void main(String[] args) {
-        Application.applicationStartTime = System.currentTimeMillis();
+        if (!run(args)) {
+            System.exit(1);
+        }
+    }
+
+    // Executes one command, returns false if it terminated with an error. Commands must not run concurrently,
+    // as the options and measured times are kept in static fields.
+    public static boolean run(String[] args) {
+        long startTime = System.currentTimeMillis();
+        CommandOptions options;
+        try {
+            options = CommandOptions.parse(args);
+        } catch (Exception e) {
+            System.out.println("[ERROR] The program terminated with an error:");
+            e.printStackTrace();
+            return false;
+        }
+        return execute(options, startTime);
+    }
+
+    // Executes a parsed command, with the application time measured from the start time
+    static boolean execute(CommandOptions options, long startTime) {
+        apply(options);
+        Application.applicationStartTime = startTime;
         try {
-            analyzeArgs(args);
             if (compilation) {
                 if (encodingType == EncodingType.NAIVE) {
                     runNaiveImplementation();
@@ -83,229 +116,52 @@ public class Application {
             }
             Application.applicationEndTime = System.currentTimeMillis();
             printExecutionTimes();
+            return true;
         } catch (Exception e) {
             System.out.println("[ERROR] The program terminated with an error:");
             e.printStackTrace();
-            System.exit(1);
+            return false;
         }
     }
 
-    private static void analyzeArgs(String[] args) throws IOException {
-        for (int a = 0; a < args.length; a++) {
-            switch (args[a]) {
-                case "-s": case "--skip-validation":
-                    if (!validateInstance) {
-                        throw new WrongInputException("Duplicate specification of '-s/--skip-validation'");
-                    }
-                    validateInstance = false;
-                    break;
-                case "-t": case "--type":
-                    if (encodingType != null) {
-                        throw new WrongInputException("Duplicate specification of '-t/--type'");
-                    }
-                    if (args.length >= a) {
-                        encodingType = EncodingType.getType(args[a + 1]);
-                        if (encodingType == null) {
-                            throw new WrongInputException(
-                                new StringBuilder("Invalid input '")
-                                .append(args[a + 1])
-                                .append("'. Please specify one of the following encoding types: [")
-                                .append(EncodingType.getValues())
-                                .append("]").toString()
-                            );
-                        }
-                        a++;
-                    }
-                    break;
-                case "-C": case "--compilation":
-                    if (compilation) {
-                        throw new WrongInputException("Duplicate specification of '-C/--compilation'");
-                    }
-                    compilation = true;
-                    break;
-                case "-a": case "--algorithm":
-                    if (preCompilationAlgorithm != null) {
-                        throw new WrongInputException("Duplicate specification of '-a/--algorithm'");
-                    }
-                    if (args.length >= a) {
-                        preCompilationAlgorithm = Algorithm.getAlgorithm(args[a + 1]);
-                        if (preCompilationAlgorithm == null) {
-                            throw new WrongInputException(
-                                new StringBuilder("Invalid input '")
-                                .append(args[a + 1])
-                                .append("'. Please specify one of the following algorithms: [")
-                                .append(Algorithm.getValues())
-                                .append("]").toString()
-                            );
-                        }
-                        a++;
-                    }
-                    break;
-                case "-d": case "--distance":
-                    if (distance != null) {
-                        throw new WrongInputException("Duplicate specification of '-d/--distance'");
-                    }
-                    if (args.length >= a) {
-                        distance = Distance.getDistance(args[a + 1]);
-                        if (distance == null) {
-                            throw new WrongInputException(
-                                new StringBuilder("Invalid input '")
-                                .append(args[a + 1])
-                                .append("'. Please specify one of the following distances: [")
-                                .append(Distance.getValues())
-                                .append("]").toString()
-                            );
-                        }
-                        a++;
-                    }
-                    break;
-                case "-e": case "--encoding":
-                    if (encodingFile != null) {
-                        throw new WrongInputException("Duplicate specification of '-e/--encoding'");
-                    }
-                    if (args.length >= a) {
-                        encodingFile = new File(args[a + 1]);
-                        a++;
-                    }
-                    if (encodingFile == null || encodingFile.getName().startsWith("-")) {
-                        throw new WrongInputException("Please provide a path to an encoding file");
-                    }
-                    break;
-                case "-f": case "--file":
-                    if (instanceFile != null) {
-                        throw new WrongInputException("Duplicate specification of '-f/--file'");
-                    }
-                    if (args.length >= a) {
-                        instanceFile = new File(args[a + 1]);
-                        a++;
-                    }
-                    if (instanceFile == null || instanceFile.getName().startsWith("-")) {
-                        throw new WrongInputException("Please provide a path to an instance file");
-                    }
-                    break;
-                case "-I": case "--inference-check":
-                    if (inferenceCheck) {
-                        throw new WrongInputException("Duplicate specification of '-I/--inference-check'");
-                    }
-                    inferenceCheck = true;
-                    break;
-                case "-M": case "--model-check":
-                    if (modelCheck) {
-                        throw new WrongInputException("Duplicate specification of '-M/--model-check'");
-                    }
-                    modelCheck = true;
-                    break;
-                case "-o": case "--operation":
-                    if (operation != null) {
-                        throw new WrongInputException("Duplicate specification of '-o/--operation'");
-                    }
-                    if (args.length >= a) {
-                        operation = Operation.getOperation(args[a + 1]);
-                        if (operation == null) {
-                            throw new WrongInputException(
-                                new StringBuilder("Invalid input '")
-                                .append(args[a + 1])
-                                .append("'. Please specify one of the following operations: [")
-                                .append(Operation.getValues())
-                                .append("]").toString()
-                            );
-                        }
-                        a++;
-                    }
-                    break;
-                default:
-                    throw new WrongInputException(
-                        new StringBuilder("Invalid input '")
-                        .append(args[a])
-                        .append("'").toString()
-                    );
-            }
-        }
-        if (instanceFile == null) {
-            throw new WrongInputException("Please specify a path to an instance file using [-f/--file <file_path>]");
-        }
-        int modes = 0;
-        if (compilation) {
-            modes++;
-        }
-        if (inferenceCheck) {
-            modes++;
-        }
-        if (modelCheck) {
-            modes++;
-        }
-        if (modes == 0) {
-            throw new WrongInputException("Please choose the desired operating mode: [-C/--compilation | -I/--inference-check | -M/--model-check]");
-        }
-        if (modes > 1) {
-            throw new WrongInputException("Duplicate operating modes. Please choose only one of [-C/--compilation | -I/--inference-check | -M/--model-check]");
-        }
+    private static void apply(CommandOptions options) {
+        preCompilationAlgorithm = options.getPreCompilationAlgorithm();
+        batch = options.isBatch();
+        compilation = options.isCompilation();
+        compiler = null;
+        distance = options.getDistance();
+        encodingFile = options.getEncodingFile();
+        encodingType = options.getEncodingType();
+        inferenceCheck = options.isInferenceCheck();
+        instanceFile = options.getInstanceFile();
+        instanceName = options.getInstanceName();
+        modelCheck = options.isModelCheck();
+        modelFormat = options.getModelFormat();
+        negationEncoding = options.getNegationEncoding();
+        operation = options.getOperation();
+        satBackend = options.getSatBackend();
+        validateInstance = options.isValidateInstance();
+        dirInterimResults = options.getDirInterimResults();
+        resultFilePath = options.getResultFilePath();
 
-        instanceName = instanceFile.getName().split("\\.")[0];
-
-        if (inferenceCheck || modelCheck) {
-            if (encodingFile == null) {
-                throw new WrongInputException("Please specify a path to an encoding file using [-e/--encoding <file_path>]");
-            }
-            if (encodingType != null) {
-                throw new WrongInputException("Encoding provided. Flag '--type " + encodingType + "' not allowed");
-            }
-            if (distance != null) {
-                throw new WrongInputException("Encoding provided. Flag '--distance " + distance + "' not allowed");
-            }
-            if (operation != null) {
-                throw new WrongInputException("Encoding provided. Flag '--operation " + operation + "' not allowed");
-            }
-            if (preCompilationAlgorithm != null) {
-                throw new WrongInputException("Encoding provided. Flag '--algorithm " + preCompilationAlgorithm + "' not allowed");
-            }
-            // Naive model check does not require an interim results directory
-            if (FilenameUtils.getExtension(encodingFile.getName()).equals("") && modelCheck) {
-                return;
-            }
-            dirInterimResults = "interim_results/" + instanceName;
-            Files.createDirectories(Paths.get(dirInterimResults));
-            return;
-        }
-        if (encodingType == EncodingType.NAIVE && preCompilationAlgorithm != null) {
-            throw new WrongInputException("Naive execution selected. Flag '--algorithm " + preCompilationAlgorithm + "' not allowed");
-        }
-
-        System.out.println("-".repeat(100));
-        if (operation == null) {
-            operation = Operation.getDefault();
-            System.out.println("[INFO] No operation specified. Using default '" + operation + "'");
-        } else {
-            System.out.println("[INFO] Specified operation: " + operation);
-        }
-        if (distance == null) {
-            distance = Distance.getDefault();
-            System.out.println("[INFO] No distance specified. Using default '" + distance + "'");
-        } else {
-            System.out.println("[INFO] Specified distance: " + distance);
-        }
-        if (encodingType == null) {
-            encodingType = EncodingType.getDefault();
-            System.out.println("[INFO] No encoding type specified. Using default '" + encodingType + "'");
-        } else {
-            System.out.println("[INFO] Specified encoding type: " + encodingType);
-        }
-        if (preCompilationAlgorithm == null) {
-            if (encodingType != EncodingType.NAIVE) {
-                preCompilationAlgorithm = Algorithm.getDefault();
-                System.out.println("[INFO] No pre-compilation algorithm specified. Using default '" + preCompilationAlgorithm + "'");
-            }
-        } else {
-            System.out.println("[INFO] Specified pre-compilation algorithm: " + preCompilationAlgorithm);
-        }
+        applicationStartTime = 0;
+        applicationEndTime = 0;
+        compilationStartTime = 0;
+        compilationEndTime = 0;
+        optimumFinderStartTime = 0;
+        optimumFinderEndTime = 0;
+        solverCallsStartTime = 0;
+        solverCallsEndTime = 0;
+        inferenceCheckStartTime = 0;
+        inferenceCheckEndTime = 0;
+        modelCheckStartTime = 0;
+        modelCheckEndTime = 0;
+    }
 
-        dirInterimResults = dirResults + "/interim_results/" + instanceName;
-        Files.createDirectories(Paths.get(dirInterimResults));
-        if (encodingType == EncodingType.NAIVE) {
-            resultFilePath = dirResults + "/" + instanceName + "_" + operation + "_" + distance + "_models" + encodingType.getFileExtension();
-        } else {
-            resultFilePath = dirResults + "/" + instanceName + "_" + operation + "_" + distance + "_encoding" + encodingType.getFileExtension();
-        }
+    // Naive encodings are written without file extension, or as '.bin' in the binary model format
+    static boolean isNaiveEncoding(File encodingFile) {
+        String fileExtension = FilenameUtils.getExtension(encodingFile.getName());
+        return fileExtension.equals("") || fileExtension.equals("bin");
     }
 
     private static void runCompiler() throws IOException {
@@ -319,6 +175,10 @@ public class Application {
     }
 
     private static void runInferenceCheck() throws IOException, InterruptedException {
+        if (batch) {
+            runBatchInferenceCheck();
+            return;
+        }
         InferenceCheckInstance instance = new InferenceCheckInstance(instanceFile, validateInstance);
         String fileExtension = FilenameUtils.getExtension(encodingFile.getName());
         switch (fileExtension) {
@@ -331,7 +191,7 @@ public class Application {
             case "cnf":
                 new SatInferenceCheck(encodingFile, validateInstance, instance).execute();
                 break;
-            case "":
+            case "": case "bin":
                 new NaiveInferenceCheck(encodingFile, instance).execute();
                 break;
             default:
@@ -339,7 +199,25 @@ public class Application {
         }
     }
 
+    private static void runBatchInferenceCheck() throws IOException, InterruptedException {
+        String fileExtension = FilenameUtils.getExtension(encodingFile.getName());
+        switch (fileExtension) {
+            case "lp":
+                new AspBatchInferenceCheck(encodingFile, validateInstance, instanceFile).execute();
+                break;
+            case "cnf":
+                new SatBatchInferenceCheck(encodingFile, validateInstance, instanceFile).execute();
+                break;
+            default:
+                throw new WrongInputException("Batch inference check not supported for file extension: '." + fileExtension + "'");
+        }
+    }
+
     private static void runModelCheck() throws IOException, InterruptedException {
+        if (batch) {
+            runBatchModelCheck();
+            return;
+        }
         String fileExtension = FilenameUtils.getExtension(encodingFile.getName());
         ModelCheckInstance instance = new ModelCheckInstance(instanceFile);
         switch (fileExtension) {
@@ -352,7 +230,7 @@ public class Application {
             case "cnf":
                 new SatModelCheck(encodingFile, validateInstance, instance).execute();
                 break;
-            case "":
+            case "": case "bin":
                 new NaiveModelCheck(encodingFile, instance).execute();
                 break;
             default:
@@ -360,6 +238,26 @@ public class Application {
         }
     }
 
+    private static void runBatchModelCheck() throws IOException, InterruptedException {
+        String fileExtension = FilenameUtils.getExtension(encodingFile.getName());
+        switch (fileExtension) {
+            case "lp":
+                new AspBatchModelCheck(encodingFile, validateInstance, instanceFile).execute();
+                break;
+            case "mod":
+                new IlpBatchModelCheck(encodingFile, validateInstance, instanceFile).execute();
+                break;
+            case "cnf":
+                new SatBatchModelCheck(encodingFile, validateInstance, instanceFile).execute();
+                break;
+            case "": case "bin":
+                new NaiveBatchModelCheck(encodingFile, instanceFile).execute();
+                break;
+            default:
+                throw new WrongInputException("Unsupported file extension: '." + fileExtension + "'");
+        }
+    }
+
     private static BeliefChangeCompiler createBeliefChangeCompiler() {
         switch (encodingType) {
             case ASP:
@@ -408,7 +306,7 @@ public class Application {
 
     private static void printExecutionTimesInferenceCheck() {
         Application.timeTotal = Application.applicationEndTime - Application.applicationStartTime;
-        if (!FilenameUtils.getExtension(encodingFile.getName()).equals("")) {
+        if (!isNaiveEncoding(encodingFile)) {
             // No naive inference check
             Application.timeInference = Application.inferenceCheckEndTime - Application.inferenceCheckStartTime;
             Application.timeSolverCalls = Application.solverCallsEndTime - Application.solverCallsStartTime;
@@ -421,7 +319,7 @@ public class Application {
 
     private static void printExecutionTimesModelCheck() {
         Application.timeTotal = Application.applicationEndTime - Application.applicationStartTime;
-        if (!FilenameUtils.getExtension(encodingFile.getName()).equals("")) {
+        if (!isNaiveEncoding(encodingFile)) {
             // No naive model check
             Application.timeModel = Application.modelCheckEndTime - Application.modelCheckStartTime;
             Application.timeSolverCalls = Application.solverCallsEndTime - Application.solverCallsStartTime;
@@ -6,6 +6,7 @@ import de.julsched.beliefchange.asp.Asp;
 import de.julsched.beliefchange.exceptions.WrongInputException;
 import de.julsched.beliefchange.ilp.Ilp;
 import de.julsched.beliefchange.instance.BeliefChangeInstance;
+import de.julsched.beliefchange.sat.LogicNGMaxSat;
 import de.julsched.beliefchange.sat.MaxSat;
 import de.julsched.beliefchange.values.Algorithm;
 import de.julsched.beliefchange.values.Distance;
@@ -21,12 +22,18 @@ public abstract class BeliefChangeCompiler {
             case ASP:
                 this.optimumFinder = new Asp(distance);
                 break;
+            case ASP_DOMREC:
+                this.optimumFinder = new Asp(distance, true);
+                break;
             case ILP:
                 this.optimumFinder = new Ilp(distance);
                 break;
             case MAXSAT:
                 this.optimumFinder = new MaxSat(distance);
                 break;
+            case MAXSAT_LOGICNG:
+                this.optimumFinder = new LogicNGMaxSat(distance);
+                break;
             default:
                 throw new WrongInputException("Unsupported pre-compilation algorithm: '" + preCompilationAlgorithm + "'");
         }
@@ -0,0 +1,55 @@
+package de.julsched.beliefchange;
+
+import java.io.File;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+
+// Sends a command to a running Server and prints its output, usage:
+//   java -cp bcCompiler.jar de.julsched.beliefchange.Client [--port <port>] <OPTIONS>
+// with the same options as Application. Exits with status 1 if the command terminated with an error, like Application.
+public class Client {
+
+    public static void main(String[] args) {
+        int port = Server.defaultPort;
+        int first = 0;
+        if (args.length >= 2 && args[0].equals("--port")) {
+            port = Integer.parseInt(args[1]);
+            first = 2;
+        }
+
+        // Files are opened by the server, which may run in another working directory
+        StringBuilder body = new StringBuilder();
+        for (int a = first; a < args.length; a++) {
+            body.append(args[a])
+                .append("\n");
+            boolean isPath = args[a].equals("-e") || args[a].equals("--encoding") || args[a].equals("-f") || args[a].equals("--file");
+            if (isPath && a + 1 < args.length && !args[a + 1].startsWith("-")) {
+                body.append(new File(args[++a]).getAbsolutePath())
+                    .append("\n");
+            }
+        }
+
+        try {
+            HttpURLConnection connection = (HttpURLConnection) new URL("http://127.0.0.1:" + port + "/?format=text").openConnection();
+            connection.setRequestMethod("POST");
+            connection.setDoOutput(true);
+            try (OutputStream stream = connection.getOutputStream()) {
+                stream.write(body.toString().getBytes(StandardCharsets.UTF_8));
+            }
+            int status = connection.getResponseCode();
+            try (InputStream stream = status == 200 ? connection.getInputStream() : connection.getErrorStream()) {
+                System.out.print(new String(stream.readAllBytes(), StandardCharsets.UTF_8));
+            }
+            if (status != 200) {
+                System.exit(1);
+            }
+        } catch (Exception e) {
+            System.out.println("[ERROR] Could not reach bcCompiler server on port " + port + ":");
+            e.printStackTrace();
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,457 @@
+package de.julsched.beliefchange;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+import org.apache.commons.io.FilenameUtils;
+
+import de.julsched.beliefchange.exceptions.WrongInputException;
+import de.julsched.beliefchange.values.Algorithm;
+import de.julsched.beliefchange.values.Distance;
+import de.julsched.beliefchange.values.EncodingType;
+import de.julsched.beliefchange.values.ModelFormat;
+import de.julsched.beliefchange.values.NegationEncoding;
+import de.julsched.beliefchange.values.Operation;
+import de.julsched.beliefchange.values.SatBackend;
+
+// The options of one command. Parsing them has no effect on Application, so that Server can parse the commands of
+// concurrent requests and decide how to execute them.
+public class CommandOptions {
+
+    private Algorithm preCompilationAlgorithm;
+    private boolean batch;
+    private boolean compilation;
+    private Distance distance;
+    private File encodingFile;
+    private EncodingType encodingType;
+    private boolean inferenceCheck;
+    private File instanceFile;
+    private String instanceName;
+    private boolean modelCheck;
+    private ModelFormat modelFormat;
+    private NegationEncoding negationEncoding;
+    private Operation operation;
+    private SatBackend satBackend;
+    private boolean validateInstance = true;
+    private String dirInterimResults;
+    private String resultFilePath;
+
+    private CommandOptions() {
+    }
+
+    public static CommandOptions parse(String[] args) throws IOException {
+        CommandOptions options = new CommandOptions();
+        options.analyzeArgs(args);
+        return options;
+    }
+
+    public Algorithm getPreCompilationAlgorithm() {
+        return this.preCompilationAlgorithm;
+    }
+
+    public boolean isBatch() {
+        return this.batch;
+    }
+
+    public boolean isCompilation() {
+        return this.compilation;
+    }
+
+    public Distance getDistance() {
+        return this.distance;
+    }
+
+    public File getEncodingFile() {
+        return this.encodingFile;
+    }
+
+    public EncodingType getEncodingType() {
+        return this.encodingType;
+    }
+
+    public boolean isInferenceCheck() {
+        return this.inferenceCheck;
+    }
+
+    public File getInstanceFile() {
+        return this.instanceFile;
+    }
+
+    public String getInstanceName() {
+        return this.instanceName;
+    }
+
+    public boolean isModelCheck() {
+        return this.modelCheck;
+    }
+
+    public ModelFormat getModelFormat() {
+        return this.modelFormat;
+    }
+
+    public NegationEncoding getNegationEncoding() {
+        return this.negationEncoding;
+    }
+
+    public Operation getOperation() {
+        return this.operation;
+    }
+
+    public SatBackend getSatBackend() {
+        return this.satBackend;
+    }
+
+    public boolean isValidateInstance() {
+        return this.validateInstance;
+    }
+
+    public String getDirInterimResults() {
+        return this.dirInterimResults;
+    }
+
+    public String getResultFilePath() {
+        return this.resultFilePath;
+    }
+
+    private void analyzeArgs(String[] args) throws IOException {
+        for (int a = 0; a < args.length; a++) {
+            switch (args[a]) {
+                case "-s": case "--skip-validation":
+                    if (!validateInstance) {
+                        throw new WrongInputException("Duplicate specification of '-s/--skip-validation'");
+                    }
+                    validateInstance = false;
+                    break;
+                case "-t": case "--type":
+                    if (encodingType != null) {
+                        throw new WrongInputException("Duplicate specification of '-t/--type'");
+                    }
+                    checkOptionValue(args, a);
+                    encodingType = EncodingType.getType(args[a + 1]);
+                    if (encodingType == null) {
+                        throw new WrongInputException(
+                            new StringBuilder("Invalid input '")
+                            .append(args[a + 1])
+                            .append("'. Please specify one of the following encoding types: [")
+                            .append(EncodingType.getValues())
+                            .append("]").toString()
+                        );
+                    }
+                    a++;
+                    break;
+                case "-b": case "--backend":
+                    if (satBackend != null) {
+                        throw new WrongInputException("Duplicate specification of '-b/--backend'");
+                    }
+                    checkOptionValue(args, a);
+                    satBackend = SatBackend.getSatBackend(args[a + 1]);
+                    if (satBackend == null) {
+                        throw new WrongInputException(
+                            new StringBuilder("Invalid input '")
+                            .append(args[a + 1])
+                            .append("'. Please specify one of the following SAT solver backends: [")
+                            .append(SatBackend.getValues())
+                            .append("]").toString()
+                        );
+                    }
+                    a++;
+                    break;
+                case "-B": case "--batch":
+                    if (batch) {
+                        throw new WrongInputException("Duplicate specification of '-B/--batch'");
+                    }
+                    batch = true;
+                    break;
+                case "-C": case "--compilation":
+                    if (compilation) {
+                        throw new WrongInputException("Duplicate specification of '-C/--compilation'");
+                    }
+                    compilation = true;
+                    break;
+                case "-a": case "--algorithm":
+                    if (preCompilationAlgorithm != null) {
+                        throw new WrongInputException("Duplicate specification of '-a/--algorithm'");
+                    }
+                    checkOptionValue(args, a);
+                    preCompilationAlgorithm = Algorithm.getAlgorithm(args[a + 1]);
+                    if (preCompilationAlgorithm == null) {
+                        throw new WrongInputException(
+                            new StringBuilder("Invalid input '")
+                            .append(args[a + 1])
+                            .append("'. Please specify one of the following algorithms: [")
+                            .append(Algorithm.getValues())
+                            .append("]").toString()
+                        );
+                    }
+                    a++;
+                    break;
+                case "-d": case "--distance":
+                    if (distance != null) {
+                        throw new WrongInputException("Duplicate specification of '-d/--distance'");
+                    }
+                    checkOptionValue(args, a);
+                    distance = Distance.getDistance(args[a + 1]);
+                    if (distance == null) {
+                        throw new WrongInputException(
+                            new StringBuilder("Invalid input '")
+                            .append(args[a + 1])
+                            .append("'. Please specify one of the following distances: [")
+                            .append(Distance.getValues())
+                            .append("]").toString()
+                        );
+                    }
+                    a++;
+                    break;
+                case "-e": case "--encoding":
+                    if (encodingFile != null) {
+                        throw new WrongInputException("Duplicate specification of '-e/--encoding'");
+                    }
+                    checkOptionValue(args, a);
+                    encodingFile = new File(args[a + 1]);
+                    a++;
+                    if (encodingFile.getName().startsWith("-")) {
+                        throw new WrongInputException("Please provide a path to an encoding file");
+                    }
+                    break;
+                case "-f": case "--file":
+                    if (instanceFile != null) {
+                        throw new WrongInputException("Duplicate specification of '-f/--file'");
+                    }
+                    checkOptionValue(args, a);
+                    instanceFile = new File(args[a + 1]);
+                    a++;
+                    if (instanceFile.getName().startsWith("-")) {
+                        throw new WrongInputException("Please provide a path to an instance file");
+                    }
+                    break;
+                case "-I": case "--inference-check":
+                    if (inferenceCheck) {
+                        throw new WrongInputException("Duplicate specification of '-I/--inference-check'");
+                    }
+                    inferenceCheck = true;
+                    break;
+                case "-M": case "--model-check":
+                    if (modelCheck) {
+                        throw new WrongInputException("Duplicate specification of '-M/--model-check'");
+                    }
+                    modelCheck = true;
+                    break;
+                case "-m": case "--model-format":
+                    if (modelFormat != null) {
+                        throw new WrongInputException("Duplicate specification of '-m/--model-format'");
+                    }
+                    checkOptionValue(args, a);
+                    modelFormat = ModelFormat.getModelFormat(args[a + 1]);
+                    if (modelFormat == null) {
+                        throw new WrongInputException(
+                            new StringBuilder("Invalid input '")
+                            .append(args[a + 1])
+                            .append("'. Please specify one of the following model formats: [")
+                            .append(ModelFormat.getValues())
+                            .append("]").toString()
+                        );
+                    }
+                    a++;
+                    break;
+                case "-n": case "--negation":
+                    if (negationEncoding != null) {
+                        throw new WrongInputException("Duplicate specification of '-n/--negation'");
+                    }
+                    checkOptionValue(args, a);
+                    negationEncoding = NegationEncoding.getNegationEncoding(args[a + 1]);
+                    if (negationEncoding == null) {
+                        throw new WrongInputException(
+                            new StringBuilder("Invalid input '")
+                            .append(args[a + 1])
+                            .append("'. Please specify one of the following negation encodings: [")
+                            .append(NegationEncoding.getValues())
+                            .append("]").toString()
+                        );
+                    }
+                    a++;
+                    break;
+                case "-o": case "--operation":
+                    if (operation != null) {
+                        throw new WrongInputException("Duplicate specification of '-o/--operation'");
+                    }
+                    checkOptionValue(args, a);
+                    operation = Operation.getOperation(args[a + 1]);
+                    if (operation == null) {
+                        throw new WrongInputException(
+                            new StringBuilder("Invalid input '")
+                            .append(args[a + 1])
+                            .append("'. Please specify one of the following operations: [")
+                            .append(Operation.getValues())
+                            .append("]").toString()
+                        );
+                    }
+                    a++;
+                    break;
+                default:
+                    throw new WrongInputException(
+                        new StringBuilder("Invalid input '")
+                        .append(args[a])
+                        .append("'").toString()
+                    );
+            }
+        }
+        if (instanceFile == null) {
+            throw new WrongInputException("Please specify a path to an instance file using [-f/--file <file_path>]");
+        }
+        int modes = 0;
+        if (compilation) {
+            modes++;
+        }
+        if (inferenceCheck) {
+            modes++;
+        }
+        if (modelCheck) {
+            modes++;
+        }
+        if (modes == 0) {
+            throw new WrongInputException("Please choose the desired operating mode: [-C/--compilation | -I/--inference-check | -M/--model-check]");
+        }
+        if (modes > 1) {
+            throw new WrongInputException("Duplicate operating modes. Please choose only one of [-C/--compilation | -I/--inference-check | -M/--model-check]");
+        }
+
+        instanceName = instanceFile.getName().split("\\.")[0];
+
+        if (inferenceCheck || modelCheck) {
+            if (encodingFile == null) {
+                throw new WrongInputException("Please specify a path to an encoding file using [-e/--encoding <file_path>]");
+            }
+            if (encodingType != null) {
+                throw new WrongInputException("Encoding provided. Flag '--type " + encodingType + "' not allowed");
+            }
+            if (distance != null) {
+                throw new WrongInputException("Encoding provided. Flag '--distance " + distance + "' not allowed");
+            }
+            if (operation != null) {
+                throw new WrongInputException("Encoding provided. Flag '--operation " + operation + "' not allowed");
+            }
+            if (preCompilationAlgorithm != null) {
+                throw new WrongInputException("Encoding provided. Flag '--algorithm " + preCompilationAlgorithm + "' not allowed");
+            }
+            if (modelFormat != null) {
+                throw new WrongInputException("Encoding provided. Flag '--model-format " + modelFormat + "' not allowed");
+            }
+            if (modelCheck && negationEncoding != null) {
+                throw new WrongInputException("Model check selected. Flag '--negation " + negationEncoding + "' not allowed");
+            }
+            if (negationEncoding == null) {
+                negationEncoding = NegationEncoding.getDefault();
+            }
+            resolveSatBackend();
+            // Naive checks do not call external solvers and do not require an interim results directory
+            if (Application.isNaiveEncoding(encodingFile)) {
+                return;
+            }
+            dirInterimResults = "interim_results/" + instanceName;
+            Files.createDirectories(Paths.get(dirInterimResults));
+            return;
+        }
+        if (batch) {
+            throw new WrongInputException("Compilation mode selected. Flag '--batch' not allowed");
+        }
+        if (encodingType == EncodingType.NAIVE && preCompilationAlgorithm != null) {
+            throw new WrongInputException("Naive execution selected. Flag '--algorithm " + preCompilationAlgorithm + "' not allowed");
+        }
+        if (encodingType != EncodingType.NAIVE && modelFormat != null) {
+            throw new WrongInputException("Flag '--model-format " + modelFormat + "' is only allowed for the naive encoding type");
+        }
+        if (encodingType != null && encodingType != EncodingType.NAIVE && satBackend != null) {
+            throw new WrongInputException("Flag '--backend " + satBackend + "' is only allowed for the naive encoding type");
+        }
+
+        System.out.println("-".repeat(100));
+        if (operation == null) {
+            operation = Operation.getDefault();
+            System.out.println("[INFO] No operation specified. Using default '" + operation + "'");
+        } else {
+            System.out.println("[INFO] Specified operation: " + operation);
+        }
+        if (distance == null) {
+            distance = Distance.getDefault();
+            System.out.println("[INFO] No distance specified. Using default '" + distance + "'");
+        } else {
+            System.out.println("[INFO] Specified distance: " + distance);
+        }
+        if (encodingType == null) {
+            encodingType = EncodingType.getDefault();
+            System.out.println("[INFO] No encoding type specified. Using default '" + encodingType + "'");
+        } else {
+            System.out.println("[INFO] Specified encoding type: " + encodingType);
+        }
+        if (preCompilationAlgorithm == null) {
+            if (encodingType != EncodingType.NAIVE) {
+                preCompilationAlgorithm = Algorithm.getDefault();
+                System.out.println("[INFO] No pre-compilation algorithm specified. Using default '" + preCompilationAlgorithm + "'");
+            }
+        } else {
+            System.out.println("[INFO] Specified pre-compilation algorithm: " + preCompilationAlgorithm);
+        }
+        if (negationEncoding == null) {
+            negationEncoding = NegationEncoding.getDefault();
+            System.out.println("[INFO] No negation encoding specified. Using default '" + negationEncoding + "'");
+        } else {
+            System.out.println("[INFO] Specified negation encoding: " + negationEncoding);
+        }
+        if (encodingType == EncodingType.NAIVE) {
+            if (modelFormat == null) {
+                modelFormat = ModelFormat.getDefault();
+                System.out.println("[INFO] No model format specified. Using default '" + modelFormat + "'");
+            } else {
+                System.out.println("[INFO] Specified model format: " + modelFormat);
+            }
+        }
+        if (encodingType == EncodingType.NAIVE) {
+            boolean satBackendSpecified = satBackend != null;
+            resolveSatBackend();
+            if (satBackendSpecified) {
+                System.out.println("[INFO] Specified SAT solver backend: " + satBackend);
+            } else {
+                System.out.println("[INFO] No SAT solver backend specified. Using default '" + satBackend + "'");
+            }
+        }
+
+        dirInterimResults = Application.dirResults + "/interim_results/" + instanceName;
+        Files.createDirectories(Paths.get(dirInterimResults));
+        if (encodingType == EncodingType.NAIVE) {
+            resultFilePath = Application.dirResults + "/" + instanceName + "_" + operation + "_" + distance + "_models" + modelFormat.getFileExtension();
+        } else {
+            resultFilePath = Application.dirResults + "/" + instanceName + "_" + operation + "_" + distance + "_encoding" + encodingType.getFileExtension();
+        }
+    }
+
+    // Every option with a value must be followed by it
+    private static void checkOptionValue(String[] args, int a) {
+        if (a + 1 >= args.length) {
+            throw new WrongInputException("Please provide a value for '" + args[a] + "'");
+        }
+    }
+
+    // CaDiCal runs as a separate process, which is only supported for single SAT solver calls. Naive compilations
+    // enumerate models and batch checks keep one incremental solver, both within the JVM. Single model checks only
+    // solve the clauses left undecided by propagating the model, which rarely justifies starting CaDiCal. Inference
+    // checks of ASP and ILP encodings are only solved on clauses by Server, which keeps them translated in memory.
+    private void resolveSatBackend() {
+        String fileExtension = compilation ? null : FilenameUtils.getExtension(encodingFile.getName());
+        boolean inProcess = compilation && encodingType == EncodingType.NAIVE
+                            || batch && fileExtension.equals("cnf")
+                            || batch && modelCheck && (fileExtension.equals("lp") || fileExtension.equals("mod"));
+        if (satBackend == null) {
+            satBackend = inProcess || modelCheck || !fileExtension.equals("cnf") ? SatBackend.getInProcessDefault() : SatBackend.getDefault();
+        } else if (inProcess && !satBackend.isInProcess()) {
+            throw new WrongInputException(
+                new StringBuilder("SAT solver backend '")
+                .append(satBackend)
+                .append("' not supported, as the solver runs within the JVM. Please specify one of the following SAT solver backends: [")
+                .append(SatBackend.getInProcessValues())
+                .append("]").toString()
+            );
+        }
+    }
+}
@@ -0,0 +1,359 @@
+package de.julsched.beliefchange;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.apache.commons.io.FilenameUtils;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import de.julsched.beliefchange.asp.AspQuerySession;
+import de.julsched.beliefchange.exceptions.WrongInputException;
+import de.julsched.beliefchange.ilp.IlpQuerySession;
+import de.julsched.beliefchange.exceptions.WrongInstanceFormatException;
+import de.julsched.beliefchange.instance.InferenceCheckInstance;
+import de.julsched.beliefchange.instance.InferenceQueryReader;
+import de.julsched.beliefchange.instance.ModelCheckInstance;
+import de.julsched.beliefchange.instance.ModelQueryReader;
+import de.julsched.beliefchange.naive.NaiveQuerySession;
+import de.julsched.beliefchange.sat.SatCheck;
+import de.julsched.beliefchange.utils.ClauseDatabase;
+import de.julsched.beliefchange.utils.LruCache;
+import de.julsched.beliefchange.utils.QuerySession;
+import de.julsched.beliefchange.utils.ThreadOutputStream;
+
+// Executes commands sent to a local HTTP port, usage:
+//   java -cp bcCompiler.jar de.julsched.beliefchange.Server [-p/--port <port>] [-c/--cache-size <encodings>]
+// The body of a POST request contains the arguments of one command, one per line. The response is JSON of the form
+//   {"success": true, "cached": false, "results": ["TRUE"], "output": "..."}
+// or the output alone with '?format=text'. Inference and model checks are answered concurrently from encodings kept in
+// memory, which are validated by the first check that does not skip validation. All other commands run one after
+// another, as Application keeps their options in static fields.
+public class Server {
+
+    static final int defaultPort = 8460;
+    private static final int defaultCacheSize = 16;
+
+    // A session is loaded by the first request for its encoding, concurrent requests wait for the same future
+    private static LruCache<String, CompletableFuture<QuerySession>> sessions;
+
+    public static void main(String[] args) {
+        try {
+            int port = defaultPort;
+            int cacheSize = defaultCacheSize;
+            for (int a = 0; a < args.length; a++) {
+                switch (args[a]) {
+                    case "-p": case "--port":
+                        port = Integer.parseInt(args[++a]);
+                        break;
+                    case "-c": case "--cache-size":
+                        cacheSize = Integer.parseInt(args[++a]);
+                        break;
+                    default:
+                        throw new WrongInputException("Invalid input '" + args[a] + "'. Usage: [-p/--port <port>] [-c/--cache-size <encodings>]");
+                }
+            }
+            sessions = new LruCache<>(cacheSize);
+            System.setOut(new PrintStream(new ThreadOutputStream(System.out), true));
+            System.setErr(new PrintStream(new ThreadOutputStream(System.err), true));
+
+            HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+            server.createContext("/", Server::handle);
+            server.setExecutor(createExecutor());
+            server.start();
+            System.out.println("[INFO] Listening on port " + port);
+        } catch (Exception e) {
+            System.out.println("[ERROR] The program terminated with an error:");
+            e.printStackTrace();
+            System.exit(1);
+        }
+    }
+
+    // Virtual threads if the JVM provides them (Java 21), otherwise a growing pool of platform threads
+    private static ExecutorService createExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newCachedThreadPool();
+        }
+    }
+
+    private static void handle(HttpExchange exchange) throws IOException {
+        try {
+            if (!exchange.getRequestMethod().equals("POST")) {
+                respond(exchange, 405, "text/plain", "Only POST requests are supported\n");
+                return;
+            }
+            List<String> args = new ArrayList<>();
+            for (String line : new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8).split("\n")) {
+                if (!line.isBlank()) {
+                    args.add(line.strip());
+                }
+            }
+
+            ThreadOutputStream.startCapture();
+            boolean[] cached = new boolean[1];
+            List<Boolean> results = new ArrayList<>();
+            boolean success;
+            try {
+                success = execute(args.toArray(new String[0]), cached, results);
+            } finally {
+                System.out.flush();
+                System.err.flush();
+            }
+            String output = ThreadOutputStream.stopCapture();
+
+            String query = exchange.getRequestURI().getQuery();
+            if (query != null && query.contains("format=text")) {
+                respond(exchange, success ? 200 : 422, "text/plain", output);
+                return;
+            }
+            StringBuilder json = new StringBuilder("{\"success\": ")
+                                    .append(success)
+                                    .append(", \"cached\": ")
+                                    .append(cached[0])
+                                    .append(", \"results\": [");
+            for (int r = 0; r < results.size(); r++) {
+                json.append(r == 0 ? "\"" : ", \"")
+                    .append(results.get(r) ? "TRUE" : "FALSE")
+                    .append("\"");
+            }
+            json.append("], \"output\": \"")
+                .append(escapeJson(output))
+                .append("\"}\n");
+            respond(exchange, success ? 200 : 422, "application/json", json.toString());
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private static void respond(HttpExchange exchange, int status, String contentType, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", contentType + "; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream stream = exchange.getResponseBody()) {
+            stream.write(bytes);
+        }
+    }
+
+    // Returns false if the command terminated with an error. The results of checks are added to results, cached[0] is
+    // set if the encoding was kept in memory already.
+    private static boolean execute(String[] args, boolean[] cached, List<Boolean> results) {
+        long startTime = System.currentTimeMillis();
+        CommandOptions options;
+        try {
+            options = CommandOptions.parse(args);
+        } catch (Exception e) {
+            System.out.println("[ERROR] The program terminated with an error:");
+            e.printStackTrace();
+            return false;
+        }
+        if (!isAnsweredInMemory(options)) {
+            synchronized (Application.class) {
+                // Output of fork/join workers belongs to this command
+                ThreadOutputStream.startExclusiveCapture();
+                try {
+                    return Application.execute(options, startTime);
+                } finally {
+                    ThreadOutputStream.stopExclusiveCapture();
+                }
+            }
+        }
+
+        try {
+            QuerySession session = getSession(options, cached);
+            if (options.isValidateInstance()) {
+                session.validateEncoding();
+            }
+            if (options.isInferenceCheck()) {
+                answerInferenceCheck(session, options, results);
+            } else {
+                answerModelCheck(session, options, results);
+            }
+            System.out.println("-".repeat(100));
+            System.out.println("Elapsed wall clock time:");
+            System.out.println("Total\t\t\t\t" + (System.currentTimeMillis() - startTime) + "ms");
+            return true;
+        } catch (Exception e) {
+            System.out.println("[ERROR] The program terminated with an error:");
+            e.printStackTrace();
+            return false;
+        }
+    }
+
+    // Inference and model checks of all encoding types, except batch inference checks, which Application does not
+    // support for naive and ILP encodings
+    private static boolean isAnsweredInMemory(CommandOptions options) {
+        if (!options.isInferenceCheck() && !options.isModelCheck()) {
+            return false;
+        }
+        String fileExtension = FilenameUtils.getExtension(options.getEncodingFile().getName());
+        if (options.isInferenceCheck() && options.isBatch()) {
+            return fileExtension.equals("cnf") || fileExtension.equals("lp");
+        }
+        return Application.isNaiveEncoding(options.getEncodingFile()) || fileExtension.equals("cnf")
+                || fileExtension.equals("lp") || fileExtension.equals("mod");
+    }
+
+    // Encodings are identified by path, size and modification time, so that changed files are loaded again
+    private static QuerySession getSession(CommandOptions options, boolean[] cached) throws IOException {
+        File encodingFile = options.getEncodingFile();
+        File file = encodingFile.getCanonicalFile();
+        if (!file.exists()) {
+            throw new WrongInputException("Provided encoding file '" + encodingFile.getPath() + "' does not exist");
+        }
+        String key = new StringBuilder(file.getPath())
+                        .append("|")
+                        .append(file.length())
+                        .append("|")
+                        .append(file.lastModified())
+                        .append("|")
+                        .append(options.getSatBackend())
+                        .append("|")
+                        .append(options.getNegationEncoding()).toString();
+        CompletableFuture<QuerySession> future;
+        boolean loaded;
+        synchronized (sessions) {
+            future = sessions.get(key);
+            loaded = future != null;
+            if (!loaded) {
+                future = new CompletableFuture<>();
+                sessions.put(key, future);
+            }
+        }
+
+        if (loaded) {
+            try {
+                QuerySession session = future.join();
+                System.out.println("[INFO] Encoding '" + encodingFile.getPath() + "' kept in memory");
+                cached[0] = true;
+                return session;
+            } catch (CompletionException e) {
+                // Loading failed for the request that started it, so it fails here the same way
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                throw e;
+            }
+        }
+        try {
+            QuerySession session = loadSession(options);
+            future.complete(session);
+            return session;
+        } catch (RuntimeException | Error e) {
+            synchronized (sessions) {
+                sessions.remove(key, future);
+            }
+            future.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private static QuerySession loadSession(CommandOptions options) {
+        File encodingFile = options.getEncodingFile();
+        if (Application.isNaiveEncoding(encodingFile)) {
+            return new NaiveQuerySession(encodingFile);
+        }
+        switch (FilenameUtils.getExtension(encodingFile.getName())) {
+            case "lp":
+                return new AspQuerySession(encodingFile, options.getSatBackend(), options.getNegationEncoding());
+            case "mod":
+                return new IlpQuerySession(encodingFile, options.getSatBackend(), options.getNegationEncoding());
+            default:
+                return new SatCheck(encodingFile, false).createQuerySession(options.getSatBackend(), options.getNegationEncoding());
+        }
+    }
+
+    private static void answerInferenceCheck(QuerySession session, CommandOptions options, List<Boolean> results) throws IOException, InterruptedException {
+        File instanceFile = options.getInstanceFile();
+        if (!options.isBatch()) {
+            InferenceCheckInstance instance = new InferenceCheckInstance(instanceFile, options.isValidateInstance(), options.getSatBackend());
+            if (instance.getVarNum() > session.getModelVarNum()) {
+                throw new WrongInstanceFormatException("Instance file does not contain a valid inference formula: variables not consistent with provided encoding");
+            }
+            boolean inferred = session.isInferred(instance.getInferenceClauses());
+            results.add(inferred);
+            System.out.println("[INFO] Inference result: " + (inferred ? "TRUE" : "FALSE"));
+            return;
+        }
+        try (InferenceQueryReader reader = new InferenceQueryReader(instanceFile)) {
+            ClauseDatabase formula;
+            while ((formula = reader.next()) != null) {
+                if (formula.getMaxVar() > session.getModelVarNum()) {
+                    throw new WrongInstanceFormatException("Formula " + reader.getFormulaNum() + " is not a valid inference formula: variables not consistent with provided encoding");
+                }
+                boolean inferred = session.isInferred(formula);
+                results.add(inferred);
+                System.out.println("[INFO] Inference result " + reader.getFormulaNum() + ": " + (inferred ? "TRUE" : "FALSE"));
+            }
+        }
+    }
+
+    private static void answerModelCheck(QuerySession session, CommandOptions options, List<Boolean> results) throws IOException, InterruptedException {
+        File instanceFile = options.getInstanceFile();
+        if (!options.isBatch()) {
+            ModelCheckInstance instance = new ModelCheckInstance(instanceFile);
+            if (instance.getVarNum() != session.getModelVarNum()) {
+                throw new WrongInstanceFormatException("Instance file does not contain a valid model: variables not consistent with provided encoding");
+            }
+            boolean isModel = session.isModel(instance.getModelLiterals());
+            results.add(isModel);
+            System.out.println("[INFO] Model result: " + (isModel ? "TRUE" : "FALSE"));
+            return;
+        }
+        try (ModelQueryReader reader = new ModelQueryReader(instanceFile)) {
+            int[] model;
+            while ((model = reader.next()) != null) {
+                if (model.length != session.getModelVarNum()) {
+                    throw new WrongInstanceFormatException("Model " + reader.getModelNum() + " is not a valid model: variables not consistent with provided encoding");
+                }
+                boolean isModel = session.isModel(model);
+                results.add(isModel);
+                System.out.println("[INFO] Model result " + reader.getModelNum() + ": " + (isModel ? "TRUE" : "FALSE"));
+            }
+        }
+    }
+
+    private static String escapeJson(String text) {
+        StringBuilder escaped = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '"':
+                    escaped.append("\\\"");
+                    break;
+                case '\\':
+                    escaped.append("\\\\");
+                    break;
+                case '\n':
+                    escaped.append("\\n");
+                    break;
+                case '\r':
+                    escaped.append("\\r");
+                    break;
+                case '\t':
+                    escaped.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        escaped.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        escaped.append(c);
+                    }
+            }
+        }
+        return escaped.toString();
+    }
+}
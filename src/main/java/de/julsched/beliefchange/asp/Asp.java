@@ -1,11 +1,9 @@
 package de.julsched.beliefchange.asp;
 
+import java.io.IOException;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 
-import org.apache.commons.lang3.StringUtils;
-
 import de.julsched.beliefchange.Application;
 import de.julsched.beliefchange.OptimumFinder;
 import de.julsched.beliefchange.exceptions.MinDistanceException;
@@ -13,8 +11,10 @@ import de.julsched.beliefchange.exceptions.MinimalSetConstraintsDeterminationExc
 import de.julsched.beliefchange.instance.ContractionInstance;
 import de.julsched.beliefchange.instance.BeliefChangeInstance;
 import de.julsched.beliefchange.instance.RevisionInstance;
+import de.julsched.beliefchange.utils.ClauseDatabase;
+import de.julsched.beliefchange.utils.LiteralRemapper;
 import de.julsched.beliefchange.utils.Clingo;
-import de.julsched.beliefchange.utils.Utils;
+import de.julsched.beliefchange.utils.SolverProcess;
 import de.julsched.beliefchange.values.Distance;
 
 public class Asp extends OptimumFinder {
@@ -22,21 +22,22 @@ public class Asp extends OptimumFinder {
     private static final String optimizationConstraint = "#minimize {1,P : d(P)}.";
     private static final String optimizationConstraint2 = "#minimize {1,P : d2(P)}.";
 
-    private static final String optimizationFileName = Application.dirInterimResults + "/asp-%s-optimization.lp";
 
     private List<String> optimumEncoding = new ArrayList<String>();
+    private boolean singleCallEnumeration;
 
     public Asp(Distance distance) {
+        this(distance, false);
+    }
+
+    public Asp(Distance distance, boolean singleCallEnumeration) {
         super(distance);
+        this.singleCallEnumeration = singleCallEnumeration;
     }
 
     private void createOptimumEncodingDalal(BeliefChangeInstance instance) {
-        HashMap<Integer, Integer> varMap = new HashMap<Integer, Integer>();
-        int varNum = instance.getVarNum();
-        for (int v = 1; v <= instance.getVarNum(); v++) {
-            varNum++;
-            varMap.put(v, varNum);
-        }
+        LiteralRemapper varMap = new LiteralRemapper(instance.getVarNum(), instance.getVarNum());
+        int varNum = 2 * instance.getVarNum();
 
         this.optimumEncoding.addAll(Encoding.createVarDefinitionEncoding(varNum));
         this.optimumEncoding.add("");
@@ -85,12 +86,12 @@ public class Asp extends OptimumFinder {
 
         int varNumNew = encoding.getVarNum();
         List<Integer> newChangeVars = new ArrayList<>();
-        for (int x = 1; x <= encoding.getVarMap().size(); x++) {
+        for (int x = 1; x <= encoding.getVarMap().getMappedVarNum(); x++) {
             varNumNew++;
             newChangeVars.add(varNumNew);
         }
         List<Integer> newBaseVars = new ArrayList<>();
-        for (int x = 1; x <= encoding.getVarMap().size(); x++) {
+        for (int x = 1; x <= encoding.getVarMap().getMappedVarNum(); x++) {
             varNumNew++;
             newBaseVars.add(varNumNew);
         }
@@ -106,90 +107,7 @@ public class Asp extends OptimumFinder {
         }
         this.optimumEncoding.add("");
 
-        for (String baseClause : encoding.getInstance().getBaseClauses()) {
-            StringBuilder aspClause = new StringBuilder();
-
-            String[] vars = baseClause.split(" ");
-            for (int i = 0; i < vars.length - 1; i++) { // Skip last index (since that is '0')
-                if (i == 0) {
-                    aspClause.append(":- ");
-                } else {
-                    aspClause.append(", ");
-                }
-                String var = vars[i];
-                if (var.startsWith("-")) {
-                    var = var.replace("-", "");
-                    aspClause.append("t(")
-                             .append(newBaseVars.get(Integer.parseInt(var) - 1))
-                             .append(")");
-                } else {
-                    aspClause.append("not t(")
-                             .append(newBaseVars.get(Integer.parseInt(var) - 1))
-                             .append(")");
-                }
-            }
-            aspClause.append(".");
-            this.optimumEncoding.add(aspClause.toString());
-        }
-        this.optimumEncoding.add("");
-
-        if (encoding.getInstance() instanceof RevisionInstance) {
-            for (String changeClause : encoding.getInstance().getChangeClauses()) {
-                StringBuilder aspClause = new StringBuilder();
-
-                String[] vars = changeClause.split(" ");
-                for (int i = 0; i < vars.length - 1; i++) { // Skip last index (since that is '0')
-                    if (i == 0) {
-                        aspClause.append(":- ");
-                    } else {
-                        aspClause.append(", ");
-                    }
-                    String var = vars[i];
-                    if (var.startsWith("-")) {
-                        var = var.replace("-", "");
-                        aspClause.append("t(")
-                                 .append(newChangeVars.get(Integer.parseInt(var) - 1))
-                                 .append(")");
-                    } else {
-                        aspClause.append("not t(")
-                                 .append(newChangeVars.get(Integer.parseInt(var) - 1))
-                                 .append(")");
-                    }
-                }
-                aspClause.append(".");
-                optimumEncoding.add(aspClause.toString());
-            }
-        } else if (encoding.getInstance() instanceof ContractionInstance) {
-            int counter = 0;
-            StringBuilder aspClause = new StringBuilder(":- ");
-            for (String changeClause : encoding.getInstance().getChangeClauses()) {
-                counter++;
-                if (counter > 1) {
-                    aspClause.append(", ");
-                }
-                aspClause.append("1 {");
-                String[] vars = changeClause.split(" ");
-                for (int i = 0; i < vars.length - 1; i++) { // Skip last index (since that is '0')
-                    if (i > 0) {
-                        aspClause.append("; ");
-                    }
-                    String var = vars[i];
-                    if (var.startsWith("-")) {
-                        var = var.replace("-", "");
-                        aspClause.append("not t(")
-                                 .append(newChangeVars.get(Integer.parseInt(var) - 1))
-                                 .append(")");
-                    } else {
-                        aspClause.append("t(")
-                                 .append(newChangeVars.get(Integer.parseInt(var) - 1))
-                                 .append(")");
-                    }
-                }
-                aspClause.append("}");
-            }
-            aspClause.append(".");
-            this.optimumEncoding.add(aspClause.toString());
-        }
+        addSecondCopyConstraints(encoding.getInstance(), newBaseVars, newChangeVars);
         this.optimumEncoding.add("");
         this.optimumEncoding.addAll(Encoding.createDiscrepancyConstraints("2"));
         this.optimumEncoding.add("");
@@ -219,12 +137,8 @@ public class Asp extends OptimumFinder {
     }
 
     private void createOptimumEncodingSatoh(BeliefChangeInstance instance) {
-        HashMap<Integer, Integer> varMap = new HashMap<Integer, Integer>();
-        int varNum = instance.getVarNum();
-        for (int v = 1; v <= instance.getVarNum(); v++) {
-            varNum++;
-            varMap.put(v, varNum);
-        }
+        LiteralRemapper varMap = new LiteralRemapper(instance.getVarNum(), instance.getVarNum());
+        int varNum = 2 * instance.getVarNum();
 
         this.optimumEncoding.addAll(Encoding.createVarDefinitionEncoding(varNum * 2));
         this.optimumEncoding.add("");
@@ -243,12 +157,12 @@ public class Asp extends OptimumFinder {
 
         int varNumNew = varNum;
         List<Integer> newChangeVars = new ArrayList<>();
-        for (int x = 1; x <= varMap.size(); x++) {
+        for (int x = 1; x <= varMap.getMappedVarNum(); x++) {
             varNumNew++;
             newChangeVars.add(varNumNew);
         }
         List<Integer> newBaseVars = new ArrayList<>();
-        for (int x = 1; x <= varMap.size(); x++) {
+        for (int x = 1; x <= varMap.getMappedVarNum(); x++) {
             varNumNew++;
             newBaseVars.add(varNumNew);
         }
@@ -264,25 +178,53 @@ public class Asp extends OptimumFinder {
         }
         this.optimumEncoding.add("");
 
-        for (String baseClause : instance.getBaseClauses()) {
-            StringBuilder aspClause = new StringBuilder();
+        addSecondCopyConstraints(instance, newBaseVars, newChangeVars);
+        this.optimumEncoding.add("");
+        this.optimumEncoding.addAll(Encoding.createDiscrepancyConstraints("2"));
+        this.optimumEncoding.add("");
+
+        for (int i = 0; i < newBaseVars.size(); i++) {
+            StringBuilder encodingLine = new StringBuilder();
+            encodingLine.append("r3(")
+                        .append(i + 1)
+                        .append(",")
+                        .append(newChangeVars.get(i))
+                        .append(").");
+            this.optimumEncoding.add(encodingLine.toString());
+        }
+        this.optimumEncoding.add("");
+        this.optimumEncoding.add("d3(A) :- r3(A,B), d(A), not d2(B).");
+        this.optimumEncoding.add("d3(A) :- r3(A,B), not d(A), d2(B).");
+        this.optimumEncoding.add("");
+        this.optimumEncoding.add(":- #count {A : d3(A)} = 0.");
+        this.optimumEncoding.add("");
+        this.optimumEncoding.add("not d2(B) :- r3(A,B), not d(A).");
+        this.optimumEncoding.add("");
+
+        this.optimumEncoding.add(optimizationConstraint2);
+        this.optimumEncoding.add("");
+        this.optimumEncoding.add("#show d2/1.");
+        this.optimumEncoding.add("");
+    }
 
-            String[] vars = baseClause.split(" ");
-            for (int i = 0; i < vars.length - 1; i++) { // Skip last index (since that is '0')
-                if (i == 0) {
+    private void addSecondCopyConstraints(BeliefChangeInstance instance, List<Integer> newBaseVars, List<Integer> newChangeVars) {
+        ClauseDatabase baseClauses = instance.getBaseClauses();
+        for (int c = 0; c < baseClauses.size(); c++) {
+            StringBuilder aspClause = new StringBuilder();
+            for (int i = baseClauses.getClauseStart(c); i < baseClauses.getClauseEnd(c); i++) {
+                if (i == baseClauses.getClauseStart(c)) {
                     aspClause.append(":- ");
                 } else {
                     aspClause.append(", ");
                 }
-                String var = vars[i];
-                if (var.startsWith("-")) {
-                    var = var.replace("-", "");
+                int literal = baseClauses.getLiteral(i);
+                if (literal < 0) {
                     aspClause.append("t(")
-                             .append(newBaseVars.get(Integer.parseInt(var) - 1))
+                             .append(newBaseVars.get(-literal - 1))
                              .append(")");
                 } else {
                     aspClause.append("not t(")
-                             .append(newBaseVars.get(Integer.parseInt(var) - 1))
+                             .append(newBaseVars.get(literal - 1))
                              .append(")");
                 }
             }
@@ -291,26 +233,24 @@ public class Asp extends OptimumFinder {
         }
         this.optimumEncoding.add("");
 
+        ClauseDatabase changeClauses = instance.getChangeClauses();
         if (instance instanceof RevisionInstance) {
-            for (String changeClause : instance.getChangeClauses()) {
+            for (int c = 0; c < changeClauses.size(); c++) {
                 StringBuilder aspClause = new StringBuilder();
-
-                String[] vars = changeClause.split(" ");
-                for (int i = 0; i < vars.length - 1; i++) { // Skip last index (since that is '0')
-                    if (i == 0) {
+                for (int i = changeClauses.getClauseStart(c); i < changeClauses.getClauseEnd(c); i++) {
+                    if (i == changeClauses.getClauseStart(c)) {
                         aspClause.append(":- ");
                     } else {
                         aspClause.append(", ");
                     }
-                    String var = vars[i];
-                    if (var.startsWith("-")) {
-                        var = var.replace("-", "");
+                    int literal = changeClauses.getLiteral(i);
+                    if (literal < 0) {
                         aspClause.append("t(")
-                                 .append(newChangeVars.get(Integer.parseInt(var) - 1))
+                                 .append(newChangeVars.get(-literal - 1))
                                  .append(")");
                     } else {
                         aspClause.append("not t(")
-                                 .append(newChangeVars.get(Integer.parseInt(var) - 1))
+                                 .append(newChangeVars.get(literal - 1))
                                  .append(")");
                     }
                 }
@@ -318,28 +258,24 @@ public class Asp extends OptimumFinder {
                 this.optimumEncoding.add(aspClause.toString());
             }
         } else if (instance instanceof ContractionInstance) {
-            int counter = 0;
             StringBuilder aspClause = new StringBuilder(":- ");
-            for (String changeClause : instance.getChangeClauses()) {
-                counter++;
-                if (counter > 1) {
+            for (int c = 0; c < changeClauses.size(); c++) {
+                if (c > 0) {
                     aspClause.append(", ");
                 }
                 aspClause.append("1 {");
-                String[] vars = changeClause.split(" ");
-                for (int i = 0; i < vars.length - 1; i++) { // Skip last index (since that is '0')
-                    if (i > 0) {
+                for (int i = changeClauses.getClauseStart(c); i < changeClauses.getClauseEnd(c); i++) {
+                    if (i > changeClauses.getClauseStart(c)) {
                         aspClause.append("; ");
                     }
-                    String var = vars[i];
-                    if (var.startsWith("-")) {
-                        var = var.replace("-", "");
+                    int literal = changeClauses.getLiteral(i);
+                    if (literal < 0) {
                         aspClause.append("not t(")
-                                 .append(newChangeVars.get(Integer.parseInt(var) - 1))
+                                 .append(newChangeVars.get(-literal - 1))
                                  .append(")");
                     } else {
                         aspClause.append("t(")
-                                 .append(newChangeVars.get(Integer.parseInt(var) - 1))
+                                 .append(newChangeVars.get(literal - 1))
                                  .append(")");
                     }
                 }
@@ -348,45 +284,13 @@ public class Asp extends OptimumFinder {
             aspClause.append(".");
             this.optimumEncoding.add(aspClause.toString());
         }
-        this.optimumEncoding.add("");
-        this.optimumEncoding.addAll(Encoding.createDiscrepancyConstraints("2"));
-        this.optimumEncoding.add("");
-
-        for (int i = 0; i < newBaseVars.size(); i++) {
-            StringBuilder encodingLine = new StringBuilder();
-            encodingLine.append("r3(")
-                        .append(i + 1)
-                        .append(",")
-                        .append(newChangeVars.get(i))
-                        .append(").");
-            this.optimumEncoding.add(encodingLine.toString());
-        }
-        this.optimumEncoding.add("");
-        this.optimumEncoding.add("d3(A) :- r3(A,B), d(A), not d2(B).");
-        this.optimumEncoding.add("d3(A) :- r3(A,B), not d(A), d2(B).");
-        this.optimumEncoding.add("");
-        this.optimumEncoding.add(":- #count {A : d3(A)} = 0.");
-        this.optimumEncoding.add("");
-        this.optimumEncoding.add("not d2(B) :- r3(A,B), not d(A).");
-        this.optimumEncoding.add("");
-
-        this.optimumEncoding.add(optimizationConstraint2);
-        this.optimumEncoding.add("");
-        this.optimumEncoding.add("#show d2/1.");
-        this.optimumEncoding.add("");
     }
 
     @Override
     public String getOptimum(BeliefChangeInstance instance) {
         try {
             createOptimumEncodingDalal(instance);
-            Utils.writeToFile(StringUtils.join(this.optimumEncoding, "\n"), String.format(optimizationFileName, "dalal"));
-            System.out.println("[INFO] Start solver call");
-            Application.solverCallsStartTime = System.currentTimeMillis();
-            Process process = Clingo.execute(String.format(optimizationFileName, "dalal"), false);
-            Application.solverCallsEndTime = System.currentTimeMillis();
-            System.out.println("[INFO] Finished solver call");
-            return Clingo.readOptimumLine(process);
+            return solveOptimum();
         } catch (MinDistanceException e) {
             throw e;
         } catch (Exception e) {
@@ -397,13 +301,7 @@ public class Asp extends OptimumFinder {
     public String getOptimum(Encoding encoding) {
         try {
             createOptimumEncodingDalal(encoding);
-            Utils.writeToFile(StringUtils.join(this.optimumEncoding, "\n"), String.format(optimizationFileName, "dalal"));
-            System.out.println("[INFO] Start solver call");
-            Application.solverCallsStartTime = System.currentTimeMillis();
-            Process process = Clingo.execute(String.format(optimizationFileName, "dalal"), false);
-            Application.solverCallsEndTime = System.currentTimeMillis();
-            System.out.println("[INFO] Finished solver call");
-            return Clingo.readOptimumLine(process);
+            return solveOptimum();
         } catch (MinDistanceException e) {
             throw e;
         } catch (Exception e) {
@@ -411,6 +309,23 @@ public class Asp extends OptimumFinder {
         }
     }
 
+    private String solveOptimum() throws IOException {
+        System.out.println("[INFO] Start solver call");
+        Application.solverCallsStartTime = System.currentTimeMillis();
+        try (SolverProcess solver = Clingo.start(this.optimumEncoding)) {
+            String optimum = Clingo.readOptimumLine(solver);
+            Application.solverCallsEndTime = System.currentTimeMillis();
+            System.out.println("[INFO] Finished solver call");
+            return optimum;
+        }
+    }
+
+    private String solveOptimumResult(List<String> optimumEncoding) throws IOException {
+        try (SolverProcess solver = Clingo.start(optimumEncoding)) {
+            return Clingo.readOptimumResult(solver);
+        }
+    }
+
     public String getMinSetConstraints(BeliefChangeInstance instance) {
         createOptimumEncodingSatoh(instance);
         return determineMinSetConstraints(instance.getVarNum());
@@ -422,13 +337,14 @@ public class Asp extends OptimumFinder {
     }
 
     private String determineMinSetConstraints(int varNum) {
+        if (this.singleCallEnumeration) {
+            return determineMinSetConstraintsSingleCall(varNum);
+        }
         try {
             StringBuilder minimalSetConstraints = new StringBuilder();
-            Utils.writeToFile(StringUtils.join(this.optimumEncoding, "\n"), String.format(optimizationFileName, "satoh"));
             System.out.println("[INFO] Start solver calls");
             Application.solverCallsStartTime = System.currentTimeMillis();
-            Process process = Clingo.execute(String.format(optimizationFileName, "satoh"), false);
-            String result = Clingo.readOptimumResult(process);
+            String result = solveOptimumResult(this.optimumEncoding);
             List<String> updatedOptimumEncoding = new ArrayList<String>();
             updatedOptimumEncoding.addAll(this.optimumEncoding);
             while (result != null) {
@@ -446,23 +362,9 @@ public class Asp extends OptimumFinder {
                 }
                 updatedOptimumEncoding.add(index, "");
                 updatedOptimumEncoding.add(index, ":- " + result.replace(" ", ", ") + ".");
-                String[] parts = result.split("d2\\(");
-                StringBuilder newConstraint = new StringBuilder();
-                for (int i = 1; i < parts.length; i++) { // Index 0 will be empty since String result starts with 'd2('
-                    String distinctPart = parts[i];
-                    int modelVar = Integer.parseInt(distinctPart.split("\\)")[0]);
-                    modelVar = modelVar - (2 * varNum);
-                    newConstraint.append(modelVar);
-                    if (i != parts.length - 1) {
-                        newConstraint.append(" ");
-                    }
-                }
-                minimalSetConstraints.append(newConstraint.toString());
-                minimalSetConstraints.append("\n");
+                appendMinSetConstraint(minimalSetConstraints, result, varNum);
 
-                Utils.writeToFile(StringUtils.join(updatedOptimumEncoding, "\n"), String.format(optimizationFileName, "satoh"));
-                process = Clingo.execute(String.format(optimizationFileName, "satoh"), false);
-                result = Clingo.readOptimumResult(process);
+                result = solveOptimumResult(updatedOptimumEncoding);
             }
             Application.solverCallsEndTime = System.currentTimeMillis();
             System.out.println("[INFO] Finished solver calls");
@@ -471,4 +373,50 @@ public class Asp extends OptimumFinder {
             throw new MinimalSetConstraintsDeterminationException(e);
         }
     }
+
+    // Determines all minimal sets within one clingo call instead of one call per minimal set
+    private String determineMinSetConstraintsSingleCall(int varNum) {
+        try {
+            StringBuilder minimalSetConstraints = new StringBuilder();
+            List<String> enumerationEncoding = new ArrayList<String>(this.optimumEncoding);
+            // Minimality is ensured by the domain heuristic
+            enumerationEncoding.remove(optimizationConstraint2);
+            System.out.println("[INFO] Start solver call");
+            Application.solverCallsStartTime = System.currentTimeMillis();
+            List<String> results;
+            try (SolverProcess solver = Clingo.startMinimalModels(enumerationEncoding)) {
+                results = Clingo.readModels(solver);
+            }
+            Application.solverCallsEndTime = System.currentTimeMillis();
+            System.out.println("[INFO] Finished solver call");
+            for (String result : results) {
+                if (!result.contains("d2(")) {
+                    // We have found the empty set as minimal set
+                    minimalSetConstraints = new StringBuilder("0");
+                    break;
+                }
+                appendMinSetConstraint(minimalSetConstraints, result, varNum);
+            }
+            return minimalSetConstraints.toString();
+        } catch (Exception e) {
+            throw new MinimalSetConstraintsDeterminationException(e);
+        }
+    }
+
+    // Converts an answer set of the form 'd2(x) d2(y)' to the line 'i j' of discrepancy variable indexes
+    private void appendMinSetConstraint(StringBuilder minimalSetConstraints, String result, int varNum) {
+        String[] parts = result.split("d2\\(");
+        StringBuilder newConstraint = new StringBuilder();
+        for (int i = 1; i < parts.length; i++) { // Index 0 will be empty since String result starts with 'd2('
+            String distinctPart = parts[i];
+            int modelVar = Integer.parseInt(distinctPart.split("\\)")[0]);
+            modelVar = modelVar - (2 * varNum);
+            newConstraint.append(modelVar);
+            if (i != parts.length - 1) {
+                newConstraint.append(" ");
+            }
+        }
+        minimalSetConstraints.append(newConstraint.toString());
+        minimalSetConstraints.append("\n");
+    }
 }
@@ -0,0 +1,64 @@
+package de.julsched.beliefchange.asp;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+import de.julsched.beliefchange.Application;
+import de.julsched.beliefchange.exceptions.WrongInstanceFormatException;
+import de.julsched.beliefchange.instance.InferenceQueryReader;
+import de.julsched.beliefchange.utils.ClauseDatabase;
+import de.julsched.beliefchange.utils.ThroughputCounter;
+
+public class AspBatchInferenceCheck extends AspCheck {
+
+    private File instanceFile;
+
+    public AspBatchInferenceCheck(File encodingFile, boolean properValidation, File instanceFile) {
+        super(encodingFile, properValidation);
+        this.instanceFile = instanceFile;
+    }
+
+    public void execute() throws IOException, InterruptedException {
+        System.out.println("[INFO] Start batch inference check");
+        Application.inferenceCheckStartTime = System.currentTimeMillis();
+        ThroughputCounter counter = new ThroughputCounter("Batch inference check", "formulas");
+        counter.start();
+
+        // The negation of formula i only applies if query(i) is selected
+        List<String> queryClauses = new ArrayList<String>();
+        int formulaNum = 0;
+        try (InferenceQueryReader reader = new InferenceQueryReader(this.instanceFile)) {
+            ClauseDatabase formula;
+            while ((formula = reader.next()) != null) {
+                formulaNum = reader.getFormulaNum();
+                if (formula.getMaxVar() > this.encodingModelVarNum) {
+                    throw new WrongInstanceFormatException("Formula " + formulaNum + " is not a valid inference formula: variables not consistent with provided encoding");
+                }
+                StringBuilder aspClause = new StringBuilder(":- query(")
+                                            .append(formulaNum)
+                                            .append(")");
+                for (int c = 0; c < formula.size(); c++) {
+                    aspClause.append(", 1 {");
+                    Encoding.appendClauseLiterals(aspClause, formula, c);
+                    aspClause.append("}");
+                }
+                aspClause.append(".");
+                queryClauses.add(aspClause.toString());
+            }
+        }
+
+        // A formula is inferred if its negation has no answer set
+        BitSet notInferred = solveQueries(queryClauses, formulaNum);
+        for (int i = 1; i <= formulaNum; i++) {
+            System.out.println("[INFO] Inference result " + i + ": " + (notInferred.get(i) ? "FALSE" : "TRUE"));
+        }
+        counter.stop(formulaNum);
+        counter.print();
+
+        Application.inferenceCheckEndTime = System.currentTimeMillis();
+        System.out.println("[INFO] Finished batch inference check");
+    }
+}
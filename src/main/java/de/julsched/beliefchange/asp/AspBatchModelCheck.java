@@ -0,0 +1,77 @@
+package de.julsched.beliefchange.asp;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+import de.julsched.beliefchange.Application;
+import de.julsched.beliefchange.exceptions.WrongInstanceFormatException;
+import de.julsched.beliefchange.instance.ModelQueryReader;
+import de.julsched.beliefchange.sat.SatBatchModelCheck;
+import de.julsched.beliefchange.utils.ClauseDatabase;
+import de.julsched.beliefchange.utils.ThroughputCounter;
+
+public class AspBatchModelCheck extends AspCheck {
+
+    private File instanceFile;
+
+    public AspBatchModelCheck(File encodingFile, boolean properValidation, File instanceFile) {
+        super(encodingFile, properValidation);
+        this.instanceFile = instanceFile;
+    }
+
+    public void execute() throws IOException, InterruptedException {
+        System.out.println("[INFO] Start batch model check");
+        Application.modelCheckStartTime = System.currentTimeMillis();
+
+        // The rules of known structure are decided within the JVM, anything else by clingo
+        ClauseDatabase clauses = EncodingTranslator.translate(this.encodingLines, this.encodingVarNum);
+        if (clauses != null) {
+            System.out.println("[INFO] Check models on translated encoding");
+            SatBatchModelCheck.checkModels(clauses.getMaxVar(), clauses, this.encodingModelVarNum, this.instanceFile);
+            Application.modelCheckEndTime = System.currentTimeMillis();
+            System.out.println("[INFO] Finished batch model check");
+            return;
+        }
+
+        ThroughputCounter counter = new ThroughputCounter("Batch model check", "models");
+        counter.start();
+
+        // The interpretations are facts, model(i, x) for a true and nonModel(i, x) for a false variable x,
+        // which only restrict t/1 if query(i) is selected
+        List<String> queryClauses = new ArrayList<String>();
+        queryClauses.add(":- query(I), model(I, X), not t(X).");
+        queryClauses.add(":- query(I), nonModel(I, X), t(X).");
+        int modelNum = 0;
+        try (ModelQueryReader reader = new ModelQueryReader(this.instanceFile)) {
+            int[] model;
+            while ((model = reader.next()) != null) {
+                modelNum = reader.getModelNum();
+                if (model.length != this.encodingModelVarNum) {
+                    throw new WrongInstanceFormatException("Model " + modelNum + " is not a valid model: variables not consistent with provided encoding");
+                }
+                StringBuilder facts = new StringBuilder();
+                for (int literal : model) {
+                    facts.append(literal < 0 ? "nonModel(" : "model(")
+                         .append(modelNum)
+                         .append(", ")
+                         .append(Math.abs(literal))
+                         .append("). ");
+                }
+                queryClauses.add(facts.toString().trim());
+            }
+        }
+
+        BitSet validModels = solveQueries(queryClauses, modelNum);
+        for (int i = 1; i <= modelNum; i++) {
+            System.out.println("[INFO] Model result " + i + ": " + (validModels.get(i) ? "TRUE" : "FALSE"));
+        }
+        counter.stop(modelNum);
+        counter.print();
+
+        Application.modelCheckEndTime = System.currentTimeMillis();
+        System.out.println("[INFO] Finished batch model check");
+    }
+}
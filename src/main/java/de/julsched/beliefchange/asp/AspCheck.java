@@ -1,20 +1,23 @@
 package de.julsched.beliefchange.asp;
 
-import java.io.BufferedReader;
 import java.io.File;
 import java.io.FileNotFoundException;
-import java.io.FileReader;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.List;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
+import de.julsched.beliefchange.Application;
 import de.julsched.beliefchange.exceptions.ValidationException;
 import de.julsched.beliefchange.exceptions.WrongEncodingFormatException;
 import de.julsched.beliefchange.exceptions.WrongInputException;
 import de.julsched.beliefchange.exceptions.WrongInstanceFormatException;
+import de.julsched.beliefchange.utils.ClauseDatabase;
 import de.julsched.beliefchange.utils.Clingo;
+import de.julsched.beliefchange.utils.DimacsScanner;
+import de.julsched.beliefchange.utils.SolverProcess;
 
 public class AspCheck {
 
@@ -28,43 +31,125 @@ public class AspCheck {
     public AspCheck(File encodingFile, boolean properValidation) {
         validateEncodingFormat(encodingFile);
         if (properValidation) {
-            try {
-                Process process = Clingo.execute(encodingFile.getAbsolutePath(), false);
-                if (!Clingo.hasSolution(process)) {
-                    throw new ValidationException("Encoding is unsatisfiable or contains syntax error");
-                }
-                System.out.println("[INFO] Encoding is satisfiable");
-                System.out.println("-".repeat(100));
-            } catch (ValidationException e) {
-                throw e;
-            } catch (Exception e) {
-                throw new ValidationException("Failed to validate encoding", e);
+            validateSatisfiability(encodingFile);
+        }
+    }
+
+    protected void validateSatisfiability(File encodingFile) {
+        try {
+            boolean hasSolution;
+            try (SolverProcess solver = Clingo.start(encodingFile.getAbsolutePath())) {
+                hasSolution = Clingo.hasSolution(solver);
+            }
+            if (!hasSolution) {
+                throw new ValidationException("Encoding is unsatisfiable or contains syntax error");
+            }
+            System.out.println("[INFO] Encoding is satisfiable");
+            System.out.println("-".repeat(100));
+        } catch (ValidationException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new ValidationException("Failed to validate encoding", e);
+        }
+    }
+
+    // The encoding with the literals of the model as facts
+    protected List<String> createModelEncoding(int[] model) {
+        List<String> modelEncodingClauses = new ArrayList<String>();
+        modelEncodingClauses.addAll(this.encodingLines);
+        modelEncodingClauses.add("");
+
+        StringBuilder clause;
+        for (int literal : model) {
+            if (literal < 0) {
+                clause = new StringBuilder("not t(")
+                            .append(-literal)
+                            .append(").");
+            } else {
+                clause = new StringBuilder("t(")
+                            .append(literal)
+                            .append(").");
             }
+            modelEncodingClauses.add(clause.toString());
         }
+        modelEncodingClauses.add("");
+        return modelEncodingClauses;
+    }
+
+    // The encoding without the answer sets satisfying the formula
+    protected List<String> createInferenceEncoding(ClauseDatabase formula) {
+        List<String> inferenceEncodingClauses = new ArrayList<String>();
+        inferenceEncodingClauses.addAll(this.encodingLines);
+        inferenceEncodingClauses.add("");
+
+        StringBuilder aspClause = new StringBuilder(":- ");
+        for (int c = 0; c < formula.size(); c++) {
+            if (c > 0) {
+                aspClause.append(", ");
+            }
+            aspClause.append("1 {");
+            Encoding.appendClauseLiterals(aspClause, formula, c);
+            aspClause.append("}");
+        }
+        aspClause.append(".");
+        inferenceEncodingClauses.add(aspClause.toString());
+        inferenceEncodingClauses.add("");
+        return inferenceEncodingClauses;
+    }
+
+    protected static boolean hasAnswerSet(List<String> program) throws IOException {
+        try (SolverProcess solver = Clingo.start(program)) {
+            return Clingo.hasSolution(solver);
+        }
+    }
+
+    // Answers the queries 1 to queryNum of a batch with one grounding of the encoding: the clauses of query i have to be
+    // guarded by the atom query(i), of which every answer set selects exactly one. Returns the queries having an answer set.
+    protected BitSet solveQueries(List<String> queryClauses, int queryNum) throws IOException {
+        List<String> batchEncodingClauses = new ArrayList<String>();
+        for (String line : this.encodingLines) {
+            if (!line.startsWith("#show")) {
+                batchEncodingClauses.add(line);
+            }
+        }
+        batchEncodingClauses.add("");
+        batchEncodingClauses.addAll(queryClauses);
+        batchEncodingClauses.add("");
+        batchEncodingClauses.add("1 {query(1.." + queryNum + ")} 1.");
+        batchEncodingClauses.add("#show query/1.");
+        batchEncodingClauses.add("");
+
+        // Projected onto query/1, every query having an answer set shows up exactly once
+        System.out.println("[INFO] Start solver call");
+        Application.solverCallsStartTime = System.currentTimeMillis();
+        BitSet solvedQueries = new BitSet(queryNum + 1);
+        try (SolverProcess solver = Clingo.startProjectedModels(batchEncodingClauses)) {
+            for (String model : Clingo.readModels(solver)) {
+                solvedQueries.set(Integer.parseInt(model.substring(model.indexOf('(') + 1, model.indexOf(')'))));
+            }
+        }
+        Application.solverCallsEndTime = System.currentTimeMillis();
+        System.out.println("[INFO] Finished solver call");
+        return solvedQueries;
     }
 
     private void validateEncodingFormat(File encodingFile) {
         System.out.println("[INFO] Validate format of encoding file '" + encodingFile.getPath() + "'");
-        try (BufferedReader reader = new BufferedReader(new FileReader(encodingFile));) {
-            String line = reader.readLine();
-            while (line != null) {
-                if (!line.isBlank()) {
-                    String prettyLine = line.replaceAll("\s+", " ").trim();
-                    if (prettyLine.startsWith("%")) {
-                        Matcher matcher = commentLineRegex.matcher(prettyLine);
-                        if (matcher.matches()) {
-                            this.encodingModelVarNum = Integer.parseInt(matcher.group("varNum"));
-                        }
-                        line = reader.readLine();
-                        continue;
-                    }
-                    this.encodingLines.add(prettyLine);
-                    Matcher matcher = varDeclarationLineRegex.matcher(prettyLine);
+        try (DimacsScanner scanner = new DimacsScanner(encodingFile)) {
+            while (scanner.nextLine()) {
+                String line = scanner.readLine();
+                if (line.startsWith("%")) {
+                    Matcher matcher = commentLineRegex.matcher(line);
                     if (matcher.matches()) {
-                        this.encodingVarNum = Integer.parseInt(matcher.group("varNum"));
+                        this.encodingModelVarNum = Integer.parseInt(matcher.group("varNum"));
                     }
+                    continue;
+                }
+                this.encodingLines.add(line);
+                Matcher matcher = varDeclarationLineRegex.matcher(line);
+                if (matcher.matches()) {
+                    this.encodingVarNum = Integer.parseInt(matcher.group("varNum"));
                 }
-                line = reader.readLine();
             }
         } catch (FileNotFoundException e) {
             throw new WrongInputException("Provided encoding file '" + encodingFile.getPath() + "' does not exist");
@@ -2,21 +2,15 @@ package de.julsched.beliefchange.asp;
 
 import java.io.File;
 import java.io.IOException;
-import java.util.ArrayList;
-import java.util.List;
-
-import org.apache.commons.lang3.StringUtils;
 
 import de.julsched.beliefchange.Application;
 import de.julsched.beliefchange.exceptions.WrongInstanceFormatException;
 import de.julsched.beliefchange.instance.ModelCheckInstance;
-import de.julsched.beliefchange.utils.Clingo;
-import de.julsched.beliefchange.utils.Utils;
+import de.julsched.beliefchange.sat.SatModelCheck;
+import de.julsched.beliefchange.utils.ClauseDatabase;
 
 public class AspModelCheck extends AspCheck {
 
-    private static final String modelEncodingFileName = Application.dirInterimResults + "/asp-model-check.lp";
-
     private ModelCheckInstance instance;
 
     public AspModelCheck(File encodingFile, boolean properValidation, ModelCheckInstance instance) {
@@ -31,34 +25,24 @@ public class AspModelCheck extends AspCheck {
         System.out.println("[INFO] Start model check");
         Application.modelCheckStartTime = System.currentTimeMillis();
 
-        List<String> modelEncodingClauses = new ArrayList<String>();
-        modelEncodingClauses.addAll(this.encodingLines);
-        modelEncodingClauses.add("");
-
-        String[] modelVars = instance.getModel().split(" ");
-        StringBuilder clause;
-        for (int i = 0; i <= modelVars.length - 1; i++) {
-            String var = modelVars[i];
-            if (var.startsWith("-")) {
-                clause = new StringBuilder("not t(")
-                            .append(var.split("-")[1])
-                            .append(").");
-            } else {
-                clause = new StringBuilder("t(")
-                            .append(var)
-                            .append(").");
-            }
-            modelEncodingClauses.add(clause.toString());
+        // The rules of known structure are decided within the JVM, anything else by clingo
+        ClauseDatabase clauses = EncodingTranslator.translate(this.encodingLines, this.encodingVarNum);
+        if (clauses != null) {
+            System.out.println("[INFO] Check model on translated encoding");
+            printResult(SatModelCheck.checkModel(clauses.getMaxVar(), clauses, instance.getModelLiterals()));
+            return;
         }
-        modelEncodingClauses.add("");
 
-        Utils.writeToFile(StringUtils.join(modelEncodingClauses, "\n"), modelEncodingFileName);
         System.out.println("[INFO] Start solver call");
         Application.solverCallsStartTime = System.currentTimeMillis();
-        Process process = Clingo.execute(modelEncodingFileName, false);
+        boolean hasSolution = hasAnswerSet(createModelEncoding(this.instance.getModelLiterals()));
         Application.solverCallsEndTime = System.currentTimeMillis();
         System.out.println("[INFO] Finished solver call");
-        if (Clingo.hasSolution(process)) {
+        printResult(hasSolution);
+    }
+
+    private void printResult(boolean hasSolution) {
+        if (hasSolution) {
             System.out.println("[INFO] Model result: TRUE");
         } else {
             System.out.println("[INFO] Model result: FALSE");
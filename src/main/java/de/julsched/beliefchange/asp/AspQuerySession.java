@@ -0,0 +1,59 @@
+package de.julsched.beliefchange.asp;
+
+import java.io.File;
+import java.io.IOException;
+
+import de.julsched.beliefchange.sat.SatQuerySession;
+import de.julsched.beliefchange.utils.ClauseDatabase;
+import de.julsched.beliefchange.utils.QuerySession;
+import de.julsched.beliefchange.values.NegationEncoding;
+import de.julsched.beliefchange.values.SatBackend;
+
+// Encodings of the structure created by Encoding are translated once and checked like SAT encodings, all others are
+// kept as rules and passed to clingo by every check
+public class AspQuerySession extends AspCheck implements QuerySession {
+
+    private File encodingFile;
+    private SatQuerySession translatedSession;
+    private boolean validated;
+
+    public AspQuerySession(File encodingFile, SatBackend backend, NegationEncoding negationEncoding) {
+        super(encodingFile, false);
+        this.encodingFile = encodingFile;
+        ClauseDatabase clauses = EncodingTranslator.translate(this.encodingLines, this.encodingVarNum);
+        if (clauses != null) {
+            System.out.println("[INFO] Encoding translated into clauses");
+            this.translatedSession = new SatQuerySession(clauses.getMaxVar(), clauses, this.encodingModelVarNum, backend, negationEncoding);
+        }
+    }
+
+    public int getModelVarNum() {
+        return this.encodingModelVarNum;
+    }
+
+    public synchronized void validateEncoding() {
+        if (this.validated) {
+            return;
+        }
+        if (this.translatedSession != null) {
+            this.translatedSession.validateEncoding();
+        } else {
+            validateSatisfiability(this.encodingFile);
+        }
+        this.validated = true;
+    }
+
+    public boolean isModel(int[] model) throws IOException, InterruptedException {
+        if (this.translatedSession != null) {
+            return this.translatedSession.isModel(model);
+        }
+        return hasAnswerSet(createModelEncoding(model));
+    }
+
+    public boolean isInferred(ClauseDatabase formula) throws IOException, InterruptedException {
+        if (this.translatedSession != null) {
+            return this.translatedSession.isInferred(formula);
+        }
+        return !hasAnswerSet(createInferenceEncoding(formula));
+    }
+}
@@ -2,17 +2,16 @@ package de.julsched.beliefchange.asp;
 
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.HashMap;
 import java.util.List;
 
-import org.apache.commons.lang3.StringUtils;
-
 import de.julsched.beliefchange.Application;
 import de.julsched.beliefchange.OptimumFinder;
 import de.julsched.beliefchange.exceptions.EncodingFailureException;
 import de.julsched.beliefchange.exceptions.WrongInputException;
 import de.julsched.beliefchange.instance.BeliefChangeInstance;
 import de.julsched.beliefchange.instance.RevisionInstance;
+import de.julsched.beliefchange.utils.ClauseDatabase;
+import de.julsched.beliefchange.utils.LiteralRemapper;
 import de.julsched.beliefchange.utils.Utils;
 import de.julsched.beliefchange.values.Distance;
 
@@ -38,7 +37,7 @@ public class Encoding {
     private String minDistance = "";
     private String minimalSetConstraints = "";
     private List<String> finalEncoding = new ArrayList<String>();
-    private HashMap<Integer, Integer> varMap = new HashMap<Integer, Integer>();
+    private LiteralRemapper varMap;
 
     public Encoding(BeliefChangeInstance instance, OptimumFinder optimumFinder, Distance distance) {
         this.distance = distance;
@@ -51,41 +50,38 @@ public class Encoding {
         return List.of("{t(1.." + varNum + ")}.");
     }
 
-    public static List<String> createRepresentationConstraints(HashMap<Integer, Integer> varMap) {
+    public static List<String> createRepresentationConstraints(LiteralRemapper varMap) {
         List<String> representationEncoding = new ArrayList<String>();
-        for (HashMap.Entry<Integer, Integer> entry : varMap.entrySet()) {
+        for (int v = 1; v <= varMap.getMappedVarNum(); v++) {
             StringBuilder encodingLine = new StringBuilder();
             encodingLine.append("r(")
-                        .append(entry.getKey())
+                        .append(v)
                         .append(",")
-                        .append(entry.getValue())
+                        .append(varMap.mapVar(v))
                         .append(").");
             representationEncoding.add(encodingLine.toString());
         }
         return representationEncoding;
     }
 
-    public static List<String> createBaseClauseConstraints(List<String> baseClauses, HashMap<Integer, Integer> varMap) {
+    public static List<String> createBaseClauseConstraints(ClauseDatabase baseClauses, LiteralRemapper varMap) {
         List<String> baseClauseEncoding = new ArrayList<String>();
-        for (String baseClause : baseClauses) {
+        for (int c = 0; c < baseClauses.size(); c++) {
             StringBuilder aspClause = new StringBuilder();
-
-            String[] vars = baseClause.split(" ");
-            for (int i = 0; i < vars.length - 1; i++) { // Skip last index (since that is '0')
-                if (i == 0) {
+            for (int i = baseClauses.getClauseStart(c); i < baseClauses.getClauseEnd(c); i++) {
+                if (i == baseClauses.getClauseStart(c)) {
                     aspClause.append(":- ");
                 } else {
                     aspClause.append(", ");
                 }
-                String var = vars[i];
-                if (var.startsWith("-")) {
-                    var = var.replace("-", "");
+                int literal = baseClauses.getLiteral(i);
+                if (literal < 0) {
                     aspClause.append("t(")
-                             .append(varMap.get(Integer.parseInt(var)))
+                             .append(varMap.mapVar(-literal))
                              .append(")");
                 } else {
                     aspClause.append("not t(")
-                             .append(varMap.get(Integer.parseInt(var)))
+                             .append(varMap.mapVar(literal))
                              .append(")");
                 }
             }
@@ -95,28 +91,25 @@ public class Encoding {
         return baseClauseEncoding;
     }
 
-    public static List<String> createChangeClauseConstraints(List<String> changeClauses, boolean negateChangeClauses) {
+    public static List<String> createChangeClauseConstraints(ClauseDatabase changeClauses, boolean negateChangeClauses) {
         List<String> changeClauseEncoding = new ArrayList<String>();
         if (!negateChangeClauses) {
-            for (String changeClause : changeClauses) {
+            for (int c = 0; c < changeClauses.size(); c++) {
                 StringBuilder aspClause = new StringBuilder();
-
-                String[] vars = changeClause.split(" ");
-                for (int i = 0; i < vars.length - 1; i++) { // Skip last index (since that is '0')
-                    if (i == 0) {
+                for (int i = changeClauses.getClauseStart(c); i < changeClauses.getClauseEnd(c); i++) {
+                    if (i == changeClauses.getClauseStart(c)) {
                         aspClause.append(":- ");
                     } else {
                         aspClause.append(", ");
                     }
-                    String var = vars[i];
-                    if (var.startsWith("-")) {
-                        var = var.replace("-", "");
+                    int literal = changeClauses.getLiteral(i);
+                    if (literal < 0) {
                         aspClause.append("t(")
-                                 .append(var)
+                                 .append(-literal)
                                  .append(")");
                     } else {
                         aspClause.append("not t(")
-                                 .append(var)
+                                 .append(literal)
                                  .append(")");
                     }
                 }
@@ -124,31 +117,13 @@ public class Encoding {
                 changeClauseEncoding.add(aspClause.toString());
             }
         } else {
-            int counter = 0;
             StringBuilder aspClause = new StringBuilder(":- ");
-            for (String changeClause : changeClauses) {
-                counter++;
-                if (counter > 1) {
+            for (int c = 0; c < changeClauses.size(); c++) {
+                if (c > 0) {
                     aspClause.append(", ");
                 }
                 aspClause.append("1 {");
-                String[] vars = changeClause.split(" ");
-                for (int i = 0; i < vars.length - 1; i++) { // Skip last index (since that is '0')
-                    if (i > 0) {
-                        aspClause.append("; ");
-                    }
-                    String var = vars[i];
-                    if (var.startsWith("-")) {
-                        var = var.replace("-", "");
-                        aspClause.append("not t(")
-                                 .append(var)
-                                 .append(")");
-                    } else {
-                        aspClause.append("t(")
-                                 .append(var)
-                                 .append(")");
-                    }
-                }
+                appendClauseLiterals(aspClause, changeClauses, c);
                 aspClause.append("}");
             }
             aspClause.append(".");
@@ -157,6 +132,25 @@ public class Encoding {
         return changeClauseEncoding;
     }
 
+    // Appends the literals of a clause in the form 't(1); not t(2)'
+    public static void appendClauseLiterals(StringBuilder aspClause, ClauseDatabase clauses, int clause) {
+        for (int i = clauses.getClauseStart(clause); i < clauses.getClauseEnd(clause); i++) {
+            if (i > clauses.getClauseStart(clause)) {
+                aspClause.append("; ");
+            }
+            int literal = clauses.getLiteral(i);
+            if (literal < 0) {
+                aspClause.append("not t(")
+                         .append(-literal)
+                         .append(")");
+            } else {
+                aspClause.append("t(")
+                         .append(literal)
+                         .append(")");
+            }
+        }
+    }
+
     public static List<String> createDiscrepancyConstraints(String prefix) {
         List<String> discrepancyConstraintsEncoding = new ArrayList<String>();
         for (String constraint : discrepancyConstraints) {
@@ -183,7 +177,7 @@ public class Encoding {
             }
             createFinalEncoding();
             System.out.println("[INFO] Writing encoding to file '" + Application.resultFilePath + "'");
-            Utils.writeToFile(StringUtils.join(this.finalEncoding, "\n"), Application.resultFilePath);
+            Utils.writeToFile(this.finalEncoding, Application.resultFilePath);
         } catch (Exception e) {
             throw new EncodingFailureException(e);
         }
@@ -192,10 +186,8 @@ public class Encoding {
     }
 
     private void createVarMap() {
-        for (int v = 1; v <= this.instance.getVarNum(); v++) {
-            this.varNum++;
-            this.varMap.put(v, this.varNum);
-        }
+        this.varMap = new LiteralRemapper(this.instance.getVarNum(), this.varNum);
+        this.varNum += this.instance.getVarNum();
     }
 
     private void createBasicEncoding() {
@@ -347,7 +339,7 @@ public class Encoding {
         return this.varNum;
     }
 
-    public HashMap<Integer, Integer> getVarMap() {
+    public LiteralRemapper getVarMap() {
         return this.varMap;
     }
 
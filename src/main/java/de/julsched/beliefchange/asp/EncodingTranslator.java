@@ -0,0 +1,239 @@
+package de.julsched.beliefchange.asp;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import de.julsched.beliefchange.sat.utils.DiscrepancyClauses;
+import de.julsched.beliefchange.sat.utils.WeightedCounter;
+import de.julsched.beliefchange.utils.ClauseDatabase;
+
+// Translates an encoding of the structure created by Encoding into clauses over the variables of t/1, so that it can
+// be decided without grounding. The program is stratified: d/1 and isRevisionModel are completed to equivalences,
+// '#count {P : d(P)}' is counted exactly in binary by a WeightedCounter.
+public class EncodingTranslator {
+
+    private static final Pattern varDefinitionRegex = Pattern.compile("^\\{t\\(1\\.\\.(?<varNum>[1-9][0-9]*)\\)\\}\\.$");
+    private static final Pattern representationRegex = Pattern.compile("^r\\((?<var>[1-9][0-9]*),(?<copy>[1-9][0-9]*)\\)\\.$");
+    private static final Pattern constraintRegex = Pattern.compile("^(?<head>|isRevisionModel |not isRevisionModel ):- (?<body>.+)\\.$");
+    private static final Pattern atomRegex = Pattern.compile("^(?<negation>not )?(?<predicate>[td])\\((?<var>[1-9][0-9]*)\\)$");
+    private static final Pattern disjunctionRegex = Pattern.compile("^1 \\{(?<literals>.+)\\}$");
+    private static final Pattern countRegex = Pattern.compile("^#count \\{(?<p>[A-Z]) : d\\(\\k<p>\\)\\} != (?<num>0|[1-9][0-9]*)$");
+    private static final List<String> discrepancyRules = Encoding.createDiscrepancyConstraints("");
+
+    private List<String> encodingLines;
+    private int encodingVarNum;
+    private ClauseDatabase clauses = new ClauseDatabase();
+    private int varNum;
+    private int trueVar;
+    private Map<Integer, Integer> representations = new TreeMap<>();
+    private Map<Integer, Integer> discrepancyVars = new TreeMap<>();
+    private List<int[]> countLiterals = new ArrayList<>();
+    private int revisionModelVar;
+
+    private EncodingTranslator(List<String> encodingLines, int encodingVarNum) {
+        this.encodingLines = encodingLines;
+        this.encodingVarNum = encodingVarNum;
+        this.varNum = encodingVarNum;
+    }
+
+    // Returns null if the encoding contains anything else than the rules created by Encoding
+    public static ClauseDatabase translate(List<String> encodingLines, int encodingVarNum) {
+        return new EncodingTranslator(encodingLines, encodingVarNum).translate();
+    }
+
+    private ClauseDatabase translate() {
+        this.trueVar = ++this.varNum;
+        this.clauses.addClause(this.trueVar);
+
+        // Facts and the rules of d/1 first, as constraints may refer to d/1 before
+        int discrepancyRuleNum = 0;
+        List<Matcher> constraints = new ArrayList<>();
+        for (String line : this.encodingLines) {
+            line = line.trim();
+            if (line.isEmpty()) {
+                continue;
+            }
+            Matcher matcher = varDefinitionRegex.matcher(line);
+            if (matcher.matches()) {
+                if (Integer.parseInt(matcher.group("varNum")) != this.encodingVarNum) {
+                    return null;
+                }
+                continue;
+            }
+            matcher = representationRegex.matcher(line);
+            if (matcher.matches()) {
+                int var = Integer.parseInt(matcher.group("var"));
+                int copy = Integer.parseInt(matcher.group("copy"));
+                if (var > this.encodingVarNum || copy > this.encodingVarNum || this.representations.put(var, copy) != null) {
+                    return null;
+                }
+                continue;
+            }
+            if (discrepancyRules.contains(line)) {
+                discrepancyRuleNum++;
+                continue;
+            }
+            matcher = constraintRegex.matcher(line);
+            if (!matcher.matches()) {
+                return null;
+            }
+            constraints.add(matcher);
+        }
+        if (discrepancyRuleNum != 0 && discrepancyRuleNum != discrepancyRules.size()) {
+            return null;
+        }
+        if (discrepancyRuleNum != 0) {
+            for (Map.Entry<Integer, Integer> representation : this.representations.entrySet()) {
+                int discrepancyVar = ++this.varNum;
+                DiscrepancyClauses.addExact(this.clauses, discrepancyVar, representation.getKey(), representation.getValue());
+                this.discrepancyVars.put(representation.getKey(), discrepancyVar);
+            }
+        }
+
+        // Only one rule may derive isRevisionModel
+        for (Matcher constraint : constraints) {
+            if (!constraint.group("head").equals("isRevisionModel ")) {
+                continue;
+            }
+            if (this.revisionModelVar != 0) {
+                return null;
+            }
+            int[] body = translateBody(constraint.group("body"));
+            if (body == null) {
+                return null;
+            }
+            this.revisionModelVar = ++this.varNum;
+            addConjunction(this.revisionModelVar, body);
+        }
+        for (Matcher constraint : constraints) {
+            String head = constraint.group("head");
+            if (head.equals("isRevisionModel ")) {
+                continue;
+            }
+            int[] body = translateBody(constraint.group("body"));
+            if (body == null) {
+                return null;
+            }
+            ClauseDatabase clause = new ClauseDatabase();
+            for (int literal : body) {
+                clause.addLiteral(-literal);
+            }
+            if (head.startsWith("not")) {
+                // Atoms without rules are false
+                if (this.revisionModelVar != 0) {
+                    clause.addLiteral(-this.revisionModelVar);
+                } else {
+                    continue;
+                }
+            }
+            clause.endClause();
+            this.clauses.addAll(clause);
+        }
+
+        addCounter();
+        return this.clauses;
+    }
+
+    // Returns one literal per body element that is true iff the element holds
+    private int[] translateBody(String body) {
+        String[] elements = body.split(", ");
+        int[] literals = new int[elements.length];
+        for (int e = 0; e < elements.length; e++) {
+            Matcher matcher = disjunctionRegex.matcher(elements[e]);
+            if (matcher.matches()) {
+                String[] disjuncts = matcher.group("literals").split("; ");
+                int[] disjunction = new int[disjuncts.length];
+                for (int i = 0; i < disjuncts.length; i++) {
+                    disjunction[i] = translateAtom(disjuncts[i]);
+                    if (disjunction[i] == 0) {
+                        return null;
+                    }
+                }
+                literals[e] = ++this.varNum;
+                addDisjunction(literals[e], disjunction);
+                continue;
+            }
+            matcher = countRegex.matcher(elements[e]);
+            if (matcher.matches()) {
+                // Defined once the counter exists, i.e. when the largest compared number is known
+                int equalVar = ++this.varNum;
+                this.countLiterals.add(new int[] {equalVar, Integer.parseInt(matcher.group("num"))});
+                literals[e] = -equalVar;
+                continue;
+            }
+            literals[e] = translateAtom(elements[e]);
+            if (literals[e] == 0) {
+                return null;
+            }
+        }
+        return literals;
+    }
+
+    // Returns 0 for an unknown atom
+    private int translateAtom(String atom) {
+        Matcher matcher = atomRegex.matcher(atom);
+        if (!matcher.matches()) {
+            return 0;
+        }
+        int var = Integer.parseInt(matcher.group("var"));
+        int literal;
+        if (matcher.group("predicate").equals("t")) {
+            if (var > this.encodingVarNum) {
+                return 0;
+            }
+            literal = var;
+        } else {
+            literal = this.discrepancyVars.getOrDefault(var, -this.trueVar);
+        }
+        return matcher.group("negation") == null ? literal : -literal;
+    }
+
+    // var <-> l1 & ... & ln
+    private void addConjunction(int var, int[] literals) {
+        ClauseDatabase clause = new ClauseDatabase();
+        clause.addLiteral(var);
+        for (int literal : literals) {
+            this.clauses.addClause(-var, literal);
+            clause.addLiteral(-literal);
+        }
+        clause.endClause();
+        this.clauses.addAll(clause);
+    }
+
+    // var <-> l1 v ... v ln
+    private void addDisjunction(int var, int[] literals) {
+        ClauseDatabase clause = new ClauseDatabase();
+        clause.addLiteral(-var);
+        for (int literal : literals) {
+            this.clauses.addClause(var, -literal);
+            clause.addLiteral(literal);
+        }
+        clause.endClause();
+        this.clauses.addAll(clause);
+    }
+
+    private void addCounter() {
+        if (this.countLiterals.isEmpty()) {
+            return;
+        }
+        int[] discrepancyLiterals = this.discrepancyVars.values().stream().mapToInt(Integer::intValue).toArray();
+        long[] weights = new long[discrepancyLiterals.length];
+        Arrays.fill(weights, 1);
+        WeightedCounter counter = new WeightedCounter(this.clauses, this.trueVar, this.varNum);
+        int[] bits = counter.count(discrepancyLiterals, weights);
+        this.varNum = counter.getVarNum();
+        for (int[] countLiteral : this.countLiterals) {
+            int[] equalLiterals = WeightedCounter.getEqualLiterals(bits, countLiteral[1]);
+            if (equalLiterals == null) {
+                this.clauses.addClause(-countLiteral[0]);
+            } else {
+                addConjunction(countLiteral[0], equalLiterals);
+            }
+        }
+    }
+}
@@ -4,8 +4,6 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
-import org.apache.commons.lang3.StringUtils;
-
 import de.julsched.beliefchange.Application;
 import de.julsched.beliefchange.OptimumFinder;
 import de.julsched.beliefchange.exceptions.EncodingFailureException;
@@ -13,6 +11,7 @@ import de.julsched.beliefchange.exceptions.WrongInputException;
 import de.julsched.beliefchange.instance.BeliefChangeInstance;
 import de.julsched.beliefchange.instance.ContractionInstance;
 import de.julsched.beliefchange.instance.RevisionInstance;
+import de.julsched.beliefchange.utils.ClauseDatabase;
 import de.julsched.beliefchange.utils.Utils;
 import de.julsched.beliefchange.values.Distance;
 
@@ -79,7 +78,7 @@ public class Encoding {
             }
             finalizeEncoding(this.instance);
             System.out.println("[INFO] Writing encoding to file '" + Application.resultFilePath + "'");
-            Utils.writeToFile(StringUtils.join(this.finalEncoding, "\n"), Application.resultFilePath);
+            Utils.writeToFile(this.finalEncoding, Application.resultFilePath);
         } catch (Exception e) {
             throw new EncodingFailureException(e);
         }
@@ -118,44 +117,19 @@ public class Encoding {
     public static List<String> createBaseClauseEncodingRevision(BeliefChangeInstance instance) {
         List<String> baseClausesEncoding = new ArrayList<String>();
         int constraintCounter = 0;
-        for (String clause : instance.getBaseClauses()) {
+        ClauseDatabase clauses = instance.getBaseClauses();
+        for (int c = 0; c < clauses.size(); c++) {
             constraintCounter++;
             StringBuilder constraint = new StringBuilder("s.t. baseConstraint")
                                         .append(constraintCounter)
                                         .append(":\n\t");
-            String[] vars = clause.split(" ");
-            if (vars.length == 2) {
-                constraint.append("y");
-                if (vars[0].startsWith("-")) {
-                    constraint.append(vars[0].split("-")[1])
-                              .append(" = 0;");
-                } else {
-                    constraint.append(vars[0])
-                              .append(" = 1;");
-                }
+            if (clauses.getClauseLength(c) == 1) {
+                int literal = clauses.getLiteral(clauses.getClauseStart(c));
+                constraint.append("y")
+                          .append(Math.abs(literal))
+                          .append(literal < 0 ? " = 0;" : " = 1;");
             } else {
-                int rightSideNum = 1;
-                for (int i = 0; i < vars.length - 1; i++) { // Skip last index (since that is '0')
-                    if (vars[i].startsWith("-")) {
-                        if (i != 0) {
-                            constraint.append(" - ");
-                        } else {
-                            constraint.append("-");
-                        }
-                        constraint.append("y")
-                                  .append(vars[i].split("-")[1]);
-                        rightSideNum--;
-                    } else {
-                        if (i != 0) {
-                            constraint.append(" + ");
-                        }
-                        constraint.append("y")
-                                  .append(vars[i]);
-                    }
-                }
-                constraint.append(" >= ")
-                          .append(rightSideNum)
-                          .append(";");
+                appendClauseConstraint(constraint, clauses, c, "y");
             }
             baseClausesEncoding.add(constraint.toString());
             baseClausesEncoding.add("");
@@ -166,44 +140,19 @@ public class Encoding {
     public static List<String> createChangeClauseEncodingRevision(BeliefChangeInstance instance) {
         List<String> changeClausesEncoding = new ArrayList<String>();
         int constraintCounter = 0;
-        for (String clause : instance.getChangeClauses()) {
+        ClauseDatabase clauses = instance.getChangeClauses();
+        for (int c = 0; c < clauses.size(); c++) {
             constraintCounter++;
             StringBuilder constraint = new StringBuilder("s.t. changeConstraint")
                                         .append(constraintCounter)
                                         .append(":\n\t");
-            String[] vars = clause.split(" ");
-            if (vars.length == 2) {
-                constraint.append("x");
-                if (vars[0].startsWith("-")) {
-                    constraint.append(vars[0].split("-")[1])
-                              .append(" = 0;");
-                } else {
-                    constraint.append(vars[0])
-                              .append(" = 1;");
-                }
+            if (clauses.getClauseLength(c) == 1) {
+                int literal = clauses.getLiteral(clauses.getClauseStart(c));
+                constraint.append("x")
+                          .append(Math.abs(literal))
+                          .append(literal < 0 ? " = 0;" : " = 1;");
             } else {
-                int rightSideNum = 1;
-                for (int i = 0; i < vars.length - 1; i++) { // Skip last index (since that is '0')
-                    if (vars[i].startsWith("-")) {
-                        if (i != 0) {
-                            constraint.append(" - ");
-                        } else {
-                            constraint.append("-");
-                        }
-                        constraint.append("x")
-                                  .append(vars[i].split("-")[1]);
-                        rightSideNum--;
-                    } else {
-                        if (i != 0) {
-                            constraint.append(" + ");
-                        }
-                        constraint.append("x")
-                                  .append(vars[i]);
-                    }
-                }
-                constraint.append(" >= ")
-                          .append(rightSideNum)
-                          .append(";");
+                appendClauseConstraint(constraint, clauses, c, "x");
             }
             changeClausesEncoding.add(constraint.toString());
             changeClausesEncoding.add("");
@@ -259,44 +208,19 @@ public class Encoding {
     public static List<String> createBaseClauseEncodingContraction(BeliefChangeInstance instance) {
         List<String> baseClausesEncoding = new ArrayList<String>();
         int constraintCounter = 0;
-        for (String clause : instance.getBaseClauses()) {
+        ClauseDatabase clauses = instance.getBaseClauses();
+        for (int c = 0; c < clauses.size(); c++) {
             constraintCounter++;
             StringBuilder constraint = new StringBuilder("s.t. baseConstraint")
                                         .append(constraintCounter)
                                         .append(":\n\t");
-            String[] vars = clause.split(" ");
-            if (vars.length == 2) {
-                constraint.append("y");
-                if (vars[0].startsWith("-")) {
-                    constraint.append(vars[0].split("-")[1])
-                              .append(" = 0;");
-                } else {
-                    constraint.append(vars[0])
-                              .append(" = 1;");
-                }
+            if (clauses.getClauseLength(c) == 1) {
+                int literal = clauses.getLiteral(clauses.getClauseStart(c));
+                constraint.append("y")
+                          .append(Math.abs(literal))
+                          .append(literal < 0 ? " = 0;" : " = 1;");
             } else {
-                int rightSideNum = 1;
-                for (int i = 0; i < vars.length - 1; i++) { // Skip last index (since that is '0')
-                    if (vars[i].startsWith("-")) {
-                        if (i != 0) {
-                            constraint.append(" - ");
-                        } else {
-                            constraint.append("-");
-                        }
-                        constraint.append("y")
-                                  .append(vars[i].split("-")[1]);
-                        rightSideNum--;
-                    } else {
-                        if (i != 0) {
-                            constraint.append(" + ");
-                        }
-                        constraint.append("y")
-                                  .append(vars[i]);
-                    }
-                }
-                constraint.append(" >= ")
-                          .append(rightSideNum)
-                          .append(";");
+                appendClauseConstraint(constraint, clauses, c, "y");
             }
             baseClausesEncoding.add(constraint.toString());
             baseClausesEncoding.add("");
@@ -307,29 +231,16 @@ public class Encoding {
     public static List<String> createChangeClauseEncodingContraction(BeliefChangeInstance instance) {
         List<String> changeClausesEncoding = new ArrayList<String>();
         int constraintCounter = 0;
-        for (String clause : instance.getChangeClauses()) {
+        ClauseDatabase clauses = instance.getChangeClauses();
+        for (int c = 0; c < clauses.size(); c++) {
             constraintCounter++;
             StringBuilder constraint = new StringBuilder("s.t. changeConstraint")
                                         .append(constraintCounter)
                                         .append(":\n\t")
                                         .append("(");
-            String[] vars = clause.split(" ");
-            int varNumber = vars.length - 1;
-            for (int i = 0; i < vars.length - 1; i++) { // Skip last index (since that is '0')
-                if (i != 0) {
-                    constraint.append(" + ");
-                }
-                if (vars[i].startsWith("-")) {
-                    constraint.append("(1 - z");
-                    constraint.append(vars[i].split("-")[1]);
-                    constraint.append(")");
-                } else {
-                    constraint.append("z");
-                    constraint.append(vars[i]);
-                }
-            }
+            appendClauseLiteralSum(constraint, clauses, c, "z");
             constraint.append(") / ")
-                      .append(varNumber)
+                      .append(clauses.getClauseLength(c))
                       .append(" <= a")
                       .append(constraintCounter)
                       .append(";");
@@ -528,34 +439,13 @@ public class Encoding {
             this.varDeclarationEncoding.add(String.format(varDeclarationTemplate, "g2"));
 
             int constraintCounter = 0;
-            for (String clause : instance.getBaseClauses()) {
+            ClauseDatabase clauses = instance.getBaseClauses();
+            for (int c = 0; c < clauses.size(); c++) {
                 constraintCounter++;
                 StringBuilder constraint = new StringBuilder("s.t. finalBaseClause")
                                             .append(constraintCounter)
                                             .append(":\n\t");
-                String[] vars = clause.split(" ");
-                int rightSideNum = 1;
-                for (int i = 0; i < vars.length - 1; i++) { // Skip last index (since that is '0')
-                    if (vars[i].startsWith("-")) {
-                        if (i == 0) {
-                            constraint.append("-");
-                        } else {
-                            constraint.append(" - ");
-                        }
-                        constraint.append("b")
-                                  .append(vars[i].split("-")[1]);
-                        rightSideNum--;
-                    } else {
-                        if (i != 0) {
-                            constraint.append(" + ");
-                        }
-                        constraint.append("b")
-                                  .append(vars[i]);
-                    }
-                }
-                constraint.append(" >= ")
-                          .append(rightSideNum)
-                          .append(";");
+                appendClauseConstraint(constraint, clauses, c, "b");
                 this.finalConstraintsEncoding.add(constraint.toString());
                 this.finalConstraintsEncoding.add("");
             }
@@ -682,34 +572,13 @@ public class Encoding {
             this.finalEncoding.add("");
 
             int constraintCounter = 0;
-            for (String clause : instance.getBaseClauses()) {
+            ClauseDatabase clauses = instance.getBaseClauses();
+            for (int c = 0; c < clauses.size(); c++) {
                 constraintCounter++;
                 StringBuilder constraint = new StringBuilder("s.t. baseClause")
                                             .append(constraintCounter)
                                             .append(":\n\t");
-                String[] vars = clause.split(" ");
-                int rightSideNum = 1;
-                for (int i = 0; i < vars.length - 1; i++) { // Skip last index (since that is '0')
-                    if (vars[i].startsWith("-")) {
-                        if (i == 0) {
-                            constraint.append("-");
-                        } else {
-                            constraint.append(" - ");
-                        }
-                        constraint.append("b")
-                                  .append(vars[i].split("-")[1]);
-                        rightSideNum--;
-                    } else {
-                        if (i != 0) {
-                            constraint.append(" + ");
-                        }
-                        constraint.append("b")
-                                  .append(vars[i]);
-                    }
-                }
-                constraint.append(" >= ")
-                          .append(rightSideNum)
-                          .append(";");
+                appendClauseConstraint(constraint, clauses, c, "b");
                 this.finalEncoding.add(constraint.toString());
                 this.finalEncoding.add("");
             }
@@ -805,4 +674,48 @@ public class Encoding {
     public int getVarNum() {
         return this.varNum;
     }
+
+    // Appends clause 'x1 v -x2 v x3' as 'x1 - x2 + x3 >= 0;'
+    public static void appendClauseConstraint(StringBuilder constraint, ClauseDatabase clauses, int clause, String varPrefix) {
+        int rightSideNum = 1;
+        int start = clauses.getClauseStart(clause);
+        for (int i = start; i < clauses.getClauseEnd(clause); i++) {
+            int literal = clauses.getLiteral(i);
+            if (literal < 0) {
+                if (i != start) {
+                    constraint.append(" - ");
+                } else {
+                    constraint.append("-");
+                }
+                rightSideNum--;
+            } else if (i != start) {
+                constraint.append(" + ");
+            }
+            constraint.append(varPrefix)
+                      .append(Math.abs(literal));
+        }
+        constraint.append(" >= ")
+                  .append(rightSideNum)
+                  .append(";");
+    }
+
+    // Appends clause 'x1 v -x2' as 'x1 + (1 - x2)'
+    public static void appendClauseLiteralSum(StringBuilder constraint, ClauseDatabase clauses, int clause, String varPrefix) {
+        int start = clauses.getClauseStart(clause);
+        for (int i = start; i < clauses.getClauseEnd(clause); i++) {
+            int literal = clauses.getLiteral(i);
+            if (i != start) {
+                constraint.append(" + ");
+            }
+            if (literal < 0) {
+                constraint.append("(1 - ")
+                          .append(varPrefix)
+                          .append(-literal)
+                          .append(")");
+            } else {
+                constraint.append(varPrefix)
+                          .append(literal);
+            }
+        }
+    }
 }
@@ -0,0 +1,274 @@
+package de.julsched.beliefchange.ilp;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import de.julsched.beliefchange.sat.utils.WeightedCounter;
+import de.julsched.beliefchange.utils.ClauseDatabase;
+
+// Translates an encoding of binary variables and linear constraints, as created by Encoding, into clauses, so that it
+// can be decided without the MathProg translation of glpsol. Variable xi becomes DIMACS variable i, every constraint
+// is normalized to a weighted sum of literals that is at most a number. Clauses and constraints dominated by a single
+// literal are translated directly, all others are counted by a WeightedCounter.
+public class EncodingTranslator {
+
+    private static final Pattern varDeclarationRegex = Pattern.compile("^var\\s(?<variable>[a-z][a-z]*[1-9][0-9]*)\\sbinary;$");
+    private static final Pattern constraintRegex = Pattern.compile("^s\\.t\\.\\s+[A-Za-z_][A-Za-z_0-9]*\\s*:(?<constraint>.+)$", Pattern.DOTALL);
+    private static final Pattern tokenRegex = Pattern.compile("\\s*(<=|>=|=|[-+()/]|[0-9]+|[A-Za-z_][A-Za-z_0-9]*)");
+    // Larger translations are left to glpsol
+    private static final int maxLiteralNum = 1 << 26;
+
+    private int encodingModelVarNum;
+    private ClauseDatabase clauses = new ClauseDatabase();
+    private Map<String, Integer> vars = new HashMap<>();
+    private int varNum;
+    private int trueVar;
+    private List<String> tokens;
+    private int position;
+
+    private EncodingTranslator(int encodingModelVarNum) {
+        this.encodingModelVarNum = encodingModelVarNum;
+        this.varNum = encodingModelVarNum;
+    }
+
+    // Returns null if the encoding contains anything else than binary variables and linear constraints
+    public static ClauseDatabase translate(List<String> varDeclarationEncoding, List<String> nonVarDeclarationEncoding,
+                                           int encodingModelVarNum) {
+        try {
+            return new EncodingTranslator(encodingModelVarNum).translate(varDeclarationEncoding, nonVarDeclarationEncoding);
+        } catch (ArithmeticException e) {
+            // Coefficients exceeding the range of long are left to glpsol
+            return null;
+        }
+    }
+
+    private ClauseDatabase translate(List<String> varDeclarationEncoding, List<String> nonVarDeclarationEncoding) {
+        for (String line : varDeclarationEncoding) {
+            Matcher matcher = varDeclarationRegex.matcher(line);
+            if (!matcher.matches()) {
+                return null;
+            }
+            String variable = matcher.group("variable");
+            if (variable.charAt(0) == 'x' && Character.isDigit(variable.charAt(1))) {
+                int var = Integer.parseInt(variable.substring(1));
+                if (var <= this.encodingModelVarNum) {
+                    this.vars.put(variable, var);
+                    continue;
+                }
+            }
+            this.vars.put(variable, ++this.varNum);
+        }
+        this.trueVar = ++this.varNum;
+        this.clauses.addClause(this.trueVar);
+
+        for (String statement : String.join("\n", nonVarDeclarationEncoding).split(";")) {
+            if (statement.isBlank()) {
+                continue;
+            }
+            Matcher matcher = constraintRegex.matcher(statement.trim());
+            if (!matcher.matches() || !translateConstraint(matcher.group("constraint"))) {
+                return null;
+            }
+        }
+        return this.clauses;
+    }
+
+    private boolean translateConstraint(String constraint) {
+        this.tokens = new ArrayList<>();
+        this.position = 0;
+        Matcher matcher = tokenRegex.matcher(constraint);
+        int end = 0;
+        while (matcher.find() && matcher.start() == end) {
+            this.tokens.add(matcher.group(1));
+            end = matcher.end();
+        }
+        if (!constraint.substring(end).isBlank()) {
+            return false;
+        }
+
+        LinearExpression left = parseSum();
+        if (left == null || this.position >= this.tokens.size()) {
+            return false;
+        }
+        String comparator = this.tokens.get(this.position++);
+        LinearExpression right = parseSum();
+        if (right == null || this.position != this.tokens.size()) {
+            return false;
+        }
+
+        // left - right compared to 0, with coefficients c of all variables v made positive by c * v = c + (-c) * -v
+        LinearExpression difference = left.add(right, -1);
+        long bound = -difference.getConstant();
+        long total = 0;
+        int[] literals = new int[difference.getCoefficients().size()];
+        long[] weights = new long[literals.length];
+        int t = 0;
+        for (Map.Entry<Integer, Long> term : difference.getCoefficients().entrySet()) {
+            literals[t] = term.getValue() > 0 ? term.getKey() : -term.getKey();
+            weights[t] = Math.abs(term.getValue());
+            if (term.getValue() < 0) {
+                bound = Math.addExact(bound, weights[t]);
+            }
+            total = Math.addExact(total, weights[t]);
+            t++;
+        }
+        // At least the bound: the negated literals sum up to at most total - bound
+        int[] negatedLiterals = Arrays.stream(literals).map(literal -> -literal).toArray();
+        long negatedBound = Math.subtractExact(total, bound);
+        switch (comparator) {
+            case "<=":
+                addAtMost(literals, weights, bound);
+                break;
+            case ">=":
+                addAtMost(negatedLiterals, weights, negatedBound);
+                break;
+            case "=":
+                addAtMost(literals, weights, bound);
+                addAtMost(negatedLiterals, weights, negatedBound);
+                break;
+            default:
+                return false;
+        }
+        return this.clauses.getLiteralNum() <= maxLiteralNum;
+    }
+
+    // sum := ['-'] term { ('+' | '-') term }
+    private LinearExpression parseSum() {
+        int sign = 1;
+        if (isNext("-")) {
+            this.position++;
+            sign = -1;
+        }
+        LinearExpression sum = LinearExpression.constant(0);
+        while (true) {
+            LinearExpression term = parseTerm();
+            if (term == null) {
+                return null;
+            }
+            sum = sum.add(term, sign);
+            if (isNext("+")) {
+                sign = 1;
+            } else if (isNext("-")) {
+                sign = -1;
+            } else {
+                return sum;
+            }
+            this.position++;
+        }
+    }
+
+    // term := (number | variable | '(' sum ')') ['/' number]
+    private LinearExpression parseTerm() {
+        if (this.position >= this.tokens.size()) {
+            return null;
+        }
+        String token = this.tokens.get(this.position++);
+        LinearExpression term;
+        if (token.equals("(")) {
+            term = parseSum();
+            if (term == null || !isNext(")")) {
+                return null;
+            }
+            this.position++;
+        } else if (Character.isDigit(token.charAt(0))) {
+            term = LinearExpression.constant(Long.parseLong(token));
+        } else if (this.vars.containsKey(token)) {
+            term = LinearExpression.variable(this.vars.get(token));
+        } else {
+            return null;
+        }
+        if (isNext("/")) {
+            this.position++;
+            if (this.position >= this.tokens.size() || !Character.isDigit(this.tokens.get(this.position).charAt(0))) {
+                return null;
+            }
+            long divisor = Long.parseLong(this.tokens.get(this.position++));
+            if (divisor == 0) {
+                return null;
+            }
+            term = term.divide(divisor);
+        }
+        return term;
+    }
+
+    private boolean isNext(String token) {
+        return this.position < this.tokens.size() && this.tokens.get(this.position).equals(token);
+    }
+
+    // weight 1 * literal 1 + ... + weight n * literal n <= bound, unless one of the guard literals is true
+    private void addAtMost(int[] literals, long[] weights, long bound, int... guard) {
+        if (bound < 0) {
+            addClause(guard, -this.trueVar);
+            return;
+        }
+        // Literals exceeding the bound on their own are false
+        List<Integer> remaining = new ArrayList<>();
+        long total = 0;
+        for (int i = 0; i < literals.length; i++) {
+            if (weights[i] > bound) {
+                addClause(guard, -literals[i]);
+            } else {
+                remaining.add(i);
+                total += weights[i];
+            }
+        }
+        if (total <= bound) {
+            return;
+        }
+        int heaviest = remaining.get(0);
+        int lightest = remaining.get(0);
+        for (int i : remaining) {
+            heaviest = weights[i] > weights[heaviest] ? i : heaviest;
+            lightest = weights[i] < weights[lightest] ? i : lightest;
+        }
+
+        if (total - weights[lightest] <= bound) {
+            // Exceeded only if all literals are true, e.g. clauses
+            int[] clause = new int[remaining.size()];
+            for (int r = 0; r < remaining.size(); r++) {
+                clause[r] = -literals[remaining.get(r)];
+            }
+            addClause(guard, clause);
+        } else if (total - weights[heaviest] <= bound) {
+            // The heaviest literal only restricts the others if it is true, e.g. (e1 + ... + en) / k <= g for k >= n
+            // becomes ei -> g
+            int[] otherLiterals = new int[remaining.size() - 1];
+            long[] otherWeights = new long[remaining.size() - 1];
+            int o = 0;
+            for (int i : remaining) {
+                if (i != heaviest) {
+                    otherLiterals[o] = literals[i];
+                    otherWeights[o++] = weights[i];
+                }
+            }
+            int[] otherGuard = Arrays.copyOf(guard, guard.length + 1);
+            otherGuard[guard.length] = -literals[heaviest];
+            addAtMost(otherLiterals, otherWeights, bound - weights[heaviest], otherGuard);
+        } else {
+            int[] countedLiterals = new int[remaining.size()];
+            long[] countedWeights = new long[remaining.size()];
+            for (int r = 0; r < remaining.size(); r++) {
+                countedLiterals[r] = literals[remaining.get(r)];
+                countedWeights[r] = weights[remaining.get(r)];
+            }
+            WeightedCounter counter = new WeightedCounter(this.clauses, this.trueVar, this.varNum);
+            counter.addAtMost(counter.count(countedLiterals, countedWeights), bound, guard);
+            this.varNum = counter.getVarNum();
+        }
+    }
+
+    private void addClause(int[] guard, int... literals) {
+        for (int literal : guard) {
+            this.clauses.addLiteral(literal);
+        }
+        for (int literal : literals) {
+            this.clauses.addLiteral(literal);
+        }
+        this.clauses.endClause();
+    }
+}
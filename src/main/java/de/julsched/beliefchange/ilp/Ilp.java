@@ -4,8 +4,6 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 
-import org.apache.commons.lang3.StringUtils;
-
 import de.julsched.beliefchange.Application;
 import de.julsched.beliefchange.OptimumFinder;
 import de.julsched.beliefchange.exceptions.MinDistanceException;
@@ -15,13 +13,12 @@ import de.julsched.beliefchange.instance.ContractionInstance;
 import de.julsched.beliefchange.instance.BeliefChangeInstance;
 import de.julsched.beliefchange.instance.RevisionInstance;
 import de.julsched.beliefchange.utils.Glpsol;
-import de.julsched.beliefchange.utils.Utils;
+import de.julsched.beliefchange.utils.ClauseDatabase;
 import de.julsched.beliefchange.values.Distance;
 
 
 public class Ilp extends OptimumFinder {
 
-    private static final String optimizationFileName = Application.dirInterimResults + "/ilp-%s-optimization.mod";
     public static final String optimizationResultFileName = Application.dirInterimResults + "/ilp-%s-optimization-result";
 
     private List<String> ilpModelOptimum = new ArrayList<String>();
@@ -199,95 +196,40 @@ public class Ilp extends OptimumFinder {
 
         List<String> newConstraints = new ArrayList<String>();
         int constraintCounter = 0;
-        for (String clause : instance.getBaseClauses()) {
+        ClauseDatabase baseClauses = instance.getBaseClauses();
+        for (int c = 0; c < baseClauses.size(); c++) {
             constraintCounter++;
             StringBuilder constraint = new StringBuilder("s.t. minSetConstraint")
                                         .append(constraintCounter)
                                         .append(":\n\t");
-            String[] vars = clause.split(" ");
-            int rightSideNum = 1;
-            for (int i = 0; i < vars.length - 1; i++) { // Skip last index (since that is '0')
-                if (vars[i].startsWith("-")) {
-                    if (i == 0) {
-                        constraint.append("-");
-                    } else {
-                        constraint.append(" - ");
-                    }
-                    constraint.append("ys")
-                              .append(vars[i].split("-")[1]);
-                    rightSideNum--;
-                } else {
-                    if (i != 0) {
-                        constraint.append(" + ");
-                    }
-                    constraint.append("ys")
-                              .append(vars[i]);
-                }
-            }
-            constraint.append(" >= ")
-                      .append(rightSideNum)
-                      .append(";");
+            Encoding.appendClauseConstraint(constraint, baseClauses, c, "ys");
             newConstraints.add(constraint.toString());
             newConstraints.add("");
         }
         if (instance instanceof RevisionInstance) {
-            for (String clause : instance.getChangeClauses()) {
+            ClauseDatabase changeClauses = instance.getChangeClauses();
+            for (int c = 0; c < changeClauses.size(); c++) {
                 constraintCounter++;
                 StringBuilder constraint = new StringBuilder("s.t. minSetConstraint")
                                             .append(constraintCounter)
                                             .append(":\n\t");
-                String[] vars = clause.split(" ");
-                int rightSideNum = 1;
-                for (int i = 0; i < vars.length - 1; i++) { // Skip last index (since that is '0')
-                    if (vars[i].startsWith("-")) {
-                        if (i == 0) {
-                            constraint.append("-");
-                        } else {
-                            constraint.append(" - ");
-                        }
-                        constraint.append("zs")
-                                  .append(vars[i].split("-")[1]);
-                        rightSideNum--;
-                    } else {
-                        if (i != 0) {
-                            constraint.append(" + ");
-                        }
-                        constraint.append("zs")
-                                  .append(vars[i]);
-                    }
-                }
-                constraint.append(" >= ")
-                          .append(rightSideNum)
-                          .append(";");
+                Encoding.appendClauseConstraint(constraint, changeClauses, c, "zs");
                 newConstraints.add(constraint.toString());
                 newConstraints.add("");
             }
         } else if (instance instanceof ContractionInstance) {
             int auxiliaryVar = 0;
-            for (String clause : instance.getChangeClauses()) {
+            ClauseDatabase changeClauses = instance.getChangeClauses();
+            for (int c = 0; c < changeClauses.size(); c++) {
                 auxiliaryVar++;
                 constraintCounter++;
                 StringBuilder constraint = new StringBuilder("s.t. minSetConstraint")
                                             .append(constraintCounter)
                                             .append(":\n\t")
                                             .append("(");
-                String[] vars = clause.split(" ");
-                int varNumber = vars.length - 1;
-                for (int i = 0; i < vars.length - 1; i++) { // Skip last index (since that is '0')
-                    if (i != 0) {
-                        constraint.append(" + ");
-                    }
-                    if (vars[i].startsWith("-")) {
-                        constraint.append("(1 - zs");
-                        constraint.append(vars[i].split("-")[1]);
-                        constraint.append(")");
-                    } else {
-                        constraint.append("zs");
-                        constraint.append(vars[i]);
-                    }
-                }
+                Encoding.appendClauseLiteralSum(constraint, changeClauses, c, "zs");
                 constraint.append(") / ")
-                          .append(varNumber)
+                          .append(changeClauses.getClauseLength(c))
                           .append(" <= as")
                           .append(auxiliaryVar)
                           .append(";");
@@ -421,95 +363,40 @@ public class Ilp extends OptimumFinder {
 
         List<String> newConstraints = new ArrayList<String>();
         int constraintCounter = 0;
-        for (String clause : instance.getBaseClauses()) {
+        ClauseDatabase baseClauses = instance.getBaseClauses();
+        for (int c = 0; c < baseClauses.size(); c++) {
             constraintCounter++;
             StringBuilder constraint = new StringBuilder("s.t. minSetConstraint")
                                         .append(constraintCounter)
                                         .append(":\n\t");
-            String[] vars = clause.split(" ");
-            int rightSideNum = 1;
-            for (int i = 0; i < vars.length - 1; i++) { // Skip last index (since that is '0')
-                if (vars[i].startsWith("-")) {
-                    if (i == 0) {
-                        constraint.append("-");
-                    } else {
-                        constraint.append(" - ");
-                    }
-                    constraint.append("ys")
-                              .append(vars[i].split("-")[1]);
-                    rightSideNum--;
-                } else {
-                    if (i != 0) {
-                        constraint.append(" + ");
-                    }
-                    constraint.append("ys")
-                              .append(vars[i]);
-                }
-            }
-            constraint.append(" >= ")
-                      .append(rightSideNum)
-                      .append(";");
+            Encoding.appendClauseConstraint(constraint, baseClauses, c, "ys");
             newConstraints.add(constraint.toString());
             newConstraints.add("");
         }
         if (instance instanceof RevisionInstance) {
-            for (String clause : instance.getChangeClauses()) {
+            ClauseDatabase changeClauses = instance.getChangeClauses();
+            for (int c = 0; c < changeClauses.size(); c++) {
                 constraintCounter++;
                 StringBuilder constraint = new StringBuilder("s.t. minSetConstraint")
                                             .append(constraintCounter)
                                             .append(":\n\t");
-                String[] vars = clause.split(" ");
-                int rightSideNum = 1;
-                for (int i = 0; i < vars.length - 1; i++) { // Skip last index (since that is '0')
-                    if (vars[i].startsWith("-")) {
-                        if (i == 0) {
-                            constraint.append("-");
-                        } else {
-                            constraint.append(" - ");
-                        }
-                        constraint.append("zs")
-                                  .append(vars[i].split("-")[1]);
-                        rightSideNum--;
-                    } else {
-                        if (i != 0) {
-                            constraint.append(" + ");
-                        }
-                        constraint.append("zs")
-                                  .append(vars[i]);
-                    }
-                }
-                constraint.append(" >= ")
-                          .append(rightSideNum)
-                          .append(";");
+                Encoding.appendClauseConstraint(constraint, changeClauses, c, "zs");
                 newConstraints.add(constraint.toString());
                 newConstraints.add("");
             }
         } else if (instance instanceof ContractionInstance) {
             int auxiliaryVar = 0;
-            for (String clause : instance.getChangeClauses()) {
+            ClauseDatabase changeClauses = instance.getChangeClauses();
+            for (int c = 0; c < changeClauses.size(); c++) {
                 auxiliaryVar++;
                 constraintCounter++;
                 StringBuilder constraint = new StringBuilder("s.t. minSetConstraint")
                                             .append(constraintCounter)
                                             .append(":\n\t")
                                             .append("(");
-                String[] vars = clause.split(" ");
-                int varNumber = vars.length - 1;
-                for (int i = 0; i < vars.length - 1; i++) { // Skip last index (since that is '0')
-                    if (i != 0) {
-                        constraint.append(" + ");
-                    }
-                    if (vars[i].startsWith("-")) {
-                        constraint.append("(1 - zs");
-                        constraint.append(vars[i].split("-")[1]);
-                        constraint.append(")");
-                    } else {
-                        constraint.append("zs");
-                        constraint.append(vars[i]);
-                    }
-                }
+                Encoding.appendClauseLiteralSum(constraint, changeClauses, c, "zs");
                 constraint.append(") / ")
-                            .append(varNumber)
+                            .append(changeClauses.getClauseLength(c))
                             .append(" <= as")
                             .append(auxiliaryVar)
                             .append(";");
@@ -612,10 +499,9 @@ public class Ilp extends OptimumFinder {
     }
 
     private String getGlpsolOptimum() throws IOException, InterruptedException {
-        Utils.writeToFile(StringUtils.join(this.ilpModelOptimum, "\n"), String.format(optimizationFileName, "dalal"));
         System.out.println("[INFO] Start solver call");
         Application.solverCallsStartTime = System.currentTimeMillis();
-        Glpsol.executeSolver(String.format(optimizationFileName, "dalal"), String.format(optimizationResultFileName, "dalal"));
+        Glpsol.executeSolver(this.ilpModelOptimum, String.format(optimizationResultFileName, "dalal"));
         Application.solverCallsEndTime = System.currentTimeMillis();
         System.out.println("[INFO] Finished solver call");
         return Glpsol.readOptimumLine(String.format(optimizationResultFileName, "dalal"));
@@ -662,10 +548,9 @@ public class Ilp extends OptimumFinder {
 
             int constraintCounter = 0;
 
-            Utils.writeToFile(StringUtils.join(this.ilpModelOptimum, "\n"), String.format(optimizationFileName, "satoh"));
             System.out.println("[INFO] Start solver calls");
             Application.solverCallsStartTime = System.currentTimeMillis();
-            Glpsol.executeSolver(String.format(optimizationFileName, "satoh"), String.format(optimizationResultFileName, "satoh"));
+            Glpsol.executeSolver(this.ilpModelOptimum, String.format(optimizationResultFileName, "satoh"));
             List<Integer> model = Glpsol.readMinimalSetSatoh(String.format(optimizationResultFileName, "satoh"),
                                                              this.discrepancyVarsPositions,
                                                              this.discrepancyVars2Positions);
@@ -716,8 +601,7 @@ public class Ilp extends OptimumFinder {
 
                 ilpModelOptimumNew.add(index, minimalDistanceSetConstraintsEncoding.toString());
 
-                Utils.writeToFile(StringUtils.join(ilpModelOptimumNew, "\n"), String.format(optimizationFileName, "satoh"));
-                Glpsol.executeSolver(String.format(optimizationFileName, "satoh"), String.format(optimizationResultFileName, "satoh"));
+                Glpsol.executeSolver(ilpModelOptimumNew, String.format(optimizationResultFileName, "satoh"));
                 model = Glpsol.readMinimalSetSatoh(String.format(optimizationResultFileName, "satoh"),
                                                    this.discrepancyVarsPositions,
                                                    this.discrepancyVars2Positions);
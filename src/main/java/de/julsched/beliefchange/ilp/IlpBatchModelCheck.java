@@ -0,0 +1,102 @@
+package de.julsched.beliefchange.ilp;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+import de.julsched.beliefchange.Application;
+import de.julsched.beliefchange.exceptions.WrongInstanceFormatException;
+import de.julsched.beliefchange.instance.ModelQueryReader;
+import de.julsched.beliefchange.sat.SatBatchModelCheck;
+import de.julsched.beliefchange.utils.ClauseDatabase;
+import de.julsched.beliefchange.utils.Glpsol;
+import de.julsched.beliefchange.utils.ThroughputCounter;
+
+public class IlpBatchModelCheck extends IlpCheck {
+
+    private static final String modelFileName = Application.dirInterimResults + "/ilp-batch-model-check.mod";
+    private static final String resultFileNameModel = Application.dirInterimResults + "/ilp-batch-model-check-result";
+
+    private File instanceFile;
+
+    public IlpBatchModelCheck(File encodingFile, boolean properValidation, File instanceFile) {
+        super(encodingFile, properValidation);
+        this.instanceFile = instanceFile;
+    }
+
+    public void execute() throws IOException, InterruptedException {
+        System.out.println("[INFO] Start batch model check");
+        Application.modelCheckStartTime = System.currentTimeMillis();
+
+        // The rules of known structure are decided within the JVM, anything else by glpsol
+        ClauseDatabase clauses = EncodingTranslator.translate(this.varDeclarationEncoding, this.nonVarDeclarationEncoding, this.encodingModelVarNum);
+        if (clauses != null) {
+            System.out.println("[INFO] Check models on translated encoding");
+            SatBatchModelCheck.checkModels(clauses.getMaxVar(), clauses, this.encodingModelVarNum, this.instanceFile);
+            Application.modelCheckEndTime = System.currentTimeMillis();
+            System.out.println("[INFO] Finished batch model check");
+            return;
+        }
+
+        // The model is written once with the variables fixed to the parameter modelValue,
+        // every interpretation only provides the data section setting modelValue
+        List<String> modelEncodingClauses = new ArrayList<String>();
+        modelEncodingClauses.addAll(this.varDeclarationEncoding);
+        modelEncodingClauses.add("param modelValue{1.." + this.encodingModelVarNum + "} binary;");
+        modelEncodingClauses.addAll(this.nonVarDeclarationEncoding);
+        modelEncodingClauses.add("");
+        for (int x = 1; x <= this.encodingModelVarNum; x++) {
+            StringBuilder clause = new StringBuilder("s.t. modelConstraint")
+                                    .append(x)
+                                    .append(":\n\tx")
+                                    .append(x)
+                                    .append(" = modelValue[")
+                                    .append(x)
+                                    .append("];");
+            modelEncodingClauses.add(clause.toString());
+            modelEncodingClauses.add("");
+        }
+        modelEncodingClauses.add("end;");
+        modelEncodingClauses.add("");
+        Files.write(Paths.get(modelFileName), modelEncodingClauses);
+
+        ThroughputCounter counter = new ThroughputCounter("Batch model check", "models");
+        counter.start();
+        Application.solverCallsStartTime = System.currentTimeMillis();
+        int modelNum = 0;
+        try (ModelQueryReader reader = new ModelQueryReader(this.instanceFile)) {
+            int[] model;
+            while ((model = reader.next()) != null) {
+                modelNum = reader.getModelNum();
+                if (model.length != this.encodingModelVarNum) {
+                    throw new WrongInstanceFormatException("Model " + modelNum + " is not a valid model: variables not consistent with provided encoding");
+                }
+                StringBuilder values = new StringBuilder("param modelValue :=");
+                for (int literal : model) {
+                    values.append(" ")
+                          .append(Math.abs(literal))
+                          .append(literal < 0 ? " 0" : " 1");
+                }
+                values.append(";");
+                List<String> data = new ArrayList<String>();
+                data.add("data;");
+                data.add(values.toString());
+                data.add("end;");
+
+                Files.deleteIfExists(Paths.get(resultFileNameModel));
+                Glpsol.executeSolver(modelFileName, data, resultFileNameModel);
+                boolean valid = new File(resultFileNameModel).exists() && Glpsol.containsSolution(resultFileNameModel);
+                System.out.println("[INFO] Model result " + modelNum + ": " + (valid ? "TRUE" : "FALSE"));
+            }
+        }
+        Application.solverCallsEndTime = System.currentTimeMillis();
+        counter.stop(modelNum);
+        counter.print();
+
+        Application.modelCheckEndTime = System.currentTimeMillis();
+        System.out.println("[INFO] Finished batch model check");
+    }
+}
@@ -6,7 +6,7 @@ import java.io.FileNotFoundException;
 import java.io.FileReader;
 import java.io.IOException;
 import java.nio.file.Files;
-import java.nio.file.Paths;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.regex.Matcher;
@@ -16,6 +16,7 @@ import de.julsched.beliefchange.exceptions.ValidationException;
 import de.julsched.beliefchange.exceptions.WrongEncodingFormatException;
 import de.julsched.beliefchange.exceptions.WrongInputException;
 import de.julsched.beliefchange.exceptions.WrongInstanceFormatException;
+import de.julsched.beliefchange.utils.ClauseDatabase;
 import de.julsched.beliefchange.utils.Glpsol;
 
 public class IlpCheck {
@@ -31,34 +32,118 @@ public class IlpCheck {
     public IlpCheck(File encodingFile, boolean properValidation) {
         validateEncodingFormat(encodingFile);
         if (properValidation) {
-            String resultFile = "satisfiability-test-result";
-            try {
-                Glpsol.executeSolver(encodingFile.getAbsolutePath(), resultFile);
-                // Encoding contains syntax error
-                if (!new File(resultFile).exists()) {
-                    throw new ValidationException("Encoding contains syntax error");
-                }
-                if (!Glpsol.containsSolution(resultFile)) {
-                    throw new ValidationException("Encoding is unsatisfiable");
-                }
-                System.out.println("[INFO] Encoding is satisfiable");
-                System.out.println("-".repeat(100));
-            } catch (ValidationException e) {
-                throw e;
-            } catch (Exception e) {
-                throw new ValidationException("Failed to validate encoding", e);
-            } finally {
-                if (new File(resultFile).exists()) {
-                    try {
-                        Files.delete(Paths.get(resultFile));
-                    } catch (IOException e) {
-                        throw new ValidationException("Failed to validate encoding", e);
-                    }
+            validateSatisfiability(encodingFile);
+        }
+    }
+
+    protected void validateSatisfiability(File encodingFile) {
+        Path resultFile = null;
+        try {
+            // Only the name, glpsol writes no result file for a syntax error
+            resultFile = Files.createTempFile("satisfiability-test-result", null);
+            Files.delete(resultFile);
+            Glpsol.executeSolver(encodingFile.getAbsolutePath(), resultFile.toString());
+            // Encoding contains syntax error
+            if (!Files.exists(resultFile)) {
+                throw new ValidationException("Encoding contains syntax error");
+            }
+            if (!Glpsol.containsSolution(resultFile.toString())) {
+                throw new ValidationException("Encoding is unsatisfiable");
+            }
+            System.out.println("[INFO] Encoding is satisfiable");
+            System.out.println("-".repeat(100));
+        } catch (ValidationException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new ValidationException("Failed to validate encoding", e);
+        } finally {
+            if (resultFile != null) {
+                try {
+                    Files.deleteIfExists(resultFile);
+                } catch (IOException e) {
+                    throw new ValidationException("Failed to validate encoding", e);
                 }
             }
         }
     }
 
+    // The encoding with every variable of the model fixed to its value
+    protected List<String> createModelEncoding(int[] model) {
+        List<String> modelEncodingClauses = new ArrayList<String>();
+        modelEncodingClauses.addAll(this.varDeclarationEncoding);
+        modelEncodingClauses.addAll(this.nonVarDeclarationEncoding);
+        modelEncodingClauses.add("");
+
+        StringBuilder clause;
+        for (int i = 0; i < model.length; i++) {
+            int literal = model[i];
+            clause = new StringBuilder("s.t. modelConstraint")
+                        .append(i + 1)
+                        .append(":\n\tx");
+            if (literal < 0) {
+                clause.append(-literal)
+                      .append(" = 0;");
+            } else {
+                clause.append(literal)
+                      .append(" = 1;");
+            }
+            modelEncodingClauses.add(clause.toString());
+            modelEncodingClauses.add("");
+        }
+        modelEncodingClauses.add("end;");
+        modelEncodingClauses.add("");
+        return modelEncodingClauses;
+    }
+
+    // The encoding restricted to the solutions violating the formula
+    protected List<String> createInferenceEncoding(ClauseDatabase formula) {
+        List<String> inferenceEncodingClauses = new ArrayList<String>();
+        inferenceEncodingClauses.addAll(this.varDeclarationEncoding);
+        for (int a = 1; a <= formula.size(); a++) {
+            inferenceEncodingClauses.add(String.format(Encoding.varDeclarationTemplate, "ai" + a));
+        }
+
+        inferenceEncodingClauses.addAll(this.nonVarDeclarationEncoding);
+        inferenceEncodingClauses.add("");
+
+        int constraintCounter = 0;
+        for (int c = 0; c < formula.size(); c++) {
+            constraintCounter++;
+            StringBuilder constraint = new StringBuilder("s.t. inferenceConstraint")
+                                        .append(constraintCounter)
+                                        .append(":\n\t")
+                                        .append("(");
+            Encoding.appendClauseLiteralSum(constraint, formula, c, "x");
+            constraint.append(") / ")
+                      .append(formula.getClauseLength(c))
+                      .append(" <= ai")
+                      .append(constraintCounter)
+                      .append(";");
+            inferenceEncodingClauses.add(constraint.toString());
+            inferenceEncodingClauses.add("");
+        }
+        // Add constraint 'sum(auxiliaryVariables) < <number of clauses>'
+        constraintCounter++;
+        StringBuilder constraint = new StringBuilder("s.t. inferenceConstraint")
+                                    .append(constraintCounter)
+                                    .append(":\n\t");
+        for (int a = 1; a <= formula.size(); a++) {
+            if (a > 1) {
+                constraint.append(" + ");
+            }
+            constraint.append("ai")
+                      .append(a);
+        }
+        constraint.append(" <= ")
+                  .append(formula.size() - 1)
+                  .append(";");
+        inferenceEncodingClauses.add(constraint.toString());
+        inferenceEncodingClauses.add("");
+        inferenceEncodingClauses.add("end;");
+        inferenceEncodingClauses.add("");
+        return inferenceEncodingClauses;
+    }
+
     private void validateEncodingFormat(File encodingFile) {
         System.out.println("[INFO] Validate format of encoding file '" + encodingFile.getPath() + "'");
         try (BufferedReader reader = new BufferedReader(new FileReader(encodingFile));) {
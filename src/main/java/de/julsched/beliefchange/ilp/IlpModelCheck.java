@@ -2,20 +2,16 @@ package de.julsched.beliefchange.ilp;
 
 import java.io.File;
 import java.io.IOException;
-import java.util.ArrayList;
-import java.util.List;
-
-import org.apache.commons.lang3.StringUtils;
 
 import de.julsched.beliefchange.Application;
 import de.julsched.beliefchange.exceptions.WrongInstanceFormatException;
 import de.julsched.beliefchange.instance.ModelCheckInstance;
+import de.julsched.beliefchange.sat.SatModelCheck;
+import de.julsched.beliefchange.utils.ClauseDatabase;
 import de.julsched.beliefchange.utils.Glpsol;
-import de.julsched.beliefchange.utils.Utils;
 
 public class IlpModelCheck extends IlpCheck {
 
-    private static final String modelFileNameModel = Application.dirInterimResults + "/ilp-model-check.mod";
     private static final String resultFileNameModel = Application.dirInterimResults + "/ilp-model-check-result";
 
     private ModelCheckInstance instance;
@@ -32,39 +28,25 @@ public class IlpModelCheck extends IlpCheck {
         System.out.println("[INFO] Start model check");
         Application.modelCheckStartTime = System.currentTimeMillis();
 
-        List<String> modelEncodingClauses = new ArrayList<String>();
-        modelEncodingClauses.addAll(this.varDeclarationEncoding);
-        modelEncodingClauses.addAll(this.nonVarDeclarationEncoding);
-        modelEncodingClauses.add("");
-
-        String[] modelVars = instance.getModel().split(" ");
-        StringBuilder clause;
-        for (int i = 0; i <= modelVars.length - 1; i++) {
-            String var = modelVars[i];
-            clause = new StringBuilder("s.t. modelConstraint")
-                        .append(i + 1)
-                        .append(":\n\tx");
-            if (var.startsWith("-")) {
-                clause.append(var.split("-")[1])
-                      .append(" = 0;");
-            } else {
-                clause.append(var)
-                      .append(" = 1;");
-            }
-            modelEncodingClauses.add(clause.toString());
-            modelEncodingClauses.add("");
+        // The rules of known structure are decided within the JVM, anything else by glpsol
+        ClauseDatabase clauses = EncodingTranslator.translate(this.varDeclarationEncoding, this.nonVarDeclarationEncoding, this.encodingModelVarNum);
+        if (clauses != null) {
+            System.out.println("[INFO] Check model on translated encoding");
+            printResult(SatModelCheck.checkModel(clauses.getMaxVar(), clauses, instance.getModelLiterals()));
+            return;
         }
-        modelEncodingClauses.add("end;");
-        modelEncodingClauses.add("");
 
-        Utils.writeToFile(StringUtils.join(modelEncodingClauses, "\n"), modelFileNameModel);
         System.out.println("[INFO] Start solver call");
         Application.solverCallsStartTime = System.currentTimeMillis();
-        Glpsol.executeSolver(modelFileNameModel, resultFileNameModel);
+        Glpsol.executeSolver(createModelEncoding(this.instance.getModelLiterals()), resultFileNameModel);
         Application.solverCallsEndTime = System.currentTimeMillis();
         System.out.println("[INFO] Finished solver call");
 
-        if (Glpsol.containsSolution(resultFileNameModel)) {
+        printResult(Glpsol.containsSolution(resultFileNameModel));
+    }
+
+    private void printResult(boolean hasSolution) {
+        if (hasSolution) {
             System.out.println("[INFO] Model result: TRUE");
         } else {
             System.out.println("[INFO] Model result: FALSE");
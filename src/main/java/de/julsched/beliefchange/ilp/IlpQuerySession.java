@@ -0,0 +1,74 @@
+package de.julsched.beliefchange.ilp;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import de.julsched.beliefchange.sat.SatQuerySession;
+import de.julsched.beliefchange.utils.ClauseDatabase;
+import de.julsched.beliefchange.utils.Glpsol;
+import de.julsched.beliefchange.utils.QuerySession;
+import de.julsched.beliefchange.values.NegationEncoding;
+import de.julsched.beliefchange.values.SatBackend;
+
+// Encodings of binary variables and linear constraints are translated once and checked like SAT encodings, all
+// others are kept as MathProg lines and passed to glpsol by every check
+public class IlpQuerySession extends IlpCheck implements QuerySession {
+
+    private File encodingFile;
+    private SatQuerySession translatedSession;
+    private boolean validated;
+
+    public IlpQuerySession(File encodingFile, SatBackend backend, NegationEncoding negationEncoding) {
+        super(encodingFile, false);
+        this.encodingFile = encodingFile;
+        ClauseDatabase clauses = EncodingTranslator.translate(this.varDeclarationEncoding, this.nonVarDeclarationEncoding, this.encodingModelVarNum);
+        if (clauses != null) {
+            System.out.println("[INFO] Encoding translated into clauses");
+            this.translatedSession = new SatQuerySession(clauses.getMaxVar(), clauses, this.encodingModelVarNum, backend, negationEncoding);
+        }
+    }
+
+    public int getModelVarNum() {
+        return this.encodingModelVarNum;
+    }
+
+    public synchronized void validateEncoding() {
+        if (this.validated) {
+            return;
+        }
+        if (this.translatedSession != null) {
+            this.translatedSession.validateEncoding();
+        } else {
+            validateSatisfiability(this.encodingFile);
+        }
+        this.validated = true;
+    }
+
+    public boolean isModel(int[] model) throws IOException, InterruptedException {
+        if (this.translatedSession != null) {
+            return this.translatedSession.isModel(model);
+        }
+        return hasSolution(createModelEncoding(model));
+    }
+
+    public boolean isInferred(ClauseDatabase formula) throws IOException, InterruptedException {
+        if (this.translatedSession != null) {
+            return this.translatedSession.isInferred(formula);
+        }
+        return !hasSolution(createInferenceEncoding(formula));
+    }
+
+    // Every call writes its own result file, so that checks may run concurrently
+    private static boolean hasSolution(List<String> model) throws IOException {
+        Path resultFile = Files.createTempFile("ilp-check-result", null);
+        try {
+            Glpsol.executeSolver(model, resultFile.toString());
+            return Glpsol.containsSolution(resultFile.toString());
+        } finally {
+            Files.deleteIfExists(resultFile);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package de.julsched.beliefchange.ilp;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+// Linear expression over integer variables with rational coefficients, i.e. (sum of coefficient * var + constant) / denominator
+class LinearExpression {
+
+    private Map<Integer, Long> coefficients = new TreeMap<>();
+    private long constant;
+    private long denominator = 1;
+
+    static LinearExpression constant(long constant) {
+        LinearExpression expression = new LinearExpression();
+        expression.constant = constant;
+        return expression;
+    }
+
+    static LinearExpression variable(int var) {
+        LinearExpression expression = new LinearExpression();
+        expression.coefficients.put(var, 1L);
+        return expression;
+    }
+
+    // Returns this + sign * other
+    LinearExpression add(LinearExpression other, int sign) {
+        LinearExpression sum = new LinearExpression();
+        sum.denominator = Math.multiplyExact(this.denominator, other.denominator);
+        sum.constant = Math.addExact(Math.multiplyExact(this.constant, other.denominator),
+                                     sign * Math.multiplyExact(other.constant, this.denominator));
+        for (Map.Entry<Integer, Long> term : this.coefficients.entrySet()) {
+            sum.coefficients.merge(term.getKey(), Math.multiplyExact(term.getValue(), other.denominator), Math::addExact);
+        }
+        for (Map.Entry<Integer, Long> term : other.coefficients.entrySet()) {
+            sum.coefficients.merge(term.getKey(), sign * Math.multiplyExact(term.getValue(), this.denominator), Math::addExact);
+        }
+        sum.coefficients.values().removeIf(coefficient -> coefficient == 0);
+        return sum;
+    }
+
+    LinearExpression divide(long divisor) {
+        LinearExpression quotient = new LinearExpression();
+        quotient.coefficients.putAll(this.coefficients);
+        quotient.constant = this.constant;
+        quotient.denominator = Math.multiplyExact(this.denominator, Math.abs(divisor));
+        if (divisor < 0) {
+            quotient.coefficients.replaceAll((var, coefficient) -> -coefficient);
+            quotient.constant = -quotient.constant;
+        }
+        return quotient;
+    }
+
+    // Coefficients of the expression multiplied by its (positive) denominator
+    Map<Integer, Long> getCoefficients() {
+        return this.coefficients;
+    }
+
+    long getConstant() {
+        return this.constant;
+    }
+}
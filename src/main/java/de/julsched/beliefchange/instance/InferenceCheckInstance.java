@@ -1,65 +1,50 @@
 package de.julsched.beliefchange.instance;
 
-import java.io.BufferedReader;
 import java.io.File;
 import java.io.FileNotFoundException;
-import java.io.FileReader;
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Paths;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.regex.Matcher;
 
+import de.julsched.beliefchange.Application;
 import de.julsched.beliefchange.exceptions.ValidationException;
 import de.julsched.beliefchange.exceptions.WrongInputException;
 import de.julsched.beliefchange.exceptions.WrongInstanceFormatException;
-import de.julsched.beliefchange.utils.CaDiCal;
+import de.julsched.beliefchange.utils.ClauseDatabase;
+import de.julsched.beliefchange.utils.DimacsScanner;
+import de.julsched.beliefchange.utils.NegatedCnf;
+import de.julsched.beliefchange.utils.SatSolver;
 import de.julsched.beliefchange.utils.Tseitin;
-import de.julsched.beliefchange.utils.Utils;
+import de.julsched.beliefchange.values.SatBackend;
 
 public class InferenceCheckInstance {
 
-    private List<String> inferenceClauses = new ArrayList<String>();
+    private ClauseDatabase inferenceClauses = new ClauseDatabase();
     private int varNum;
 
     public InferenceCheckInstance(File instanceFile, boolean validateInstance) {
+        this(instanceFile, validateInstance, Application.satBackend);
+    }
+
+    public InferenceCheckInstance(File instanceFile, boolean validateInstance, SatBackend backend) {
         validateFormat(instanceFile);
         if (validateInstance) {
-            String testFile = "satisfiability-test.cnf";
             try {
-                String[] negatedClauses = Tseitin.negateCnfFormula(this.varNum, this.inferenceClauses);
-                if (negatedClauses[0].equals("tautology")) {
+                NegatedCnf negation = Tseitin.negateCnfFormula(this.varNum, this.inferenceClauses);
+                if (negation.isTautology()) {
                     // Inference formula is unsatisfiable
                     throw new ValidationException("Inference formula is unsatisfiable");
                 }
-                if (negatedClauses[0].equals("unsat")) {
+                if (negation.isUnsatisfiable()) {
                     // Inference formula is a tautology
                     throw new ValidationException("Inference formula is a tautology");
                 }
 
-                StringBuilder satisfiabilityTest = new StringBuilder("p cnf " + this.varNum + " " + this.inferenceClauses.size() + "\n");
-                for (String clause : this.inferenceClauses) {
-                    satisfiabilityTest.append(clause)
-                                      .append("\n");
-                }
-                Utils.writeToFile(satisfiabilityTest.toString(), testFile);
-                Process process = CaDiCal.execute(testFile);
-                if (!CaDiCal.isSatisfiable(process)) {
+                SatSolver solver = SatSolver.create(backend);
+                if (!solver.isSatisfiable(this.varNum, this.inferenceClauses)) {
                     throw new ValidationException("Inference formula is unsatisfiable");
                 }
                 System.out.println("[INFO] Inference formula is satisfiable");
 
-                String paramLineNegation = negatedClauses[0];
-                String varNumNew = BeliefChangeInstance.extractVarNum(paramLineNegation);
-                satisfiabilityTest = new StringBuilder("p cnf " + varNumNew + " " + (negatedClauses.length - 1) + "\n");
-                for (int i = 1; i < negatedClauses.length; i++) {
-                    satisfiabilityTest.append(negatedClauses[i])
-                                      .append("\n");
-                }
-                Utils.writeToFile(satisfiabilityTest.toString(), testFile);
-                process = CaDiCal.execute(testFile);
-                if (!CaDiCal.isSatisfiable(process)) {
+                if (!solver.isSatisfiable(negation.getVarNum(), negation.getClauses())) {
                     throw new ValidationException("Inference formula is a tautology");
                 }
                 System.out.println("[INFO] Inference formula is not a tautology");
@@ -68,14 +53,6 @@ public class InferenceCheckInstance {
                 throw e;
             } catch (Exception e) {
                 throw new ValidationException("Failed to validate inference instance", e);
-            } finally {
-                if (new File(testFile).exists()) {
-                    try {
-                        Files.delete(Paths.get(testFile));
-                    } catch (IOException e) {
-                        throw new ValidationException("Failed to validate inference instance", e);
-                    }
-                }
             }
         }
     }
@@ -83,29 +60,19 @@ public class InferenceCheckInstance {
     private void validateFormat(File instanceFile) {
         System.out.println("[INFO] Validate format of instance file '" + instanceFile.getPath() + "'");
 
-        try (BufferedReader reader = new BufferedReader(new FileReader(instanceFile));) {
-            String line = reader.readLine();
-            while (line != null) {
-                String prettyLine = line.replaceAll("\s+", " ").trim();
-                if (!prettyLine.isBlank() && !prettyLine.startsWith("c")) {
-                    Matcher matcher = BeliefChangeInstance.regex.get("clause").matcher(prettyLine);
-                    if (!matcher.matches()) {
-                        throw new WrongInstanceFormatException("Instance file contains invalid clause: " + line);
-                    }
-                    this.inferenceClauses.add(prettyLine);
-                    String[] vars = prettyLine.split(" ");
-                    for (int x = 0; x < vars.length - 1; x++) { // Skip last index since that is '0'
-                        int number = Math.abs(Integer.parseInt(vars[x]));
-                        if (number > this.varNum) {
-                            this.varNum = number;
-                        }
-                    }
+        try (DimacsScanner scanner = new DimacsScanner(instanceFile)) {
+            while (scanner.nextLine()) {
+                if (scanner.startsWith('c')) {
+                    continue;
+                }
+                if (!scanner.readClause(this.inferenceClauses)) {
+                    throw new WrongInstanceFormatException("Line " + scanner.getLineNumber() + ": invalid clause");
                 }
-                line = reader.readLine();
             }
             if (inferenceClauses.size() == 0) {
                 throw new WrongInstanceFormatException("Instance file is empty");
             }
+            this.varNum = this.inferenceClauses.getMaxVar();
         } catch (FileNotFoundException e) {
             throw new WrongInputException("Provided instance file '" + instanceFile.getPath() + "' does not exist");
         } catch (IOException e) {
@@ -120,7 +87,7 @@ public class InferenceCheckInstance {
         return this.varNum;
     }
 
-    public List<String> getInferenceClauses() {
+    public ClauseDatabase getInferenceClauses() {
         return this.inferenceClauses;
     }
 }
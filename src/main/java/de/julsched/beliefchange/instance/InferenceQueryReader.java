@@ -0,0 +1,86 @@
+package de.julsched.beliefchange.instance;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+
+import de.julsched.beliefchange.exceptions.WrongInputException;
+import de.julsched.beliefchange.exceptions.WrongInstanceFormatException;
+import de.julsched.beliefchange.utils.ClauseDatabase;
+import de.julsched.beliefchange.utils.DimacsScanner;
+
+// Reads the inference formulas of a batch one at a time, so that they can also be streamed, e.g. from /dev/stdin.
+// Formulas follow the format of an inference check instance and are separated by the line 'q ---'.
+public class InferenceQueryReader implements Closeable {
+
+    private static final String separatorLine = "q ---";
+
+    private File instanceFile;
+    private DimacsScanner scanner;
+    private boolean exhausted;
+    private int formulaNum;
+
+    public InferenceQueryReader(File instanceFile) {
+        this.instanceFile = instanceFile;
+        try {
+            this.scanner = new DimacsScanner(instanceFile);
+        } catch (FileNotFoundException e) {
+            throw new WrongInputException("Provided instance file '" + instanceFile.getPath() + "' does not exist");
+        } catch (IOException e) {
+            throw new WrongInstanceFormatException("Provided instance in file '"+ instanceFile.getPath() + "' cannot be read");
+        }
+    }
+
+    // Returns the clauses of the next formula or null once all formulas have been read
+    public ClauseDatabase next() {
+        if (this.exhausted) {
+            return null;
+        }
+        ClauseDatabase clauses = new ClauseDatabase();
+        try {
+            while (true) {
+                if (!this.scanner.nextLine()) {
+                    this.exhausted = true;
+                    break;
+                }
+                if (this.scanner.startsWith('c')) {
+                    continue;
+                }
+                if (this.scanner.startsWith('q')) {
+                    if (!this.scanner.readLine().equals(separatorLine)) {
+                        throw new WrongInstanceFormatException("Line " + this.scanner.getLineNumber() + ": invalid separator line");
+                    }
+                    if (clauses.size() == 0) {
+                        throw new WrongInstanceFormatException("Line " + this.scanner.getLineNumber() + ": empty inference formula");
+                    }
+                    break;
+                }
+                if (!this.scanner.readClause(clauses)) {
+                    throw new WrongInstanceFormatException("Line " + this.scanner.getLineNumber() + ": invalid clause");
+                }
+            }
+        } catch (IOException e) {
+            throw new WrongInstanceFormatException("Provided instance in file '"+ this.instanceFile.getPath() + "' cannot be read");
+        }
+        if (clauses.size() == 0) {
+            // Nothing after the last separator
+            if (this.formulaNum == 0) {
+                throw new WrongInstanceFormatException("Instance file is empty");
+            }
+            return null;
+        }
+        this.formulaNum++;
+        return clauses;
+    }
+
+    // Number of the formula returned last, starting at 1
+    public int getFormulaNum() {
+        return this.formulaNum;
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.scanner.close();
+    }
+}
@@ -1,18 +1,19 @@
 package de.julsched.beliefchange.instance;
 
-import java.io.BufferedReader;
 import java.io.File;
 import java.io.FileNotFoundException;
-import java.io.FileReader;
 import java.io.IOException;
 
 import de.julsched.beliefchange.exceptions.WrongInputException;
 import de.julsched.beliefchange.exceptions.WrongInstanceFormatException;
+import de.julsched.beliefchange.utils.DimacsScanner;
+import de.julsched.beliefchange.utils.ModelParser;
 
 public class ModelCheckInstance {
 
     private int varNum;
     private String model;
+    private int[] modelLiterals;
 
     public ModelCheckInstance(File instanceFile) {
         validateFormat(instanceFile);
@@ -21,16 +22,13 @@ public class ModelCheckInstance {
     private void validateFormat(File instanceFile) {
         System.out.println("[INFO] Validate format of instance file '" + instanceFile.getPath() + "'");
 
-        try (BufferedReader reader = new BufferedReader(new FileReader(instanceFile));) {
+        try (DimacsScanner scanner = new DimacsScanner(instanceFile)) {
             int properLines = 0;
-            String line = reader.readLine();
-            while (line != null) {
-                String prettyString = line.replaceAll("\s+", " ").trim();
-                if (!prettyString.isBlank() && !prettyString.startsWith("c")) {
+            while (scanner.nextLine()) {
+                if (!scanner.startsWith('c')) {
                     properLines++;
-                    this.model = prettyString;
+                    this.model = scanner.readLine();
                 }
-                line = reader.readLine();
             }
             if (properLines == 0) {
                 throw new WrongInstanceFormatException("Instance file is empty");
@@ -43,16 +41,17 @@ public class ModelCheckInstance {
             throw new WrongInstanceFormatException("Provided instance in file '"+ instanceFile.getPath() + "' cannot be read");
         }
 
-        String[] vars = this.model.split(" ");
-        int var = 0;
-        for (int x = 0; x <= vars.length - 1; x++) {
-            var++;
-            int number = Math.abs(Integer.parseInt(vars[x]));
-            if (number != var) {
+        try {
+            this.modelLiterals = ModelParser.parseLiterals(this.model);
+        } catch (NumberFormatException e) {
+            throw new WrongInstanceFormatException("Instance file does not contain a valid model");
+        }
+        for (int x = 0; x < this.modelLiterals.length; x++) {
+            if (Math.abs(this.modelLiterals[x]) != x + 1) {
                 throw new WrongInstanceFormatException("Instance file does not contain a valid model");
             }
         }
-        this.varNum = var;
+        this.varNum = this.modelLiterals.length;
 
         System.out.println("[INFO] Instance file format is valid");
         System.out.println("-".repeat(100));
@@ -65,4 +64,9 @@ public class ModelCheckInstance {
     public String getModel() {
         return this.model;
     }
+
+    // Literal i belongs to variable i + 1
+    public int[] getModelLiterals() {
+        return this.modelLiterals;
+    }
 }
@@ -0,0 +1,72 @@
+package de.julsched.beliefchange.instance;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+
+import de.julsched.beliefchange.exceptions.WrongInputException;
+import de.julsched.beliefchange.exceptions.WrongInstanceFormatException;
+import de.julsched.beliefchange.utils.DimacsScanner;
+import de.julsched.beliefchange.utils.ModelParser;
+
+// Reads the interpretations of a batch one at a time, so that they can also be streamed, e.g. from /dev/stdin.
+// Every line that is not a comment line holds one interpretation in the format of a model check instance.
+public class ModelQueryReader implements Closeable {
+
+    private File instanceFile;
+    private DimacsScanner scanner;
+    private int modelNum;
+
+    public ModelQueryReader(File instanceFile) {
+        this.instanceFile = instanceFile;
+        try {
+            this.scanner = new DimacsScanner(instanceFile);
+        } catch (FileNotFoundException e) {
+            throw new WrongInputException("Provided instance file '" + instanceFile.getPath() + "' does not exist");
+        } catch (IOException e) {
+            throw new WrongInstanceFormatException("Provided instance in file '"+ instanceFile.getPath() + "' cannot be read");
+        }
+    }
+
+    // Returns the literals of the next interpretation, literal i belonging to variable i + 1,
+    // or null once all interpretations have been read
+    public int[] next() {
+        try {
+            while (this.scanner.nextLine()) {
+                if (this.scanner.startsWith('c')) {
+                    continue;
+                }
+                int[] modelLiterals;
+                try {
+                    modelLiterals = ModelParser.parseLiterals(this.scanner.readLine());
+                } catch (NumberFormatException e) {
+                    throw new WrongInstanceFormatException("Line " + this.scanner.getLineNumber() + ": invalid model");
+                }
+                for (int x = 0; x < modelLiterals.length; x++) {
+                    if (Math.abs(modelLiterals[x]) != x + 1) {
+                        throw new WrongInstanceFormatException("Line " + this.scanner.getLineNumber() + ": invalid model");
+                    }
+                }
+                this.modelNum++;
+                return modelLiterals;
+            }
+        } catch (IOException e) {
+            throw new WrongInstanceFormatException("Provided instance in file '"+ this.instanceFile.getPath() + "' cannot be read");
+        }
+        if (this.modelNum == 0) {
+            throw new WrongInstanceFormatException("Instance file is empty");
+        }
+        return null;
+    }
+
+    // Number of the interpretation returned last, starting at 1
+    public int getModelNum() {
+        return this.modelNum;
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.scanner.close();
+    }
+}
@@ -0,0 +1,41 @@
+package de.julsched.beliefchange.naive;
+
+import de.julsched.beliefchange.utils.ClauseDatabase;
+
+// Evaluates CNF clauses under 64 complete assignments at once. Slice v - 1 holds the value of variable v in each of
+// the assignments, bit j belonging to assignment j, so a literal costs a single word operation for all of them.
+public class BitSlicedEvaluator {
+
+    private ClauseDatabase clauses;
+
+    public BitSlicedEvaluator(ClauseDatabase clauses) {
+        this.clauses = clauses;
+    }
+
+    // Returns the assignments satisfying all clauses as bits
+    public long evaluate(long[] slices) {
+        long satisfied = -1L;
+        for (int c = 0; c < this.clauses.size() && satisfied != 0; c++) {
+            long clause = 0;
+            for (int i = this.clauses.getClauseStart(c); i < this.clauses.getClauseEnd(c); i++) {
+                int literal = this.clauses.getLiteral(i);
+                long slice = slices[Math.abs(literal) - 1];
+                clause |= literal > 0 ? slice : ~slice;
+            }
+            satisfied &= clause;
+        }
+        return satisfied;
+    }
+
+    // Transposes a 64 x 64 bit matrix in place: bit j of row i becomes bit i of row j
+    public static void transpose(long[] rows) {
+        long mask = 0x00000000FFFFFFFFL;
+        for (int j = 32; j != 0; j >>>= 1, mask ^= mask << j) {
+            for (int k = 0; k < 64; k = ((k | j) + 1) & ~j) {
+                long swap = ((rows[k] >>> j) ^ rows[k | j]) & mask;
+                rows[k] ^= swap << j;
+                rows[k | j] ^= swap;
+            }
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package de.julsched.beliefchange.naive;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Compares a range of base models with a range of change formula models and returns the indexes of the change formula
+// models at minimum distance, base model by base model. Ranges are split among the fork/join workers, which share
+// the best distance found so far to stop counting differences early.
+public class DalalDistanceTask extends RecursiveTask<List<Integer>> {
+
+    private PackedModels baseModels;
+    private PackedModels changeFormulaModels;
+    private AtomicInteger bestDistance;
+    private int from;
+    private int to;
+    private int changeFrom;
+    private int changeTo;
+    private int threshold;
+    private int distance = Integer.MAX_VALUE;
+
+    public DalalDistanceTask(PackedModels baseModels, PackedModels changeFormulaModels, AtomicInteger bestDistance,
+                             int from, int to, int changeFrom, int changeTo, int threshold) {
+        this.baseModels = baseModels;
+        this.changeFormulaModels = changeFormulaModels;
+        this.bestDistance = bestDistance;
+        this.from = from;
+        this.to = to;
+        this.changeFrom = changeFrom;
+        this.changeTo = changeTo;
+        this.threshold = threshold;
+    }
+
+    @Override
+    protected List<Integer> compute() {
+        if (this.to - this.from <= this.threshold) {
+            return computeDirectly();
+        }
+        int middle = (this.from + this.to) >>> 1;
+        DalalDistanceTask left = new DalalDistanceTask(this.baseModels, this.changeFormulaModels, this.bestDistance,
+                                                       this.from, middle, this.changeFrom, this.changeTo,
+                                                       this.threshold);
+        DalalDistanceTask right = new DalalDistanceTask(this.baseModels, this.changeFormulaModels, this.bestDistance,
+                                                        middle, this.to, this.changeFrom, this.changeTo,
+                                                        this.threshold);
+        left.fork();
+        List<Integer> rightResult = right.compute();
+        List<Integer> leftResult = left.join();
+
+        // Merge in base model order, so that the result does not depend on the scheduling
+        this.distance = Math.min(left.distance, right.distance);
+        List<Integer> result = new ArrayList<>();
+        if (left.distance == this.distance) {
+            result.addAll(leftResult);
+        }
+        if (right.distance == this.distance) {
+            result.addAll(rightResult);
+        }
+        return result;
+    }
+
+    private List<Integer> computeDirectly() {
+        List<Integer> result = new ArrayList<>();
+        for (int b = this.from; b < this.to; b++) {
+            for (int c = this.changeFrom; c < this.changeTo; c++) {
+                int limit = this.bestDistance.get();
+                int differences = this.baseModels.distance(b, this.changeFormulaModels, c, limit);
+                if (differences > limit) {
+                    continue;
+                }
+                if (differences < this.distance) {
+                    this.distance = differences;
+                    result.clear();
+                    this.bestDistance.accumulateAndGet(differences, Math::min);
+                }
+                if (differences == this.distance) {
+                    result.add(c);
+                }
+            }
+        }
+        return result;
+    }
+
+    public int getDistance() {
+        return this.distance;
+    }
+}
@@ -0,0 +1,65 @@
+package de.julsched.beliefchange.naive;
+
+import java.util.Arrays;
+
+// Set of variables in which two models differ, bit v - 1 is set if variable v differs
+public class DifferenceSet {
+
+    private long[] words;
+    private int cardinality;
+    private int hashCode;
+
+    public DifferenceSet(long[] words) {
+        this.words = words;
+        for (long word : words) {
+            this.cardinality += Long.bitCount(word);
+        }
+        this.hashCode = Arrays.hashCode(words);
+    }
+
+    public boolean isSubsetOf(DifferenceSet other) {
+        for (int w = 0; w < this.words.length; w++) {
+            if ((this.words[w] & ~other.words[w]) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Returns the index of the next variable contained in the set, starting at index, or -1
+    public int nextVar(int index) {
+        int w = index >>> 6;
+        if (w >= this.words.length) {
+            return -1;
+        }
+        long word = this.words[w] & (-1L << index);
+        while (word == 0) {
+            if (++w == this.words.length) {
+                return -1;
+            }
+            word = this.words[w];
+        }
+        return (w << 6) + Long.numberOfTrailingZeros(word);
+    }
+
+    public int getCardinality() {
+        return this.cardinality;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof DifferenceSet)) {
+            return false;
+        }
+        DifferenceSet other = (DifferenceSet) obj;
+        return this.hashCode == other.hashCode && Arrays.equals(this.words, other.words);
+    }
+
+    @Override
+    public int hashCode() {
+        return this.hashCode;
+    }
+}
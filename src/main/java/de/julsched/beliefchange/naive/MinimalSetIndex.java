@@ -0,0 +1,55 @@
+package de.julsched.beliefchange.naive;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+// Subset-minimal difference sets found so far. Sets have to be added in order of ascending cardinality, so that a
+// set is minimal exactly if none of the sets added before is a subset of it. For every variable, an inverted list
+// holds the sets containing it, which restricts the subset test to sets sharing a variable with the queried set.
+public class MinimalSetIndex {
+
+    private List<DifferenceSet> minimalSets = new ArrayList<>();
+    private BitSet[] setsContainingVar;
+    private boolean containsEmptySet;
+
+    public MinimalSetIndex(int varNum) {
+        this.setsContainingVar = new BitSet[varNum];
+        for (int i = 0; i < varNum; i++) {
+            this.setsContainingVar[i] = new BitSet();
+        }
+    }
+
+    // Safe to be called concurrently as long as no set is added at the same time
+    public boolean containsSubsetOf(DifferenceSet differenceSet) {
+        if (this.containsEmptySet) {
+            return true;
+        }
+        BitSet candidates = new BitSet(this.minimalSets.size());
+        for (int var = differenceSet.nextVar(0); var >= 0; var = differenceSet.nextVar(var + 1)) {
+            candidates.or(this.setsContainingVar[var]);
+        }
+        for (int i = candidates.nextSetBit(0); i >= 0; i = candidates.nextSetBit(i + 1)) {
+            DifferenceSet minimalSet = this.minimalSets.get(i);
+            if (minimalSet.getCardinality() <= differenceSet.getCardinality() && minimalSet.isSubsetOf(differenceSet)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public void add(DifferenceSet differenceSet) {
+        if (differenceSet.getCardinality() == 0) {
+            this.containsEmptySet = true;
+        }
+        int index = this.minimalSets.size();
+        this.minimalSets.add(differenceSet);
+        for (int var = differenceSet.nextVar(0); var >= 0; var = differenceSet.nextVar(var + 1)) {
+            this.setsContainingVar[var].set(index);
+        }
+    }
+
+    public int size() {
+        return this.minimalSets.size();
+    }
+}
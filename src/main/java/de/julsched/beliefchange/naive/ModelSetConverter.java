@@ -0,0 +1,31 @@
+package de.julsched.beliefchange.naive;
+
+import java.io.File;
+import java.io.IOException;
+
+import de.julsched.beliefchange.exceptions.WrongInputException;
+
+// Converts a naive encoding in text format into the binary model format, usage:
+//   java -cp bcCompiler.jar de.julsched.beliefchange.naive.ModelSetConverter <text_file> [<binary_file>]
+public class ModelSetConverter {
+
+    public static void main(String[] args) {
+        try {
+            if (args.length < 1 || args.length > 2) {
+                throw new WrongInputException("Please provide the path to a naive encoding file and optionally the path of the binary file");
+            }
+            String binaryFileName = args.length == 2 ? args[1] : args[0] + ".bin";
+            convert(new File(args[0]), binaryFileName);
+        } catch (Exception e) {
+            System.out.println("[ERROR] The program terminated with an error:");
+            e.printStackTrace();
+            System.exit(1);
+        }
+    }
+
+    public static void convert(File textFile, String binaryFileName) throws IOException {
+        PackedModels models = new NaiveCheck(textFile).getPackedModels();
+        NaiveModelDetermination.writeBinaryModels(models, binaryFileName);
+        System.out.println("[INFO] Wrote " + models.size() + " models to '" + binaryFileName + "'");
+    }
+}
@@ -0,0 +1,43 @@
+package de.julsched.beliefchange.naive;
+
+import java.io.File;
+import java.io.IOException;
+
+import de.julsched.beliefchange.Application;
+import de.julsched.beliefchange.exceptions.WrongInstanceFormatException;
+import de.julsched.beliefchange.instance.ModelQueryReader;
+import de.julsched.beliefchange.utils.ThroughputCounter;
+
+public class NaiveBatchModelCheck extends NaiveCheck {
+
+    private File instanceFile;
+
+    public NaiveBatchModelCheck(File encodingFile, File instanceFile) {
+        super(encodingFile);
+        this.instanceFile = instanceFile;
+    }
+
+    public void execute() throws IOException {
+        System.out.println("[INFO] Start batch model check");
+        Application.modelCheckStartTime = System.currentTimeMillis();
+
+        ThroughputCounter counter = new ThroughputCounter("Batch model check", "models");
+        counter.start();
+        int modelNum = 0;
+        try (ModelQueryReader reader = new ModelQueryReader(this.instanceFile)) {
+            int[] model;
+            while ((model = reader.next()) != null) {
+                modelNum = reader.getModelNum();
+                if (model.length != this.encodingModelVarNum) {
+                    throw new WrongInstanceFormatException("Model " + modelNum + " is not a valid model: variables not consistent with provided encoding");
+                }
+                System.out.println("[INFO] Model result " + modelNum + ": " + (containsModel(model) ? "TRUE" : "FALSE"));
+            }
+        }
+        counter.stop(modelNum);
+        counter.print();
+
+        Application.modelCheckEndTime = System.currentTimeMillis();
+        System.out.println("[INFO] Finished batch model check");
+    }
+}
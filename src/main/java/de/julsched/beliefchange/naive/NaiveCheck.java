@@ -1,62 +1,146 @@
 package de.julsched.beliefchange.naive;
 
-import java.io.BufferedReader;
 import java.io.File;
 import java.io.FileNotFoundException;
-import java.io.FileReader;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import java.util.stream.IntStream;
 
 import de.julsched.beliefchange.exceptions.WrongEncodingFormatException;
 import de.julsched.beliefchange.exceptions.WrongInputException;
 import de.julsched.beliefchange.exceptions.WrongInstanceFormatException;
+import de.julsched.beliefchange.utils.ClauseDatabase;
+import de.julsched.beliefchange.utils.DimacsScanner;
+import de.julsched.beliefchange.utils.ModelParser;
 
+// Reads the models of a naive encoding. Text encodings are packed into memory, binary encodings are mapped, with one
+// long word per 64 variables and model. Binary encodings start with the header
+//   magic 'BCMS' | version (int) | variables (int) | flags (int) | models (long)
+// followed by the model rows, all numbers in little-endian byte order.
 public class NaiveCheck {
 
     private static final Pattern commentLineRegex = Pattern.compile("^#\\sBelief\\sbase\\svariables:\\s(?<varNum>[1-9][0-9]*)$");
 
+    static final int binaryMagic = 0x534d4342; // 'BCMS' in little-endian byte order
+    static final int binaryVersion = 1;
+    static final int binaryHeaderSize = 24;
+    // Rows are ordered as by PackedModels.sort
+    static final int binaryFlagSorted = 1;
+
     protected int encodingModelVarNum;
-    protected List<String> models = new ArrayList<>();
+    private int words;
+    private int modelCount;
+    private boolean sorted;
+    // Segments hold whole rows, since a single mapping is limited to 2 GB
+    private LongBuffer[] segments;
+    private int rowsPerSegment;
 
     public NaiveCheck(File encodingFile) {
-        validateEncodingFormat(encodingFile);
+        System.out.println("[INFO] Validate format of encoding file '" + encodingFile.getPath() + "'");
+        try {
+            if (isBinary(encodingFile)) {
+                mapBinaryEncoding(encodingFile);
+            } else {
+                readTextEncoding(encodingFile);
+            }
+        } catch (FileNotFoundException | NoSuchFileException e) {
+            throw new WrongInputException("Provided encoding file '" + encodingFile.getPath() + "' does not exist");
+        } catch (IOException e) {
+            throw new WrongInstanceFormatException("Provided encoding in file '"+ encodingFile.getPath() + "' cannot be read");
+        }
+        System.out.println("[INFO] Encoding file format is valid");
+        System.out.println("-".repeat(100));
     }
 
-    private void validateEncodingFormat(File encodingFile) {
-        System.out.println("[INFO] Validate format of encoding file '" + encodingFile.getPath() + "'");
+    private static boolean isBinary(File encodingFile) throws IOException {
+        if (!encodingFile.exists()) {
+            throw new FileNotFoundException(encodingFile.getPath());
+        }
+        try (FileChannel channel = FileChannel.open(encodingFile.toPath(), StandardOpenOption.READ)) {
+            ByteBuffer magic = ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN);
+            while (magic.hasRemaining()) {
+                if (channel.read(magic) < 0) {
+                    return false;
+                }
+            }
+            return magic.getInt(0) == binaryMagic;
+        }
+    }
+
+    private void mapBinaryEncoding(File encodingFile) throws IOException {
+        try (FileChannel channel = FileChannel.open(encodingFile.toPath(), StandardOpenOption.READ)) {
+            if (channel.size() < binaryHeaderSize) {
+                throw new WrongEncodingFormatException("Encoding file is truncated");
+            }
+            ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, binaryHeaderSize)
+                                       .order(ByteOrder.LITTLE_ENDIAN);
+            if (header.getInt(4) != binaryVersion) {
+                throw new WrongEncodingFormatException("Unsupported version " + header.getInt(4) + " of binary encoding file");
+            }
+            this.encodingModelVarNum = header.getInt(8);
+            this.sorted = (header.getInt(12) & binaryFlagSorted) != 0;
+            long modelCount = header.getLong(16);
+            if (this.encodingModelVarNum <= 0) {
+                throw new WrongEncodingFormatException("Encoding file does not contain information on belief base variables");
+            }
+            if (modelCount == 0) {
+                throw new WrongEncodingFormatException("Encoding file is empty");
+            }
+            this.words = (this.encodingModelVarNum + 63) >>> 6;
+            long rowSize = (long) this.words * Long.BYTES;
+            if (modelCount < 0 || modelCount > Integer.MAX_VALUE
+                    || channel.size() != binaryHeaderSize + modelCount * rowSize) {
+                throw new WrongEncodingFormatException("Encoding file does not contain the announced number of models");
+            }
+            this.modelCount = (int) modelCount;
+
+            this.rowsPerSegment = (int) Math.max(1, Integer.MAX_VALUE / rowSize);
+            this.segments = new LongBuffer[(this.modelCount + this.rowsPerSegment - 1) / this.rowsPerSegment];
+            for (int s = 0; s < this.segments.length; s++) {
+                long firstRow = (long) s * this.rowsPerSegment;
+                long rows = Math.min(this.rowsPerSegment, this.modelCount - firstRow);
+                this.segments[s] = channel.map(FileChannel.MapMode.READ_ONLY, binaryHeaderSize + firstRow * rowSize, rows * rowSize)
+                                          .order(ByteOrder.LITTLE_ENDIAN)
+                                          .asLongBuffer();
+            }
+        }
+    }
+
+    private void readTextEncoding(File encodingFile) throws IOException {
+        List<int[]> models = new ArrayList<>();
         int varNumMax = 0;
-        try (BufferedReader reader = new BufferedReader(new FileReader(encodingFile));) {
-            String line = reader.readLine();
-            while (line != null) {
-                if (!line.isBlank()) {
-                    String prettyLine = line.replaceAll("\s+", " ").trim();
-                    if (!prettyLine.startsWith("#")) {
-                        String[] vars = prettyLine.split(" ");
-                        for (String var : vars) {
-                            int varInt = Math.abs(Integer.parseInt(var));
-                            if (varInt > varNumMax) {
-                                varNumMax = varInt;
-                            }
+        try (DimacsScanner scanner = new DimacsScanner(encodingFile)) {
+            while (scanner.nextLine()) {
+                String line = scanner.readLine();
+                if (!line.startsWith("#")) {
+                    int[] model = ModelParser.parseLiterals(line);
+                    for (int literal : model) {
+                        int var = Math.abs(literal);
+                        if (var > varNumMax) {
+                            varNumMax = var;
                         }
-                        this.models.add(prettyLine);
-                    }
-                    Matcher matcher = commentLineRegex.matcher(prettyLine);
-                    if (matcher.matches()) {
-                        this.encodingModelVarNum = Integer.parseInt(matcher.group("varNum"));
                     }
+                    models.add(model);
+                }
+                Matcher matcher = commentLineRegex.matcher(line);
+                if (matcher.matches()) {
+                    this.encodingModelVarNum = Integer.parseInt(matcher.group("varNum"));
                 }
-                line = reader.readLine();
             }
-        } catch (FileNotFoundException e) {
-            throw new WrongInputException("Provided encoding file '" + encodingFile.getPath() + "' does not exist");
-        } catch (IOException e) {
-            throw new WrongInstanceFormatException("Provided encoding in file '"+ encodingFile.getPath() + "' cannot be read");
+        } catch (NumberFormatException e) {
+            throw new WrongEncodingFormatException("Encoding file contains an invalid model: " + e.getMessage());
         }
 
-        if (this.models.size() == 0) {
+        if (models.size() == 0) {
             throw new WrongEncodingFormatException("Encoding file is empty");
         }
         if (this.encodingModelVarNum == 0) {
@@ -65,7 +149,137 @@ public class NaiveCheck {
         if (varNumMax > this.encodingModelVarNum) {
             throw new WrongEncodingFormatException("Encoding file contains models with unknown variables");
         }
-        System.out.println("[INFO] Encoding file format is valid");
-        System.out.println("-".repeat(100));
+
+        PackedModels packedModels = new PackedModels(this.encodingModelVarNum);
+        for (int[] model : models) {
+            if (!isComplete(model, this.encodingModelVarNum)) {
+                throw new WrongEncodingFormatException("Encoding file contains a model that does not assign all variables in order");
+            }
+            packedModels.add(model);
+        }
+        // Sorted like the binary format, so that containsModel can search the rows
+        packedModels.sort();
+        this.sorted = true;
+        this.words = packedModels.getWords();
+        this.modelCount = packedModels.size();
+        long[] rows = new long[this.modelCount * this.words];
+        for (int i = 0; i < this.modelCount; i++) {
+            for (int w = 0; w < this.words; w++) {
+                rows[i * this.words + w] = packedModels.getWord(i, w);
+            }
+        }
+        this.segments = new LongBuffer[] { LongBuffer.wrap(rows) };
+        this.rowsPerSegment = Math.max(this.modelCount, 1);
+    }
+
+    // True if the model consists of the literals of the variables 1 to varNum in this order
+    protected static boolean isComplete(int[] model, int varNum) {
+        if (model.length != varNum) {
+            return false;
+        }
+        for (int i = 0; i < model.length; i++) {
+            if (Math.abs(model[i]) != i + 1) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    protected int getModelCount() {
+        return this.modelCount;
+    }
+
+    // Returns the model as DIMACS literals of the variables 1 to encodingModelVarNum
+    protected int[] getModel(int index) {
+        int[] model = new int[this.encodingModelVarNum];
+        for (int i = 0; i < this.encodingModelVarNum; i++) {
+            boolean value = (getWord(index, i >>> 6) & (1L << i)) != 0;
+            model[i] = value ? i + 1 : -(i + 1);
+        }
+        return model;
+    }
+
+    // Values of the variables in the models 64 * block to 64 * block + 63 as slices of a BitSlicedEvaluator,
+    // missing models at the end assign false to all variables
+    protected long[] getSlices(int block) {
+        long[] slices = new long[this.words * 64];
+        long[] rows = new long[64];
+        int first = block * 64;
+        int count = Math.min(64, this.modelCount - first);
+        for (int w = 0; w < this.words; w++) {
+            for (int j = 0; j < 64; j++) {
+                rows[j] = j < count ? getWord(first + j, w) : 0;
+            }
+            BitSlicedEvaluator.transpose(rows);
+            System.arraycopy(rows, 0, slices, w * 64, 64);
+        }
+        return slices;
+    }
+
+    // Binary search on sorted encodings, otherwise the packed rows of an unsorted binary file are scanned
+    protected boolean containsModel(int[] model) {
+        PackedModels packedModel = new PackedModels(this.encodingModelVarNum);
+        packedModel.add(model);
+        long[] row = new long[this.words];
+        for (int w = 0; w < this.words; w++) {
+            row[w] = packedModel.getWord(0, w);
+        }
+        if (!this.sorted) {
+            for (int i = 0; i < this.modelCount; i++) {
+                if (compareRow(i, row) == 0) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        int low = 0;
+        int high = this.modelCount - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int comparison = compareRow(middle, row);
+            if (comparison < 0) {
+                low = middle + 1;
+            } else if (comparison > 0) {
+                high = middle - 1;
+            } else {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private long getWord(int index, int word) {
+        return this.segments[index / this.rowsPerSegment].get((index % this.rowsPerSegment) * this.words + word);
+    }
+
+    private int compareRow(int index, long[] row) {
+        for (int w = 0; w < this.words; w++) {
+            int comparison = Long.compareUnsigned(getWord(index, w), row[w]);
+            if (comparison != 0) {
+                return comparison;
+            }
+        }
+        return 0;
+    }
+
+    // Checks if the formula holds for all models, 64 models per block. Blocks are evaluated in parallel,
+    // the first block containing a falsifying model ends the check.
+    protected boolean holdsForAllModels(ClauseDatabase formula) {
+        BitSlicedEvaluator evaluator = new BitSlicedEvaluator(formula);
+        int blocks = (getModelCount() + 63) / 64;
+        return IntStream.range(0, blocks).parallel().noneMatch(block -> {
+            int count = Math.min(64, getModelCount() - block * 64);
+            long models = count == 64 ? -1L : (1L << count) - 1;
+            return (evaluator.evaluate(getSlices(block)) & models) != models;
+        });
+    }
+
+    // Packs all models, e.g. to write them in another format
+    public PackedModels getPackedModels() {
+        PackedModels packedModels = new PackedModels(this.encodingModelVarNum);
+        for (int i = 0; i < this.modelCount; i++) {
+            packedModels.add(getModel(i));
+        }
+        return packedModels;
     }
 }
@@ -18,13 +18,12 @@ public class NaiveModelCheck extends NaiveCheck {
     }
 
     public void execute() {
-        String modelToMatch = this.instance.getModel();
-        for (String model : this.models) {
-            if (model.equals(modelToMatch)) {
-                System.out.println("[INFO] Model result: TRUE");
-                return;
-            }
+        // Only a model listing all variables in order can be equal to a model of the encoding
+        int[] model = this.instance.getModelLiterals();
+        if (isComplete(model, this.encodingModelVarNum) && containsModel(model)) {
+            System.out.println("[INFO] Model result: TRUE");
+        } else {
+            System.out.println("[INFO] Model result: FALSE");
         }
-        System.out.println("[INFO] Model result: FALSE");
     }
 }
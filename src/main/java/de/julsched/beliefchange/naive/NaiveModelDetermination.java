@@ -2,10 +2,22 @@ package de.julsched.beliefchange.naive;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.HashSet;
+import java.util.BitSet;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
 
 import de.julsched.beliefchange.Application;
 import de.julsched.beliefchange.exceptions.ModelDeterminationException;
@@ -13,19 +25,42 @@ import de.julsched.beliefchange.exceptions.WrongInputException;
 import de.julsched.beliefchange.instance.ContractionInstance;
 import de.julsched.beliefchange.instance.BeliefChangeInstance;
 import de.julsched.beliefchange.instance.RevisionInstance;
+import de.julsched.beliefchange.utils.ClauseDatabase;
+import de.julsched.beliefchange.utils.EncodingSink;
+import de.julsched.beliefchange.utils.ModelEnumerator;
+import de.julsched.beliefchange.utils.NegatedCnf;
+import de.julsched.beliefchange.utils.ThroughputCounter;
 import de.julsched.beliefchange.utils.Tseitin;
-import de.julsched.beliefchange.utils.CaDiCal;
-import de.julsched.beliefchange.utils.Utils;
 import de.julsched.beliefchange.values.Distance;
+import de.julsched.beliefchange.values.ModelFormat;
 import de.julsched.beliefchange.values.Operation;
 
 public class NaiveModelDetermination {
 
-    private static final String modelDeterminationFileName = Application.dirInterimResults + "/naive-model-determination.cnf";
+    // Bounds the change formula models enumerated ahead of the distance evaluation
+    private static final int queueCapacity = 4096;
+    private static final int batchSize = 512;
+    // Marks the end of the enumeration in the queue, compared by reference
+    private static final int[] endOfModels = new int[0];
 
     private BeliefChangeInstance instance;
     private Distance distance;
 
+    private List<int[]> baseModels;
+    private PackedModels packedBaseModels;
+    private List<int[]> changeFormulaModels = new ArrayList<int[]>();
+    private PackedModels packedChangeFormulaModels;
+    private int threshold;
+    // Only unchecked exceptions, as ModelEnumerator does not throw checked ones
+    private volatile Throwable enumerationError;
+
+    // Dalal: minimum distance so far and the change formula models at that distance
+    private AtomicInteger minDistance;
+    private int resultDistance = Integer.MAX_VALUE;
+    private BitSet resultIndexes = new BitSet();
+    // Satoh: distinct difference sets and the change formula models they have been found for
+    private Map<DifferenceSet, BitSet> differenceSets = new HashMap<DifferenceSet, BitSet>();
+
     public NaiveModelDetermination(File instanceFile, boolean validateInstance, Operation operation, Distance distance) {
         switch (operation) {
             case CONTRACTION:
@@ -42,249 +77,318 @@ public class NaiveModelDetermination {
 
     public void execute() throws IOException, InterruptedException {
         // Determine models of base
-        List<String> baseClauses = this.instance.getBaseClauses();
-        StringBuilder dimacs = new StringBuilder("p cnf ")
-                                .append(this.instance.getVarNum())
-                                .append(" ")
-                                .append(baseClauses.size())
-                                .append("\n");
-        for (String clause : baseClauses) {
-            dimacs.append(clause)
-                  .append("\n");
-        }
-        List<int[]> baseModels = getModels(dimacs.toString());
-        if (baseModels.size() == 0) {
+        this.baseModels = getModels(this.instance.getVarNum(), this.instance.getBaseClauses());
+        if (this.baseModels.size() == 0) {
             throw new ModelDeterminationException("Failed to determine models of belief base. "
                                                     + "Belief base is unsatisfiable");
         }
+        this.packedBaseModels = pack(this.baseModels);
+        this.packedChangeFormulaModels = new PackedModels(this.instance.getVarNum());
+        this.minDistance = new AtomicInteger(this.instance.getVarNum());
+        this.threshold = Math.max(1, this.baseModels.size() / (4 * ForkJoinPool.commonPool().getParallelism()));
 
         // Determine models of change formula
+        ModelEnumerator changeFormulaEnumerator;
         if (this.instance.getOperation() == Operation.CONTRACTION) {
-            List<String> changeClauses = negateChangeClauses(this.instance);
-            if (changeClauses.get(0).equals("tautology")) {
+            NegatedCnf negation = Tseitin.negateCnfFormula(this.instance.getVarNum(), this.instance.getChangeClauses());
+            if (negation.isTautology()) {
                 throw new ModelDeterminationException("Failed to determine models. "
                                                         + "Contraction formula is unsatisfiable");
             }
-            if (changeClauses.get(0).equals("unsat")) {
+            if (negation.isUnsatisfiable()) {
                 throw new ModelDeterminationException("Contraction formula is a tautology");
             }
-            String paramLine = changeClauses.get(0);
-            String varNumNew = BeliefChangeInstance.extractVarNum(paramLine);
-            dimacs = new StringBuilder("p cnf ")
-                        .append(varNumNew)
-                        .append(" ")
-                        .append(changeClauses.size() - 1)
-                        .append("\n");
-            for (int i = 1; i < changeClauses.size(); i++) {
-                dimacs.append(changeClauses.get(i))
-                      .append("\n");
-            }
+            changeFormulaEnumerator = new ModelEnumerator(Application.satBackend, negation.getVarNum(),
+                                                          negation.getClauses(), this.instance.getVarNum());
         } else {
-            List<String> changeClauses = this.instance.getChangeClauses();
-            dimacs = new StringBuilder("p cnf ")
-                        .append(this.instance.getVarNum())
-                        .append(" ")
-                        .append(changeClauses.size())
-                        .append("\n");
-            for (String clause : changeClauses) {
-                dimacs.append(clause)
-                      .append("\n");
+            changeFormulaEnumerator = new ModelEnumerator(Application.satBackend, this.instance.getVarNum(),
+                                                          this.instance.getChangeClauses(), this.instance.getVarNum());
+        }
+
+        // The solver keeps enumerating change formula models while the ones found so far are compared with the base
+        // models. The bounded queue blocks the enumeration once it is too far ahead of the evaluation.
+        if (this.distance == Distance.DALAL) {
+            System.out.println("[INFO] Start minimum distance determination");
+        }
+        BlockingQueue<int[]> queue = new ArrayBlockingQueue<int[]>(queueCapacity);
+        ThroughputCounter enumerationCounter = new ThroughputCounter("Change formula model enumeration");
+        ThroughputCounter evaluationCounter = new ThroughputCounter("Distance evaluation");
+        ThroughputCounter outputCounter = new ThroughputCounter("Result output");
+        Thread enumeration = startEnumeration(changeFormulaEnumerator, queue, enumerationCounter);
+        EncodingSink output = null;
+        try {
+            List<int[]> batch = new ArrayList<int[]>(batchSize);
+            boolean ended = false;
+            while (!ended) {
+                batch.add(queue.take());
+                queue.drainTo(batch, batchSize - 1);
+                if (batch.get(batch.size() - 1) == endOfModels) {
+                    batch.remove(batch.size() - 1);
+                    ended = true;
+                }
+                if (batch.isEmpty()) {
+                    continue;
+                }
+                if (output == null && Application.modelFormat == ModelFormat.TEXT) {
+                    // Change formula is satisfiable, so the result can be written from now on
+                    outputCounter.start();
+                    output = openOutput();
+                    outputCounter.stop(this.instance.getOperation() == Operation.CONTRACTION ? this.baseModels.size() : 0);
+                }
+                evaluationCounter.start();
+                evaluate(batch);
+                evaluationCounter.stop(batch.size());
+                batch.clear();
             }
+            if (this.enumerationError instanceof Error) {
+                throw (Error) this.enumerationError;
+            } else if (this.enumerationError != null) {
+                throw (RuntimeException) this.enumerationError;
+            }
+        } catch (IOException | InterruptedException | RuntimeException | Error e) {
+            // Do not leave a partial result behind
+            if (output != null) {
+                output.close();
+                Files.deleteIfExists(Paths.get(Application.resultFilePath));
+            }
+            throw e;
+        } finally {
+            enumeration.interrupt();
+            enumeration.join();
         }
-        List<int[]> changeFormulaModels = getModels(dimacs.toString());
-        if (changeFormulaModels.size() == 0) {
+        if (this.changeFormulaModels.isEmpty()) {
             throw new ModelDeterminationException("Failed to determine models of change formula. "
                                                     + "Change formula is unsatisfiable");
         }
 
-        List<int[]> resultModels = null;
         switch(this.distance) {
             case DALAL:
-                resultModels = runDalal(baseModels, changeFormulaModels);
+                System.out.println("[INFO] Minimum distance: " + this.minDistance.get());
+                System.out.println("[INFO] Finished minimum distance determination");
                 break;
             case SATOH:
-                resultModels = runSatoh(baseModels, changeFormulaModels);
+                determineMinimalSets();
                 break;
             default:
                 throw new WrongInputException("Invalid distance '" + this.distance + "'");
         }
-        if (this.instance.getOperation() == Operation.CONTRACTION) {
-            resultModels.addAll(baseModels);
-        }
 
-        // Set ensures that duplicate models are eliminated
-        HashSet<String> modelsSet = new HashSet<String>();
-        for (int[] resultModel : resultModels) {
-            StringBuilder finalModel = new StringBuilder();
-            for (int i = 0; i < resultModel.length; i++) {
-                finalModel.append(resultModel[i])
-                          .append(" ");
+        outputCounter.start();
+        int writtenModels = 0;
+        if (Application.modelFormat == ModelFormat.BINARY) {
+            writtenModels = writeBinaryResult();
+        } else {
+            try (EncodingSink sink = output) {
+                // Contraction: a change formula model at distance 0 is a base model, which has been written already
+                if (this.instance.getOperation() != Operation.CONTRACTION || this.resultDistance > 0) {
+                    for (int i = this.resultIndexes.nextSetBit(0); i >= 0; i = this.resultIndexes.nextSetBit(i + 1)) {
+                        sink.writeModel(this.changeFormulaModels.get(i));
+                        writtenModels++;
+                    }
+                }
             }
-            modelsSet.add(finalModel.toString().trim());
-        }
-
-        StringBuilder models = new StringBuilder();
-        for (String finalModel : modelsSet) {
-            models.append(finalModel)
-                  .append("\n");
         }
+        outputCounter.stop(writtenModels);
 
-        StringBuilder output = new StringBuilder("# Belief base variables: ")
-                                .append(this.instance.getVarNum())
-                                .append("\n")
-                                .append(models.toString());
-        Utils.writeToFile(output.toString(), Application.resultFilePath);
+        enumerationCounter.print();
+        evaluationCounter.print();
+        outputCounter.print();
     }
 
-    private List<int[]> getModels(String instance) throws IOException, InterruptedException {
+    // Models are projected onto the variables of the instance
+    private List<int[]> getModels(int varNum, ClauseDatabase clauses) {
         List<int[]> models = new ArrayList<int[]>();
-        String dimacsInstance = instance;
-        Utils.writeToFile(dimacsInstance, modelDeterminationFileName);
-        Process process = CaDiCal.execute(modelDeterminationFileName);
+        ModelEnumerator enumerator = new ModelEnumerator(Application.satBackend, varNum, clauses, this.instance.getVarNum());
         int[] model;
-        while ((model = CaDiCal.readSolutionModel(process)) != null) {
-            if (this.instance.getOperation() == Operation.CONTRACTION) {
-                model = Arrays.copyOfRange(model, 0, this.instance.getVarNum());
-            }
+        while ((model = enumerator.next()) != null) {
             models.add(model);
-            StringBuilder newClause = new StringBuilder();
-            for (int i = 0; i < model.length; i++) {
-                int var = model[i];
-                newClause.append((-1) * var)
-                         .append(" ");
-            }
-            newClause.append("0\n");
-            dimacsInstance = dimacsInstance + newClause;
-            String[] dimacsInstanceClauses = dimacsInstance.split("\n");
-            String paramLineOld = dimacsInstanceClauses[0];
-            String varNum = BeliefChangeInstance.extractVarNum(paramLineOld);
-            int clauseNumOld = Integer.parseInt(BeliefChangeInstance.extractClauseNum(paramLineOld));
-            int clauseNumNew = clauseNumOld + 1;
-            String paramLineNew = "p cnf " + varNum + " " + clauseNumNew;
-            dimacsInstanceClauses[0] = paramLineNew;
-
-            StringBuilder dimacsInstanceBuilder = new StringBuilder();
-            for (String line : dimacsInstanceClauses) {
-                dimacsInstanceBuilder.append(line)
-                                     .append("\n");
-            }
-            dimacsInstance = dimacsInstanceBuilder.toString();
-
-            Utils.writeToFile(dimacsInstance, modelDeterminationFileName);
-            process = CaDiCal.execute(modelDeterminationFileName);
         }
         return models;
     }
 
-    private List<int[]> runDalal(List<int[]> baseModels, List<int[]> changeFormulaModels) throws IOException {
-        // Compare all models to find the minimum distance
-        System.out.println("[INFO] Start minimum distance determination");
-        int minDistance = this.instance.getVarNum();
-        List<int[]> resultModels = new ArrayList<int[]>();
-        for (int[] baseModel : baseModels) {
-            for (int[] changeFormulaModel : changeFormulaModels) {
-                int differences = 0;
-                for (int i = 0; i < baseModel.length; i++) {
-                    if (differences > minDistance) {
+    private Thread startEnumeration(ModelEnumerator enumerator, BlockingQueue<int[]> queue, ThroughputCounter counter) {
+        Thread thread = new Thread(() -> {
+            try {
+                while (true) {
+                    counter.start();
+                    int[] model = enumerator.next();
+                    counter.stop(model == null ? 0 : 1);
+                    if (model == null) {
                         break;
                     }
-
-                    if (baseModel[i] != changeFormulaModel[i]) {
-                        differences++;
-                    }
-                }
-                if (differences == minDistance) {
-                    resultModels.add(changeFormulaModel);
-                } else if (differences < minDistance) {
-                    minDistance = differences;
-                    resultModels = new ArrayList<int[]>();
-                    resultModels.add(changeFormulaModel);
+                    queue.put(model);
                 }
+            } catch (InterruptedException e) {
+                // Evaluation has stopped, no further models are needed
+                return;
+            } catch (Throwable e) {
+                this.enumerationError = e;
             }
+            // The evaluation waits for the marker, also after an error. Once it has stopped, it interrupts the put.
+            try {
+                queue.put(endOfModels);
+            } catch (InterruptedException e) {
+                // Evaluation has stopped
+            }
+        }, "change-formula-enumeration");
+        thread.setDaemon(true);
+        thread.start();
+        return thread;
+    }
+
+    // Base models of a contraction are part of the result in any case, so they are written right away
+    private EncodingSink openOutput() throws IOException {
+        EncodingSink output = new EncodingSink(Application.resultFilePath);
+        output.write("# Belief base variables: ")
+              .write(this.instance.getVarNum())
+              .write('\n');
+        if (this.instance.getOperation() == Operation.CONTRACTION) {
+            for (int[] baseModel : this.baseModels) {
+                output.writeModel(baseModel);
+            }
+            output.flush();
         }
-        System.out.println("[INFO] Minimum distance: " + minDistance);
-        System.out.println("[INFO] Finished minimum distance determination");
-        return resultModels;
+        return output;
     }
 
-    private List<int[]> runSatoh(List<int[]> baseModels, List<int[]> changeFormulaModels) throws IOException {
-        // Compare all models to get the difference sets
-        List<int[]> differenceSets = new ArrayList<int[]>();
-        for (int[] baseModel : baseModels) {
-            for (int[] changeFormulaModel : changeFormulaModels) {
-                int[] differenceSet = new int[this.instance.getVarNum()];
-                for (int i = 0; i < baseModel.length; i++) {
-                    if (baseModel[i] == changeFormulaModel[i]) {
-                        differenceSet[i] = 0;
-                    } else {
-                        differenceSet[i] = 1;
-                    }
-                }
-                differenceSets.add(differenceSet);
+    // Rows of the binary format are sorted, so they can only be written once the result is complete
+    private int writeBinaryResult() throws IOException {
+        PackedModels resultModels;
+        if (this.instance.getOperation() == Operation.CONTRACTION) {
+            resultModels = this.packedBaseModels;
+        } else {
+            resultModels = new PackedModels(this.instance.getVarNum());
+        }
+        if (this.instance.getOperation() != Operation.CONTRACTION || this.resultDistance > 0) {
+            for (int i = this.resultIndexes.nextSetBit(0); i >= 0; i = this.resultIndexes.nextSetBit(i + 1)) {
+                resultModels.add(this.changeFormulaModels.get(i));
             }
         }
+        writeBinaryModels(resultModels, Application.resultFilePath);
+        return resultModels.size();
+    }
 
-        // Determine minimal sets
-        System.out.println("[INFO] Start minimal distance sets determination");
-        List<int[]> minimalSets = new ArrayList<int[]>();
-        for (int[] differenceSet : differenceSets) {
-            boolean hasProperSubset = false;
-            for (int[] differenceSet2 : differenceSets) {
-                boolean areIdentical = true;
-                boolean set2isSubset = true;
-                for (int i = 0; i < differenceSet.length; i++) {
-                    if (differenceSet[i] != differenceSet2[i]) {
-                        areIdentical = false;
-                    }
-                    if (differenceSet[i] == 0 && differenceSet2[i] == 1) {
-                        set2isSubset = false;
-                        break;
+    // Writes the models sorted in the binary format read by NaiveCheck
+    public static void writeBinaryModels(PackedModels models, String fileName) throws IOException {
+        models.sort();
+        try (FileChannel channel = FileChannel.open(Paths.get(fileName),
+                                                    StandardOpenOption.CREATE,
+                                                    StandardOpenOption.WRITE,
+                                                    StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.allocate(1 << 16).order(ByteOrder.LITTLE_ENDIAN);
+            buffer.putInt(NaiveCheck.binaryMagic)
+                  .putInt(NaiveCheck.binaryVersion)
+                  .putInt(models.getVarNum())
+                  .putInt(NaiveCheck.binaryFlagSorted)
+                  .putLong(models.size());
+            for (int i = 0; i < models.size(); i++) {
+                for (int w = 0; w < models.getWords(); w++) {
+                    if (buffer.remaining() < Long.BYTES) {
+                        writeBuffer(channel, buffer);
                     }
-                }
-                if (!areIdentical && set2isSubset) { // = proper subset
-                    hasProperSubset = true;
-                    break;
+                    buffer.putLong(models.getWord(i, w));
                 }
             }
-            if (!hasProperSubset) {
-                minimalSets.add(differenceSet);
+            writeBuffer(channel, buffer);
+        }
+    }
+
+    private static void writeBuffer(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private void evaluate(List<int[]> batch) {
+        int from = this.changeFormulaModels.size();
+        for (int[] model : batch) {
+            this.changeFormulaModels.add(model);
+            this.packedChangeFormulaModels.add(model);
+        }
+        int to = this.changeFormulaModels.size();
+        switch(this.distance) {
+            case DALAL:
+                evaluateDalal(from, to);
+                break;
+            case SATOH:
+                evaluateSatoh(from, to);
+                break;
+            default:
+                throw new WrongInputException("Invalid distance '" + this.distance + "'");
+        }
+    }
+
+    private void evaluateDalal(int from, int to) {
+        DalalDistanceTask task = new DalalDistanceTask(this.packedBaseModels,
+                                                       this.packedChangeFormulaModels,
+                                                       this.minDistance,
+                                                       0,
+                                                       this.baseModels.size(),
+                                                       from,
+                                                       to,
+                                                       this.threshold);
+        List<Integer> batchResultIndexes = ForkJoinPool.commonPool().invoke(task);
+        if (task.getDistance() < this.resultDistance) {
+            this.resultDistance = task.getDistance();
+            this.resultIndexes.clear();
+        }
+        if (task.getDistance() == this.resultDistance) {
+            for (int index : batchResultIndexes) {
+                this.resultIndexes.set(index);
             }
         }
-        System.out.println("[INFO] Finished minimal distance sets determination");
+    }
 
-        // Determine the result models
-        List<int[]> resultModels = new ArrayList<int[]>();
-        for (int[] baseModel : baseModels) {
-            for (int[] changeFormulaModel : changeFormulaModels) {
-                int[] differenceSet = new int[this.instance.getVarNum()];
-                for (int i = 0; i < baseModel.length; i++) {
-                    if (baseModel[i] == changeFormulaModel[i]) {
-                        differenceSet[i] = 0;
-                    } else {
-                        differenceSet[i] = 1;
-                    }
-                }
+    private void evaluateSatoh(int from, int to) {
+        Map<DifferenceSet, BitSet> batchDifferenceSets = ForkJoinPool.commonPool().invoke(new SatohDifferenceTask(this.packedBaseModels,
+                                                                                                                  this.packedChangeFormulaModels,
+                                                                                                                  0,
+                                                                                                                  this.baseModels.size(),
+                                                                                                                  from,
+                                                                                                                  to,
+                                                                                                                  this.threshold));
+        for (Map.Entry<DifferenceSet, BitSet> entry : batchDifferenceSets.entrySet()) {
+            this.differenceSets.merge(entry.getKey(), entry.getValue(), (indexes, otherIndexes) -> {
+                indexes.or(otherIndexes);
+                return indexes;
+            });
+        }
+    }
 
-                for (int[] minimalSet : minimalSets) {
-                    boolean isIdentical = true;
-                    for (int i = 0; i < minimalSet.length; i++) {
-                        if (minimalSet[i] != differenceSet[i]) {
-                            isIdentical = false;
-                            break;
-                        }
-                    }
-                    if (isIdentical) {
-                        resultModels.add(changeFormulaModel);
-                        break;
-                    }
-                }
+    private void determineMinimalSets() {
+        // Determine minimal sets level by level: a proper subset has a smaller cardinality,
+        // so all sets of the same cardinality can be checked independently of each other
+        System.out.println("[INFO] Start minimal distance sets determination");
+        List<List<DifferenceSet>> levels = new ArrayList<List<DifferenceSet>>();
+        for (int i = 0; i <= this.instance.getVarNum(); i++) {
+            levels.add(new ArrayList<DifferenceSet>());
+        }
+        for (DifferenceSet differenceSet : this.differenceSets.keySet()) {
+            levels.get(differenceSet.getCardinality()).add(differenceSet);
+        }
+        MinimalSetIndex minimalSets = new MinimalSetIndex(this.instance.getVarNum());
+        // Result models are the change formula models of the minimal sets
+        for (List<DifferenceSet> level : levels) {
+            List<DifferenceSet> levelMinimalSets = level.parallelStream()
+                                                        .filter(differenceSet -> !minimalSets.containsSubsetOf(differenceSet))
+                                                        .collect(Collectors.toList());
+            for (DifferenceSet minimalSet : levelMinimalSets) {
+                minimalSets.add(minimalSet);
+                this.resultIndexes.or(this.differenceSets.get(minimalSet));
+                // The empty set is the only minimal set if it occurs at all
+                this.resultDistance = Math.min(this.resultDistance, minimalSet.getCardinality());
             }
         }
-        return resultModels;
+        System.out.println("[INFO] Finished minimal distance sets determination");
     }
 
-    private List<String> negateChangeClauses(BeliefChangeInstance instance) {
-        String[] dimacsNegation = Tseitin.negateCnfFormula(instance.getVarNum(), instance.getChangeClauses());
-        return Arrays.asList(dimacsNegation);
+    private PackedModels pack(List<int[]> models) {
+        PackedModels packedModels = new PackedModels(this.instance.getVarNum());
+        for (int[] model : models) {
+            packedModels.add(model);
+        }
+        return packedModels;
     }
 }
@@ -0,0 +1,30 @@
+package de.julsched.beliefchange.naive;
+
+import java.io.File;
+
+import de.julsched.beliefchange.utils.ClauseDatabase;
+import de.julsched.beliefchange.utils.QuerySession;
+
+// The models are only read, so checks of one session may run concurrently
+public class NaiveQuerySession extends NaiveCheck implements QuerySession {
+
+    public NaiveQuerySession(File encodingFile) {
+        super(encodingFile);
+    }
+
+    public int getModelVarNum() {
+        return this.encodingModelVarNum;
+    }
+
+    // The format is all there is to validate
+    public void validateEncoding() {
+    }
+
+    public boolean isModel(int[] model) {
+        return isComplete(model, this.encodingModelVarNum) && containsModel(model);
+    }
+
+    public boolean isInferred(ClauseDatabase formula) {
+        return holdsForAllModels(formula);
+    }
+}
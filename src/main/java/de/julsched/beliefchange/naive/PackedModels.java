@@ -0,0 +1,85 @@
+package de.julsched.beliefchange.naive;
+
+import java.util.Arrays;
+
+// Stores models as bit sets packed into one long array: bit v - 1 of a model is set if variable v is true
+public class PackedModels {
+
+    private int varNum;
+    private int words;
+    private long[] bits;
+    private int size;
+
+    public PackedModels(int varNum) {
+        this.varNum = varNum;
+        this.words = (varNum + 63) >>> 6;
+        this.bits = new long[Math.max(this.words, 1) * 16];
+    }
+
+    // Model consists of the DIMACS literals of the variables 1 to varNum
+    public void add(int[] model) {
+        if ((this.size + 1) * this.words > this.bits.length) {
+            this.bits = Arrays.copyOf(this.bits, this.bits.length * 2);
+        }
+        int offset = this.size * this.words;
+        for (int i = 0; i < this.varNum; i++) {
+            if (model[i] > 0) {
+                this.bits[offset + (i >>> 6)] |= 1L << i;
+            }
+        }
+        this.size++;
+    }
+
+    // Number of variables assigned differently, counting stops as soon as it exceeds the limit
+    public int distance(int index, PackedModels other, int otherIndex, int limit) {
+        int offset = index * this.words;
+        int otherOffset = otherIndex * other.words;
+        int distance = 0;
+        for (int w = 0; w < this.words && distance <= limit; w++) {
+            distance += Long.bitCount(this.bits[offset + w] ^ other.bits[otherOffset + w]);
+        }
+        return distance;
+    }
+
+    // Variables assigned differently, bit v - 1 is set if variable v differs
+    public long[] difference(int index, PackedModels other, int otherIndex) {
+        int offset = index * this.words;
+        int otherOffset = otherIndex * other.words;
+        long[] difference = new long[this.words];
+        for (int w = 0; w < this.words; w++) {
+            difference[w] = this.bits[offset + w] ^ other.bits[otherOffset + w];
+        }
+        return difference;
+    }
+
+    public long getWord(int index, int word) {
+        return this.bits[index * this.words + word];
+    }
+
+    // Orders the models by their words, compared as unsigned numbers starting with the first word
+    public void sort() {
+        Integer[] order = new Integer[this.size];
+        for (int i = 0; i < this.size; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Arrays.compareUnsigned(this.bits, a * this.words, (a + 1) * this.words,
+                                                            this.bits, b * this.words, (b + 1) * this.words));
+        long[] sortedBits = new long[Math.max(this.bits.length, 1)];
+        for (int i = 0; i < this.size; i++) {
+            System.arraycopy(this.bits, order[i] * this.words, sortedBits, i * this.words, this.words);
+        }
+        this.bits = sortedBits;
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    public int getVarNum() {
+        return this.varNum;
+    }
+
+    public int getWords() {
+        return this.words;
+    }
+}
@@ -0,0 +1,68 @@
+package de.julsched.beliefchange.naive;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.RecursiveTask;
+
+// Computes the difference sets of a range of base models and a range of change formula models. Identical sets are stored
+// once, together with the indexes of the change formula models they have been found for.
+public class SatohDifferenceTask extends RecursiveTask<Map<DifferenceSet, BitSet>> {
+
+    private PackedModels baseModels;
+    private PackedModels changeFormulaModels;
+    private int from;
+    private int to;
+    private int changeFrom;
+    private int changeTo;
+    private int threshold;
+
+    public SatohDifferenceTask(PackedModels baseModels, PackedModels changeFormulaModels, int from, int to,
+                               int changeFrom, int changeTo, int threshold) {
+        this.baseModels = baseModels;
+        this.changeFormulaModels = changeFormulaModels;
+        this.from = from;
+        this.to = to;
+        this.changeFrom = changeFrom;
+        this.changeTo = changeTo;
+        this.threshold = threshold;
+    }
+
+    @Override
+    protected Map<DifferenceSet, BitSet> compute() {
+        if (this.to - this.from <= this.threshold) {
+            return computeDirectly();
+        }
+        int middle = (this.from + this.to) >>> 1;
+        SatohDifferenceTask left = new SatohDifferenceTask(this.baseModels, this.changeFormulaModels,
+                                                           this.from, middle, this.changeFrom, this.changeTo,
+                                                           this.threshold);
+        SatohDifferenceTask right = new SatohDifferenceTask(this.baseModels, this.changeFormulaModels,
+                                                            middle, this.to, this.changeFrom, this.changeTo,
+                                                            this.threshold);
+        left.fork();
+        Map<DifferenceSet, BitSet> rightResult = right.compute();
+        Map<DifferenceSet, BitSet> leftResult = left.join();
+
+        Map<DifferenceSet, BitSet> smaller = leftResult.size() < rightResult.size() ? leftResult : rightResult;
+        Map<DifferenceSet, BitSet> larger = smaller == leftResult ? rightResult : leftResult;
+        for (Map.Entry<DifferenceSet, BitSet> entry : smaller.entrySet()) {
+            larger.merge(entry.getKey(), entry.getValue(), (indexes, otherIndexes) -> {
+                indexes.or(otherIndexes);
+                return indexes;
+            });
+        }
+        return larger;
+    }
+
+    private Map<DifferenceSet, BitSet> computeDirectly() {
+        Map<DifferenceSet, BitSet> differenceSets = new HashMap<>();
+        for (int b = this.from; b < this.to; b++) {
+            for (int c = this.changeFrom; c < this.changeTo; c++) {
+                DifferenceSet differenceSet = new DifferenceSet(this.baseModels.difference(b, this.changeFormulaModels, c));
+                differenceSets.computeIfAbsent(differenceSet, key -> new BitSet()).set(c);
+            }
+        }
+        return differenceSets;
+    }
+}
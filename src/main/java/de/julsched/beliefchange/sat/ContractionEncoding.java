@@ -2,37 +2,45 @@ package de.julsched.beliefchange.sat;
 
 import java.io.IOException;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
+import de.julsched.beliefchange.Application;
 import de.julsched.beliefchange.OptimumFinder;
 import de.julsched.beliefchange.exceptions.EncodingFailureException;
 import de.julsched.beliefchange.instance.BeliefChangeInstance;
+import de.julsched.beliefchange.sat.utils.DiscrepancyClauses;
+import de.julsched.beliefchange.utils.ClauseDatabase;
+import de.julsched.beliefchange.utils.LiteralRemapper;
+import de.julsched.beliefchange.utils.NegatedCnf;
 import de.julsched.beliefchange.utils.Tseitin;
 import de.julsched.beliefchange.values.Distance;
 
 public class ContractionEncoding extends Encoding {
 
-    private HashMap<Integer, List<Integer>> varMap = new HashMap<Integer, List<Integer>>();
-    private List<String> baseClausesNew = new ArrayList<String>();
-    private List<String> changeClausesNew = new ArrayList<String>();
-    private List<String> negatedChangeClauses = new ArrayList<String>(); // Containing original variables + additional ones added by Tseitin method
+    private LiteralRemapper baseVarMap;
+    private LiteralRemapper changeVarMap;
+    private ClauseDatabase baseClausesNew = new ClauseDatabase();
+    private ClauseDatabase changeClausesNew = new ClauseDatabase();
+    private ClauseDatabase negatedChangeClauses; // Containing original variables + additional ones added by Tseitin method
     private int auxiliaryVarsNum;
     private int varNumMaxSat;
     private List<Integer> discrepancyVarsMaxSat = new ArrayList<Integer>();
-    private List<String> discrepancyClausesMaxSat = new ArrayList<String>();
+    private ClauseDatabase discrepancyClausesMaxSat = new ClauseDatabase();
 
 
     public ContractionEncoding(BeliefChangeInstance instance, OptimumFinder optimumFinder, Distance distance) throws IOException {
         super(instance, optimumFinder, distance);
     }
 
-    public HashMap<Integer, List<Integer>> getVarMap() {
-        return this.varMap;
+    public LiteralRemapper getBaseVarMap() {
+        return this.baseVarMap;
     }
 
-    public List<String> getBaseClausesNew() {
+    public LiteralRemapper getChangeVarMap() {
+        return this.changeVarMap;
+    }
+
+    public ClauseDatabase getBaseClausesNew() {
         return this.baseClausesNew;
     }
 
@@ -44,108 +52,51 @@ public class ContractionEncoding extends Encoding {
         return this.discrepancyVarsMaxSat;
     }
 
-    public List<String> getDiscrepancyClausesMaxSat() {
+    public ClauseDatabase getDiscrepancyClausesMaxSat() {
         return this.discrepancyClausesMaxSat;
     }
 
-    public List<String> getNegatedChangeClauses() {
+    public ClauseDatabase getNegatedChangeClauses() {
         return this.negatedChangeClauses;
     }
 
     protected void createVarMap() {
-        String[] dimacsNegation = Tseitin.negateCnfFormula(this.varNum, this.instance.getChangeClauses());
-        if (dimacsNegation[0].equals("tautology")) {
+        NegatedCnf negation = Tseitin.negateCnfFormula(this.varNum, this.instance.getChangeClauses(), Application.negationEncoding);
+        if (negation.isTautology()) {
             throw new EncodingFailureException("Contraction formula is unsatisfiable");
         }
-        if (dimacsNegation[0].equals("unsat")) {
+        if (negation.isUnsatisfiable()) {
             throw new EncodingFailureException("Contraction formula is a tautology");
         }
-        this.varNum = Integer.parseInt(BeliefChangeInstance.extractVarNum(dimacsNegation[0]));
+        this.varNum = negation.getVarNum();
         this.auxiliaryVarsNum = this.varNum - this.instance.getVarNum();
-        for (int i = 1; i < dimacsNegation.length; i++) {
-            this.negatedChangeClauses.add(dimacsNegation[i]);
-        }
+        this.negatedChangeClauses = negation.getClauses();
 
-        for (int v = 1; v <= this.instance.getVarNum(); v++) {
-            List<Integer> vars = new ArrayList<Integer>();
-            vars.add(this.varNum + v);
-            vars.add(this.varNum + v + this.instance.getVarNum());
-            this.varMap.put(v, vars);
-        }
+        this.baseVarMap = new LiteralRemapper(this.instance.getVarNum(), this.varNum);
+        this.changeVarMap = new LiteralRemapper(this.instance.getVarNum(), this.varNum + this.instance.getVarNum());
         this.varNumMaxSat = this.varNum + this.instance.getVarNum();
         this.varNum = this.varNum + (2 * this.instance.getVarNum());
     }
 
     protected void createBasicEncoding() {
         // Replace variables
-        for (String clause : this.instance.getBaseClauses()) {
-            String[] vars = clause.split(" ");
-            StringBuilder alteredClause = new StringBuilder();
-            for (int i = 0; i < vars.length - 1; i++) { // Skip last index (since that is '0')
-                String var = vars[i];
-                String sign = "";
-                if (var.startsWith("-")) {
-                    sign = "-";
-                    var = var.replace("-", "");
-                }
-                alteredClause.append(sign)
-                             .append(this.varMap.get(Integer.parseInt(var)).get(0))
-                             .append(" ");
-            }
-            alteredClause.append("0");
-            this.baseClausesNew.add(alteredClause.toString());
-            this.result.add(alteredClause.toString());
-        }
+        this.baseClausesNew.addAll(this.instance.getBaseClauses(), this.baseVarMap);
+        this.result.addAll(this.baseClausesNew);
 
-        // Replace variables in negated contraction formula
-        this.clauseNum -= this.instance.getChangeClauses().size();
-        for (String newClause : this.negatedChangeClauses) {
-            String[] vars = newClause.split(" ");
-            StringBuilder alteredClause = new StringBuilder();
-            for (int x = 0; x < vars.length - 1; x++) { // Skip last index (since that is '0')
-                String var = vars[x];
-                String sign = "";
-                if (var.startsWith("-")) {
-                    sign = "-";
-                    var = var.replace("-", "");
-                }
-                if (this.varMap.containsKey(Integer.parseInt(var))) {
-                    alteredClause.append(sign)
-                                 .append(this.varMap.get(Integer.parseInt(var)).get(1))
-                                 .append(" ");
-                } else {
-                    alteredClause.append(sign)
-                                 .append(var)
-                                 .append(" ");
-                }
-            }
-            alteredClause.append("0");
-            this.changeClausesNew.add(alteredClause.toString());
-            this.result.add(alteredClause.toString());
-            this.clauseNum++;
-        }
+        // Replace variables in negated contraction formula (auxiliary variables keep their numbers)
+        this.changeClausesNew.addAll(this.negatedChangeClauses, this.changeVarMap);
+        this.clauseNum += this.changeClausesNew.size() - this.instance.getChangeClauses().size();
+        this.result.addAll(this.changeClausesNew);
         this.clauseNumBasicEncoding = this.clauseNum;
     }
 
     protected void createDiscrepancyClauses() {
-        determineDiscrepancyVars(this.varMap.size());
-        List<String> discrepancyClauseTemplates;
-        if (this.distance == Distance.SATOH) {
-            discrepancyClauseTemplates = discrepancyClauseTemplatesExact;
-        } else {
-            discrepancyClauseTemplates = discrepancyClauseTemplatesVague;
-        }
-        int counter = 0;
-        for (Map.Entry<Integer, List<Integer>> entry : this.varMap.entrySet()) {
-            for (String template : discrepancyClauseTemplates) {
-                String clause = template.replaceAll("d", Integer.toString(this.discrepancyVars.get(counter)))
-                                        .replaceAll("x", Integer.toString(entry.getValue().get(0)))
-                                        .replaceAll("y", Integer.toString(entry.getValue().get(1)));
-                this.result.add(clause);
-                this.clauseNum++;
-            }
-            counter++;
+        determineDiscrepancyVars(this.instance.getVarNum());
+        boolean exact = this.distance == Distance.SATOH;
+        for (int v = 1; v <= this.instance.getVarNum(); v++) {
+            DiscrepancyClauses.addClauses(this.result, exact, this.discrepancyVars.get(v - 1), this.baseVarMap.mapVar(v), this.changeVarMap.mapVar(v));
         }
+        this.clauseNum += this.discrepancyVars.size() * DiscrepancyClauses.getClauseNum(exact);
 
         if (this.optimumFinder instanceof MaxSat) {
             createDiscrepancyClausesMaxSat();
@@ -153,26 +104,14 @@ public class ContractionEncoding extends Encoding {
     }
 
     private void createDiscrepancyClausesMaxSat() {
-        for (int i = 1; i <= this.varMap.size(); i++) {
+        for (int i = 1; i <= this.instance.getVarNum(); i++) {
             this.varNumMaxSat++;
             this.discrepancyVarsMaxSat.add(this.varNumMaxSat);
         }
 
-        List<String> discrepancyClauseTemplates;
-        if (this.distance == Distance.SATOH) {
-            discrepancyClauseTemplates = discrepancyClauseTemplatesExact;
-        } else {
-            discrepancyClauseTemplates = discrepancyClauseTemplatesVague;
-        }
-        int counter = 0;
-        for (Map.Entry<Integer, List<Integer>> entry : this.varMap.entrySet()) {
-            for (String template : discrepancyClauseTemplates) {
-                this.discrepancyClausesMaxSat.add(template.replaceAll("d", Integer.toString(this.discrepancyVarsMaxSat.get(counter)))
-                                                          .replaceAll("x", Integer.toString(entry.getKey()))
-                                                          .replaceAll("y", Integer.toString(entry.getValue().get(0))));
-
-            }
-            counter++;
+        boolean exact = this.distance == Distance.SATOH;
+        for (int v = 1; v <= this.instance.getVarNum(); v++) {
+            DiscrepancyClauses.addClauses(this.discrepancyClausesMaxSat, exact, this.discrepancyVarsMaxSat.get(v - 1), v, this.baseVarMap.mapVar(v));
         }
     }
 
@@ -195,226 +134,55 @@ public class ContractionEncoding extends Encoding {
             return;
         }
         this.changeClausesNew = null;
-        List<Integer> beliefBaseVars = new ArrayList<Integer>();
-        for (int i = 1; i <= this.varMap.size(); i++) {
-            this.varNum++;
-            beliefBaseVars.add(this.varNum);
-        }
-        for (String clause : this.instance.getBaseClauses()) {
-            String[] vars = clause.split(" ");
-            StringBuilder alteredClause = new StringBuilder();
-            for (int i = 0; i < vars.length - 1; i++) { // Skip last index (since that is '0')
-                String var = vars[i];
-                String sign = "";
-                if (var.startsWith("-")) {
-                    sign = "-";
-                    var = var.replace("-", "");
-                }
-                alteredClause.append(sign)
-                             .append(beliefBaseVars.get(Integer.parseInt(var) - 1))
-                             .append(" ");
-            }
-            alteredClause.append("0");
-            this.result.add(alteredClause.toString());
-            this.clauseNum++;
-        }
+        LiteralRemapper beliefBaseVarMap = new LiteralRemapper(this.instance.getVarNum(), this.varNum);
+        this.varNum += this.instance.getVarNum();
+        this.result.addAll(this.instance.getBaseClauses(), beliefBaseVarMap);
+        this.clauseNum += this.instance.getBaseClauses().size();
 
 
         // Add clauses to ensure original variables represent the contraction models
-        StringBuilder clause;
-        for (Map.Entry<Integer, List<Integer>> entry1 : this.varMap.entrySet()) {
-            for (Map.Entry<Integer, List<Integer>> entry2 : this.varMap.entrySet()) {
-                if (entry1.getKey().equals(entry2.getKey())) {
-                    continue;
-                }
-                clause = new StringBuilder();
-                clause.append(entry2.getKey())
-                      .append(" -")
-                      .append(beliefBaseVars.get(entry2.getKey() - 1))
-                      .append(" ")
-                      .append(entry1.getKey())
-                      .append(" -")
-                      .append(entry1.getValue().get(1))
-                      .append(" 0");
-                this.result.add(clause.toString());
-                clause = new StringBuilder();
-                clause.append("-")
-                      .append(entry2.getKey())
-                      .append(" ")
-                      .append(beliefBaseVars.get(entry2.getKey() - 1))
-                      .append(" ")
-                      .append(entry1.getKey())
-                      .append(" -")
-                      .append(entry1.getValue().get(1))
-                      .append(" 0");
-                this.result.add(clause.toString());
-
-                clause = new StringBuilder();
-                clause.append(entry2.getKey())
-                      .append(" -")
-                      .append(beliefBaseVars.get(entry2.getKey() - 1))
-                      .append(" -")
-                      .append(entry1.getKey())
-                      .append(" ")
-                      .append(entry1.getValue().get(1))
-                      .append(" 0");
-                this.result.add(clause.toString());
-                clause = new StringBuilder();
-                clause.append("-")
-                      .append(entry2.getKey())
-                      .append(" ")
-                      .append(beliefBaseVars.get(entry2.getKey() - 1))
-                      .append(" -")
-                      .append(entry1.getKey())
-                      .append(" ")
-                      .append(entry1.getValue().get(1))
-                      .append(" 0");
-                this.result.add(clause.toString());
-                this.clauseNum += 4;
-            }
-
-            clause = new StringBuilder();
-            clause.append(entry1.getKey())
-                  .append(" -")
-                  .append(beliefBaseVars.get(entry1.getKey() - 1))
-                  .append(" -")
-                  .append(entry1.getValue().get(1))
-                  .append(" 0");
-            this.result.add(clause.toString());
-
-            clause = new StringBuilder();
-            clause.append("-")
-                  .append(entry1.getKey())
-                  .append(" ")
-                  .append(beliefBaseVars.get(entry1.getKey() - 1))
-                  .append(" ")
-                  .append(entry1.getValue().get(1))
-                  .append(" 0");
-            this.result.add(clause.toString());
-            this.clauseNum += 2;
-        }
+        int clauseNumBefore = this.result.size();
+        addContractionModelClauses(beliefBaseVarMap);
+        this.clauseNum += this.result.size() - clauseNumBefore;
         addParamsLine();
     }
 
     private void createSimpleFinalEncoding() {
-        this.result = new ArrayList<String>();
-        this.result.addAll(this.changeClausesNew);
-        List<Integer> beliefBaseVars = new ArrayList<Integer>();
-        for (int i = (2 * this.instance.getVarNum() + 1); i <= (3 * this.instance.getVarNum()); i++) {
-            beliefBaseVars.add(i);
-        }
-        for (String clause : this.instance.getBaseClauses()) {
-            String[] vars = clause.split(" ");
-            StringBuilder alteredClause = new StringBuilder();
-            for (int i = 0; i < vars.length - 1; i++) { // Skip last index (since that is '0')
-                String var = vars[i];
-                String sign = "";
-                if (var.startsWith("-")) {
-                    sign = "-";
-                    var = var.replace("-", "");
-                }
-                alteredClause.append(sign)
-                             .append(beliefBaseVars.get(Integer.parseInt(var) - 1))
-                             .append(" ");
-            }
-            alteredClause.append("0");
-            this.result.add(alteredClause.toString());
-        }
+        this.result = new ClauseDatabase(this.changeClausesNew);
+        LiteralRemapper beliefBaseVarMap = new LiteralRemapper(this.instance.getVarNum(), 2 * this.instance.getVarNum());
+        this.result.addAll(this.instance.getBaseClauses(), beliefBaseVarMap);
 
         // Add clauses to ensure original variables represent the contraction models
-        StringBuilder clause;
-        for (Map.Entry<Integer, List<Integer>> entry1 : this.varMap.entrySet()) {
-            for (Map.Entry<Integer, List<Integer>> entry2 : this.varMap.entrySet()) {
-                if (entry1.getKey().equals(entry2.getKey())) {
+        addContractionModelClauses(beliefBaseVarMap);
+        this.paramsLine = "p cnf " + (3 * this.instance.getVarNum() + this.auxiliaryVarsNum) + " " + this.result.size();
+    }
+
+    private void addContractionModelClauses(LiteralRemapper beliefBaseVarMap) {
+        for (int var1 = 1; var1 <= this.instance.getVarNum(); var1++) {
+            int beliefBaseVar1 = beliefBaseVarMap.mapVar(var1);
+            int changeVar1 = this.changeVarMap.mapVar(var1);
+            for (int var2 = 1; var2 <= this.instance.getVarNum(); var2++) {
+                if (var1 == var2) {
                     continue;
                 }
-                clause = new StringBuilder();
-                clause.append(entry2.getKey())
-                      .append(" -")
-                      .append(beliefBaseVars.get(entry2.getKey() - 1))
-                      .append(" ")
-                      .append(entry1.getKey())
-                      .append(" -")
-                      .append(entry1.getValue().get(1))
-                      .append(" 0");
-                this.result.add(clause.toString());
-                clause = new StringBuilder();
-                clause.append("-")
-                      .append(entry2.getKey())
-                      .append(" ")
-                      .append(beliefBaseVars.get(entry2.getKey() - 1))
-                      .append(" ")
-                      .append(entry1.getKey())
-                      .append(" -")
-                      .append(entry1.getValue().get(1))
-                      .append(" 0");
-                this.result.add(clause.toString());
-
-                clause = new StringBuilder();
-                clause.append(entry2.getKey())
-                      .append(" -")
-                      .append(beliefBaseVars.get(entry2.getKey() - 1))
-                      .append(" -")
-                      .append(entry1.getKey())
-                      .append(" ")
-                      .append(entry1.getValue().get(1))
-                      .append(" 0");
-                this.result.add(clause.toString());
-                clause = new StringBuilder();
-                clause.append("-")
-                      .append(entry2.getKey())
-                      .append(" ")
-                      .append(beliefBaseVars.get(entry2.getKey() - 1))
-                      .append(" -")
-                      .append(entry1.getKey())
-                      .append(" ")
-                      .append(entry1.getValue().get(1))
-                      .append(" 0");
-                this.result.add(clause.toString());
+                int beliefBaseVar2 = beliefBaseVarMap.mapVar(var2);
+                this.result.addClause(var2, -beliefBaseVar2, var1, -changeVar1);
+                this.result.addClause(-var2, beliefBaseVar2, var1, -changeVar1);
+                this.result.addClause(var2, -beliefBaseVar2, -var1, changeVar1);
+                this.result.addClause(-var2, beliefBaseVar2, -var1, changeVar1);
             }
-
-            clause = new StringBuilder();
-            clause.append(entry1.getKey())
-                  .append(" -")
-                  .append(beliefBaseVars.get(entry1.getKey() - 1))
-                  .append(" -")
-                  .append(entry1.getValue().get(1))
-                  .append(" 0");
-            this.result.add(clause.toString());
-
-            clause = new StringBuilder();
-            clause.append("-")
-                  .append(entry1.getKey())
-                  .append(" ")
-                  .append(beliefBaseVars.get(entry1.getKey() - 1))
-                  .append(" ")
-                  .append(entry1.getValue().get(1))
-                  .append(" 0");
-            this.result.add(clause.toString());
+            this.result.addClause(var1, -beliefBaseVar1, -changeVar1);
+            this.result.addClause(-var1, beliefBaseVar1, changeVar1);
         }
-        this.result.add(0,"p cnf " + (3 * this.instance.getVarNum() + this.auxiliaryVarsNum) + " " + this.result.size());
-        this.result.add(0,"c Belief base variables: " + this.instance.getVarNum());
-        this.result.add("");
     }
 
     protected void createMinimalSetConstraints() {
         if (this.minimalDistanceSetConstraints.size() == 1 && this.minimalDistanceSetConstraints.get(0).equals("0")) {
-            List<String> newResult = new ArrayList<String>();
-            for (int i = 0; i < this.clauseNumBasicEncoding; i++) {
-                newResult.add(this.result.get(i));
-            }
-            this.result = newResult;
-            int counter = 0;
-            for (Map.Entry<Integer, List<Integer>> entry : this.varMap.entrySet()) {
-                for (String template : discrepancyClauseTemplatesVague) {
-                    String clause = template.replaceAll("d", Integer.toString(this.discrepancyVars.get(counter)))
-                                            .replaceAll("x", Integer.toString(entry.getValue().get(0)))
-                                            .replaceAll("y", Integer.toString(entry.getValue().get(1)));
-                    this.result.add(clause);
-                }
-                counter++;
+            this.result.truncate(this.clauseNumBasicEncoding);
+            for (int v = 1; v <= this.instance.getVarNum(); v++) {
+                DiscrepancyClauses.addVague(this.result, this.discrepancyVars.get(v - 1), this.baseVarMap.mapVar(v), this.changeVarMap.mapVar(v));
             }
-            this.clauseNum -= this.discrepancyVars.size() * 2;
+            this.clauseNum -= this.discrepancyVars.size() * (DiscrepancyClauses.clauseNumExact - DiscrepancyClauses.clauseNumVague);
 
 
             // Empty set is the only minimal set
@@ -422,51 +190,6 @@ public class ContractionEncoding extends Encoding {
             return;
         }
         createBinaryCounterClauses();
-        StringBuilder conjunction = new StringBuilder();
-        for (int i = 0; i < this.minimalDistanceSetConstraints.size(); i++) {
-            String constraint = this.minimalDistanceSetConstraints.get(i);
-            conjunction.append("~(");
-            String[] vars = constraint.split(" ");
-            for (int j = 0; j < vars.length; j++) {
-                String var = vars[j];
-                conjunction.append(var);
-                conjunction.append(" & ");
-            }
-
-            conjunction.append("~(");
-            String distanceBinary = Integer.toBinaryString(vars.length);
-            int index = -1;
-            for (int k = distanceBinary.length() - 1; k >= 0; k--) {
-                char bit = distanceBinary.charAt(k);
-                index++;
-                if (bit == '0') {
-                    conjunction.append("~")
-                               .append(this.counterBitsReversed.get(index));
-                } else if (bit == '1') {
-                    conjunction.append(this.counterBitsReversed.get(index));
-                }
-                if (k != 0) {
-                    conjunction.append(" & ");
-                }
-            }
-            for (int k = index + 1; k < this.counterBitsReversed.size(); k++) {
-                conjunction.append(" & ")
-                           .append("~")
-                           .append(this.counterBitsReversed.get(k));
-            }
-            conjunction.append(")");
-
-            conjunction.append(")");
-            if (i != this.minimalDistanceSetConstraints.size() - 1) {
-                conjunction.append(" & ");
-            }
-        }
-
-        String[] cnfClauses = Tseitin.transformToCnf(conjunction.toString(), this.varNum);
-        this.varNum = Integer.parseInt(BeliefChangeInstance.extractVarNum(cnfClauses[0]));
-        for (int i = 1; i < cnfClauses.length; i++) {
-            this.result.add(cnfClauses[i]);
-        }
-        this.clauseNum += cnfClauses.length - 1;
+        createMinimalSetConstraintClauses();
     }
 }
@@ -2,10 +2,9 @@ package de.julsched.beliefchange.sat;
 
 import java.io.IOException;
 import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
-
-import org.apache.commons.lang3.StringUtils;
+import java.util.Map;
 
 import de.julsched.beliefchange.Application;
 import de.julsched.beliefchange.OptimumFinder;
@@ -13,24 +12,13 @@ import de.julsched.beliefchange.exceptions.EncodingFailureException;
 import de.julsched.beliefchange.exceptions.WrongInputException;
 import de.julsched.beliefchange.instance.BeliefChangeInstance;
 import de.julsched.beliefchange.sat.utils.BinaryCounter;
-import de.julsched.beliefchange.utils.Utils;
+import de.julsched.beliefchange.utils.ClauseDatabase;
+import de.julsched.beliefchange.utils.EncodingSink;
 import de.julsched.beliefchange.values.Distance;
 
 
 public abstract class Encoding {
 
-    public static final List<String> discrepancyClauseTemplatesExact = Arrays.asList(new String[] {
-        "d -x y 0",
-        "d x -y 0",
-        "-d -x -y 0",
-        "-d x y 0"
-    });
-
-    public static final List<String> discrepancyClauseTemplatesVague = Arrays.asList(new String[] {
-        "d -x y 0",
-        "d x -y 0"
-    });
-
     protected BeliefChangeInstance instance;
     protected Distance distance;
     protected OptimumFinder optimumFinder;
@@ -47,7 +35,8 @@ public abstract class Encoding {
     protected List<Integer> discrepancyVars = new ArrayList<Integer>();
     protected List<Integer> counterBitsReversed = new ArrayList<Integer>();
 
-    protected List<String> result = new ArrayList<String>();
+    protected ClauseDatabase result = new ClauseDatabase();
+    protected String paramsLine;
 
     protected Encoding(BeliefChangeInstance instance, OptimumFinder optimumFinder, Distance distance) throws IOException {
         this.instance = instance;
@@ -97,7 +86,14 @@ public abstract class Encoding {
             }
             finalizeEncoding();
             System.out.println("[INFO] Writing encoding to file '" + Application.resultFilePath + "'");
-            Utils.writeToFile(StringUtils.join(this.result, "\n"), Application.resultFilePath);
+            try (EncodingSink sink = new EncodingSink(Application.resultFilePath)) {
+                sink.write("c Belief base variables: ")
+                    .write(this.instance.getVarNum())
+                    .write('\n')
+                    .write(this.paramsLine)
+                    .write('\n');
+                sink.writeClauses(this.result);
+            }
         } catch (EncodingFailureException e) {
             throw e;
         } catch (Exception e) {
@@ -134,18 +130,14 @@ public abstract class Encoding {
     protected void createZeroDistanceConstraintClauses() {
         for (int i = 0; i < this.discrepancyVars.size(); i++) {
             int discrepancyVar = this.discrepancyVars.get(i);
-            StringBuilder finalConstraint = new StringBuilder();
-            finalConstraint.append("-")
-                           .append(discrepancyVar)
-                           .append(" 0");
-            this.result.add(finalConstraint.toString());
+            this.result.addClause(-discrepancyVar);
             this.clauseNum++;
         }
     }
 
     protected void createBinaryCounterClauses() {
         BinaryCounter binaryCounter = new BinaryCounter();
-        List<String> encoding = binaryCounter.createEncoding(this.discrepancyVars);
+        ClauseDatabase encoding = binaryCounter.createClauses(this.discrepancyVars);
         this.counterBitsReversed = binaryCounter.getCounterBitsReversed();
         this.varNum = binaryCounter.getNumMax();
         this.result.addAll(encoding);
@@ -155,27 +147,18 @@ public abstract class Encoding {
     private void createDistanceConstraintClauses() {
         String minDistanceBinary = Integer.toBinaryString(Integer.parseInt(this.minDistance));
         int index = -1;
-        StringBuilder clause;
         for (int i = minDistanceBinary.length() - 1; i >= 0; i--) {
             char bit = minDistanceBinary.charAt(i);
             index++;
             if (bit == '0') {
-                clause = new StringBuilder("-")
-                            .append(this.counterBitsReversed.get(index))
-                            .append(" 0");
-                this.result.add(clause.toString());
+                this.result.addClause(-this.counterBitsReversed.get(index));
             } else if (bit == '1') {
-                clause = new StringBuilder(Integer.toString(this.counterBitsReversed.get(index)))
-                            .append(" 0");
-                this.result.add(clause.toString());
+                this.result.addClause(this.counterBitsReversed.get(index));
             }
             this.clauseNum++;
         }
         for (int i = index + 1; i < this.counterBitsReversed.size(); i++) {
-            clause = new StringBuilder("-")
-                        .append(this.counterBitsReversed.get(i))
-                        .append(" 0");
-            this.result.add(clause.toString());
+            this.result.addClause(-this.counterBitsReversed.get(i));
             this.clauseNum++;
         }
     }
@@ -183,9 +166,7 @@ public abstract class Encoding {
     protected abstract void finalizeEncoding();
 
     protected void addParamsLine() {
-        this.result.add(0, "p cnf " + this.varNum + " " + this.clauseNum);
-        this.result.add(0, "c Belief base variables: " + this.instance.getVarNum());
-        this.result.add("");
+        this.paramsLine = "p cnf " + this.varNum + " " + this.clauseNum;
     }
 
     private void findMinimalDistanceSetConstraints() {
@@ -232,4 +213,30 @@ public abstract class Encoding {
     }
 
     protected abstract void createMinimalSetConstraints();
+
+    // Every minimal set S requires the counter to equal |S| once all its discrepancy variables are true:
+    // ~d1 v ... v ~dk v e(k), where e(k) implies the counter bits of k. As e(k) only occurs positively,
+    // the implication suffices, and it is shared by all minimal sets of the same size.
+    protected void createMinimalSetConstraintClauses() {
+        Map<Integer, Integer> sizeVars = new HashMap<>();
+        for (String constraint : this.minimalDistanceSetConstraints) {
+            String[] vars = constraint.split(" ");
+            Integer sizeVar = sizeVars.get(vars.length);
+            if (sizeVar == null) {
+                sizeVar = ++this.varNum;
+                sizeVars.put(vars.length, sizeVar);
+                for (int index = 0; index < this.counterBitsReversed.size(); index++) {
+                    int counterBit = this.counterBitsReversed.get(index);
+                    this.result.addClause(-sizeVar, (vars.length >> index & 1) == 1 ? counterBit : -counterBit);
+                    this.clauseNum++;
+                }
+            }
+            for (String var : vars) {
+                this.result.addLiteral(-Integer.parseInt(var));
+            }
+            this.result.addLiteral(sizeVar);
+            this.result.endClause();
+            this.clauseNum++;
+        }
+    }
 }
@@ -0,0 +1,63 @@
+package de.julsched.beliefchange.sat;
+
+import java.util.List;
+
+import org.logicng.collections.LNGIntVector;
+import org.logicng.solvers.maxsat.algorithms.MaxSAT;
+import org.logicng.solvers.maxsat.algorithms.MaxSAT.MaxSATResult;
+import org.logicng.solvers.maxsat.algorithms.MaxSAT.ProblemType;
+import org.logicng.solvers.maxsat.algorithms.OLL;
+
+import de.julsched.beliefchange.Application;
+import de.julsched.beliefchange.exceptions.MinDistanceException;
+import de.julsched.beliefchange.utils.ClauseDatabase;
+import de.julsched.beliefchange.utils.LogicNGSolver;
+import de.julsched.beliefchange.values.Distance;
+
+// Solves the partial MaxSAT problems within the JVM using LogicNG's OLL algorithm instead of MaxHS
+public class LogicNGMaxSat extends MaxSat {
+
+    public LogicNGMaxSat(Distance distance) {
+        super(distance);
+    }
+
+    @Override
+    protected String solveOptimum(ClauseDatabase clauses, int varNum, List<Integer> discrepancyVars) {
+        System.out.println("[INFO] Start solver call");
+        Application.solverCallsStartTime = System.currentTimeMillis();
+        MaxSAT solver = createSolver(clauses, varNum, discrepancyVars);
+        MaxSATResult result = solver.search();
+        Application.solverCallsEndTime = System.currentTimeMillis();
+        System.out.println("[INFO] Finished solver call");
+
+        if (result != MaxSATResult.OPTIMUM) {
+            throw new MinDistanceException("Belief base or belief change formula might be unsatisfiable / change formula might be a tautology");
+        }
+        return Integer.toString(solver.result());
+    }
+
+    // Hard clauses and one soft clause '-d' per discrepancy variable, see MaxSat.writeEncoding()
+    private MaxSAT createSolver(ClauseDatabase clauses, int varNum, List<Integer> discrepancyVars) {
+        MaxSAT solver = new OLL();
+        for (int v = 0; v < varNum; v++) {
+            solver.newVar();
+        }
+        for (int c = 0; c < clauses.size(); c++) {
+            LNGIntVector clause = new LNGIntVector(clauses.getClauseLength(c));
+            for (int i = clauses.getClauseStart(c); i < clauses.getClauseEnd(c); i++) {
+                clause.push(LogicNGSolver.toSolverLiteral(clauses.getLiteral(i)));
+            }
+            solver.addHardClause(clause);
+        }
+        // All soft clauses have weight 1
+        solver.setCurrentWeight(1);
+        for (int d : discrepancyVars) {
+            LNGIntVector clause = new LNGIntVector(1);
+            clause.push(LogicNGSolver.toSolverLiteral(-d));
+            solver.updateSumWeights(1);
+            solver.addSoftClause(1, clause);
+        }
+        solver.setProblemType(ProblemType.UNWEIGHTED);
+        return solver;
+    }
+}
@@ -0,0 +1,103 @@
+package de.julsched.beliefchange.sat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.logicng.collections.LNGBooleanVector;
+import org.logicng.collections.LNGIntVector;
+import org.logicng.datastructures.Tristate;
+import org.logicng.solvers.sat.MiniSat2Solver;
+import org.logicng.solvers.sat.MiniSatStyleSolver;
+
+import de.julsched.beliefchange.utils.ClauseDatabase;
+import de.julsched.beliefchange.utils.LogicNGSolver;
+
+// Enumerates the subset-minimal sets of discrepancy variables that are true in some model of the clauses, ordered by
+// size like the repeated MaxSAT calls. One solver is kept alive: every set found is excluded by a blocking clause and
+// the size is bounded by an assumption on a sequential counter, which gets another column whenever the bound grows
+public class MinimalSetEnumerator {
+
+    private MiniSatStyleSolver solver = new MiniSat2Solver();
+    private List<Integer> discrepancyVars;
+    private List<int[]> counterColumns = new ArrayList<>(); // Column j - 1, position i: at least j of the first i + 1 are true
+    private int varNum;
+    private int bound;
+    private boolean exhausted;
+
+    public MinimalSetEnumerator(ClauseDatabase clauses, int varNum, List<Integer> discrepancyVars) {
+        this.discrepancyVars = discrepancyVars;
+        this.varNum = Math.max(varNum, clauses.getMaxVar());
+        for (int v = 0; v < this.varNum; v++) {
+            this.solver.newVar(true, true);
+        }
+        for (int c = 0; c < clauses.size() && !this.exhausted; c++) {
+            LNGIntVector clause = new LNGIntVector(clauses.getClauseLength(c));
+            for (int i = clauses.getClauseStart(c); i < clauses.getClauseEnd(c); i++) {
+                clause.push(LogicNGSolver.toSolverLiteral(clauses.getLiteral(i)));
+            }
+            this.exhausted = !this.solver.addClause(clause, null);
+        }
+    }
+
+    // Returns the positions (starting at 1) of the discrepancy variables of the next minimal set or null if there is none
+    public List<Integer> next() {
+        while (!this.exhausted) {
+            LNGIntVector assumptions = new LNGIntVector(1);
+            if (this.bound < this.discrepancyVars.size()) {
+                if (this.counterColumns.size() <= this.bound) {
+                    addCounterColumn();
+                }
+                int[] column = this.counterColumns.get(this.bound);
+                assumptions.push(LogicNGSolver.toSolverLiteral(-column[column.length - 1]));
+            }
+            if (this.solver.solve(null, assumptions) == Tristate.TRUE) {
+                LNGBooleanVector model = this.solver.model();
+                List<Integer> minimalSet = new ArrayList<>();
+                LNGIntVector blockingClause = new LNGIntVector();
+                for (int i = 0; i < this.discrepancyVars.size(); i++) {
+                    int discrepancyVar = this.discrepancyVars.get(i);
+                    if (model.get(discrepancyVar - 1)) {
+                        minimalSet.add(i + 1);
+                        blockingClause.push(LogicNGSolver.toSolverLiteral(-discrepancyVar));
+                    }
+                }
+                // Empty set is a subset of every other set
+                this.exhausted = minimalSet.isEmpty() || !this.solver.addClause(blockingClause, null);
+                return minimalSet;
+            }
+            if (this.bound >= this.discrepancyVars.size() || this.solver.solve(null) != Tristate.TRUE) {
+                this.exhausted = true;
+            } else {
+                this.bound++;
+            }
+        }
+        return null;
+    }
+
+    private void addCounterColumn() {
+        int[] previousColumn = this.counterColumns.isEmpty() ? null : this.counterColumns.get(this.counterColumns.size() - 1);
+        int[] column = new int[this.discrepancyVars.size()];
+        for (int i = 0; i < column.length; i++) {
+            this.solver.newVar(true, true);
+            column[i] = ++this.varNum;
+            int discrepancyVar = this.discrepancyVars.get(i);
+            if (previousColumn == null) {
+                addClause(-discrepancyVar, column[i]);
+            } else if (i > 0) {
+                addClause(-discrepancyVar, -previousColumn[i - 1], column[i]);
+            }
+            if (i > 0) {
+                addClause(-column[i - 1], column[i]);
+            }
+        }
+        this.counterColumns.add(column);
+    }
+
+    private void addClause(int... literals) {
+        LNGIntVector clause = new LNGIntVector(literals.length);
+        for (int literal : literals) {
+            clause.push(LogicNGSolver.toSolverLiteral(literal));
+        }
+        this.solver.addClause(clause, null);
+    }
+}
@@ -1,73 +1,41 @@
 package de.julsched.beliefchange.sat;
 
 import java.io.IOException;
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
 
 import de.julsched.beliefchange.OptimumFinder;
 import de.julsched.beliefchange.instance.BeliefChangeInstance;
-import de.julsched.beliefchange.utils.Tseitin;
+import de.julsched.beliefchange.sat.utils.DiscrepancyClauses;
+import de.julsched.beliefchange.utils.ClauseDatabase;
+import de.julsched.beliefchange.utils.LiteralRemapper;
 import de.julsched.beliefchange.values.Distance;
 
 public class RevisionEncoding extends Encoding {
 
-    private HashMap<Integer, Integer> varMap = new HashMap<Integer, Integer>();
+    private LiteralRemapper varMap;
 
     public RevisionEncoding(BeliefChangeInstance instance, OptimumFinder optimumFinder, Distance distance) throws IOException {
         super(instance, optimumFinder, distance);
     }
 
     protected void createVarMap() {
-        for (int v = 1; v <= this.varNum; v++) {
-            this.varMap.put(v, this.varNum + v);
-        }
+        this.varMap = new LiteralRemapper(this.varNum, this.varNum);
         this.varNum = this.varNum * 2;
     }
 
     protected void createBasicEncoding() {
         // Replace variables
-        for (String clause : this.instance.getBaseClauses()) {
-            String[] vars = clause.split(" ");
-            StringBuilder alteredClause = new StringBuilder();
-            for (int i = 0; i < vars.length - 1; i++) { // Skip last index (since that is '0')
-                String var = vars[i];
-                String sign = "";
-                if (var.startsWith("-")) {
-                    sign = "-";
-                    var = var.replace("-", "");
-                }
-                alteredClause.append(sign)
-                             .append(this.varMap.get(Integer.parseInt(var)))
-                             .append(" ");
-            }
-            alteredClause.append("0");
-            this.result.add(alteredClause.toString());
-        }
+        this.result.addAll(this.instance.getBaseClauses(), this.varMap);
         this.result.addAll(this.instance.getChangeClauses());
         this.clauseNumBasicEncoding = this.instance.getBaseClauses().size() + this.instance.getChangeClauses().size();
     }
 
     protected void createDiscrepancyClauses() {
-        determineDiscrepancyVars(this.varMap.size());
-        List<String> discrepancyClauseTemplates;
-        if (this.distance == Distance.SATOH) {
-            discrepancyClauseTemplates = discrepancyClauseTemplatesExact;
-        } else {
-            discrepancyClauseTemplates = discrepancyClauseTemplatesVague;
+        determineDiscrepancyVars(this.varMap.getMappedVarNum());
+        boolean exact = this.distance == Distance.SATOH;
+        for (int v = 1; v <= this.varMap.getMappedVarNum(); v++) {
+            DiscrepancyClauses.addClauses(this.result, exact, this.discrepancyVars.get(v - 1), v, this.varMap.mapVar(v));
         }
-        int counter = 0;
-        for (Map.Entry<Integer, Integer> entry : this.varMap.entrySet()) {
-            for (String template : discrepancyClauseTemplates) {
-                String clause = template.replaceAll("d", Integer.toString(this.discrepancyVars.get(counter)))
-                                        .replaceAll("x", Integer.toString(entry.getKey()))
-                                        .replaceAll("y", Integer.toString(entry.getValue()));
-                this.result.add(clause);
-            }
-            counter++;
-        }
-        this.clauseNum += this.discrepancyVars.size() * discrepancyClauseTemplates.size();
+        this.clauseNum += this.discrepancyVars.size() * DiscrepancyClauses.getClauseNum(exact);
     }
 
     protected void determineMinDistance() {
@@ -88,88 +56,31 @@ public class RevisionEncoding extends Encoding {
     }
 
     private void createSimpleFinalEncoding() {
-        this.result = new ArrayList<String>();
-        this.result.add("c Belief base variables: " + this.instance.getVarNum());
-        this.result.add("p cnf " + this.instance.getVarNum() + " " + this.instance.getChangeClauses().size());
-        this.result.addAll(this.instance.getChangeClauses());
-        this.result.add("");
+        this.result = new ClauseDatabase(this.instance.getChangeClauses());
+        this.paramsLine = "p cnf " + this.instance.getVarNum() + " " + this.instance.getChangeClauses().size();
     }
 
     protected void createMinimalSetConstraints() {
         if (this.minimalDistanceSetConstraints.size() == 1 && this.minimalDistanceSetConstraints.get(0).equals("0")) {
-            List<String> newResult = new ArrayList<String>();
-            for (int i = 0; i < this.clauseNumBasicEncoding; i++) {
-                newResult.add(this.result.get(i));
+            this.result.truncate(this.clauseNumBasicEncoding);
+            for (int v = 1; v <= this.varMap.getMappedVarNum(); v++) {
+                DiscrepancyClauses.addVague(this.result, this.discrepancyVars.get(v - 1), v, this.varMap.mapVar(v));
             }
-            this.result = newResult;
-            int counter = 0;
-            for (Map.Entry<Integer, Integer> entry : this.varMap.entrySet()) {
-                for (String template : discrepancyClauseTemplatesVague) {
-                    String clause = template.replaceAll("d", Integer.toString(this.discrepancyVars.get(counter)))
-                                            .replaceAll("x", Integer.toString(entry.getKey()))
-                                            .replaceAll("y", Integer.toString(entry.getValue()));
-                    this.result.add(clause);
-                }
-                counter++;
-            }
-            this.clauseNum -= this.discrepancyVars.size() * 2;
+            this.clauseNum -= this.discrepancyVars.size() * (DiscrepancyClauses.clauseNumExact - DiscrepancyClauses.clauseNumVague);
 
             // Empty set is the only minimal set
             createZeroDistanceConstraintClauses();
             return;
         }
         createBinaryCounterClauses();
-        StringBuilder conjunction = new StringBuilder();
-        for (int i = 0; i < this.minimalDistanceSetConstraints.size(); i++) {
-            String constraint = this.minimalDistanceSetConstraints.get(i);
-            conjunction.append("~(");
-            String[] vars = constraint.split(" ");
-            for (int j = 0; j < vars.length; j++) {
-                String var = vars[j];
-                conjunction.append(var);
-                conjunction.append(" & ");
-            }
-
-            conjunction.append("~(");
-            String distanceBinary = Integer.toBinaryString(vars.length);
-            int index = -1;
-            for (int k = distanceBinary.length() - 1; k >= 0; k--) {
-                char bit = distanceBinary.charAt(k);
-                index++;
-                if (bit == '0') {
-                    conjunction.append("~" + this.counterBitsReversed.get(index));
-                } else if (bit == '1') {
-                    conjunction.append(this.counterBitsReversed.get(index));
-                }
-                if (k != 0) {
-                    conjunction.append(" & ");
-                }
-            }
-            for (int k = index + 1; k < this.counterBitsReversed.size(); k++) {
-                conjunction.append(" & ");
-                conjunction.append("~"+ this.counterBitsReversed.get(k));
-            }
-            conjunction.append(")");
-
-            conjunction.append(")");
-            if (i != this.minimalDistanceSetConstraints.size() - 1) {
-                conjunction.append(" & ");
-            }
-        }
-
-        String[] cnfClauses = Tseitin.transformToCnf(conjunction.toString(), this.varNum);
-        this.varNum = Integer.parseInt(BeliefChangeInstance.extractVarNum(cnfClauses[0]));
-        for (int i = 1; i < cnfClauses.length; i++) {
-            this.result.add(cnfClauses[i]);
-        }
-        this.clauseNum += cnfClauses.length - 1;
+        createMinimalSetConstraintClauses();
     }
 
-    public HashMap<Integer, Integer> getVarMap() {
+    public LiteralRemapper getVarMap() {
         return this.varMap;
     }
 
-    public List<String> getResult() {
+    public ClauseDatabase getResult() {
         return this.result;
     }
 }
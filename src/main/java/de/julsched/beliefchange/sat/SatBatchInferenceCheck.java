@@ -0,0 +1,48 @@
+package de.julsched.beliefchange.sat;
+
+import java.io.File;
+import java.io.IOException;
+
+import de.julsched.beliefchange.Application;
+import de.julsched.beliefchange.exceptions.WrongInstanceFormatException;
+import de.julsched.beliefchange.instance.InferenceQueryReader;
+import de.julsched.beliefchange.utils.ClauseDatabase;
+import de.julsched.beliefchange.utils.ThroughputCounter;
+
+public class SatBatchInferenceCheck extends SatCheck {
+
+    private File instanceFile;
+
+    public SatBatchInferenceCheck(File encodingFile, boolean properValidation, File instanceFile) {
+        super(encodingFile, properValidation);
+        this.instanceFile = instanceFile;
+    }
+
+    public void execute() throws IOException, InterruptedException {
+        System.out.println("[INFO] Start batch inference check");
+        Application.inferenceCheckStartTime = System.currentTimeMillis();
+
+        // The encoding is loaded once, the negation of every formula is added guarded by its own selector
+        SatQuerySession session = createQuerySession(Application.satBackend, Application.negationEncoding);
+        ThroughputCounter counter = new ThroughputCounter("Batch inference check", "formulas");
+        counter.start();
+        Application.solverCallsStartTime = System.currentTimeMillis();
+        int formulaNum = 0;
+        try (InferenceQueryReader reader = new InferenceQueryReader(this.instanceFile)) {
+            ClauseDatabase formula;
+            while ((formula = reader.next()) != null) {
+                formulaNum = reader.getFormulaNum();
+                if (formula.getMaxVar() > this.encodingModelVarNum) {
+                    throw new WrongInstanceFormatException("Formula " + formulaNum + " is not a valid inference formula: variables not consistent with provided encoding");
+                }
+                System.out.println("[INFO] Inference result " + formulaNum + ": " + (session.isInferred(formula) ? "TRUE" : "FALSE"));
+            }
+        }
+        Application.solverCallsEndTime = System.currentTimeMillis();
+        counter.stop(formulaNum);
+        counter.print();
+
+        Application.inferenceCheckEndTime = System.currentTimeMillis();
+        System.out.println("[INFO] Finished batch inference check");
+    }
+}
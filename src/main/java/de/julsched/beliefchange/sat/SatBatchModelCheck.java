@@ -0,0 +1,50 @@
+package de.julsched.beliefchange.sat;
+
+import java.io.File;
+import java.io.IOException;
+
+import de.julsched.beliefchange.Application;
+import de.julsched.beliefchange.exceptions.WrongInstanceFormatException;
+import de.julsched.beliefchange.instance.ModelQueryReader;
+import de.julsched.beliefchange.utils.ClauseDatabase;
+import de.julsched.beliefchange.utils.ThroughputCounter;
+
+public class SatBatchModelCheck extends SatCheck {
+
+    private File instanceFile;
+
+    public SatBatchModelCheck(File encodingFile, boolean properValidation, File instanceFile) {
+        super(encodingFile, properValidation);
+        this.instanceFile = instanceFile;
+    }
+
+    public void execute() throws IOException, InterruptedException {
+        System.out.println("[INFO] Start batch model check");
+        Application.modelCheckStartTime = System.currentTimeMillis();
+        checkModels(this.encodingVarNum, this.encodingClauses, this.encodingModelVarNum, this.instanceFile);
+        Application.modelCheckEndTime = System.currentTimeMillis();
+        System.out.println("[INFO] Finished batch model check");
+    }
+
+    // The clauses are loaded once to answer all interpretations
+    public static void checkModels(int varNum, ClauseDatabase clauses, int modelVarNum, File instanceFile) throws IOException, InterruptedException {
+        SatQuerySession session = new SatQuerySession(varNum, clauses, modelVarNum, Application.satBackend, Application.negationEncoding);
+        ThroughputCounter counter = new ThroughputCounter("Batch model check", "models");
+        counter.start();
+        Application.solverCallsStartTime = System.currentTimeMillis();
+        int modelNum = 0;
+        try (ModelQueryReader reader = new ModelQueryReader(instanceFile)) {
+            int[] model;
+            while ((model = reader.next()) != null) {
+                modelNum = reader.getModelNum();
+                if (model.length != modelVarNum) {
+                    throw new WrongInstanceFormatException("Model " + modelNum + " is not a valid model: variables not consistent with provided encoding");
+                }
+                System.out.println("[INFO] Model result " + modelNum + ": " + (session.isModel(model) ? "TRUE" : "FALSE"));
+            }
+        }
+        Application.solverCallsEndTime = System.currentTimeMillis();
+        counter.stop(modelNum);
+        counter.print();
+    }
+}
@@ -1,27 +1,28 @@
 package de.julsched.beliefchange.sat;
 
-import java.io.BufferedReader;
 import java.io.File;
 import java.io.FileNotFoundException;
-import java.io.FileReader;
 import java.io.IOException;
-import java.util.ArrayList;
-import java.util.List;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
+import de.julsched.beliefchange.Application;
 import de.julsched.beliefchange.exceptions.ValidationException;
 import de.julsched.beliefchange.exceptions.WrongEncodingFormatException;
 import de.julsched.beliefchange.exceptions.WrongInputException;
 import de.julsched.beliefchange.exceptions.WrongInstanceFormatException;
-import de.julsched.beliefchange.utils.CaDiCal;
+import de.julsched.beliefchange.utils.ClauseDatabase;
+import de.julsched.beliefchange.utils.DimacsScanner;
+import de.julsched.beliefchange.utils.SatSolver;
+import de.julsched.beliefchange.values.NegationEncoding;
+import de.julsched.beliefchange.values.SatBackend;
 
 public class SatCheck {
 
     private static final Pattern commentLineRegex = Pattern.compile("^c\\sBelief\\sbase\\svariables:\\s(?<varNum>[1-9][0-9]*)$");
     private static final Pattern paramLineRegex = Pattern.compile("^p\\scnf\\s(?<varNum>[1-9][0-9]*)\\s(?<clauseNum>[1-9][0-9]*)$");
 
-    protected List<String> encodingLines = new ArrayList<>();
+    protected ClauseDatabase encodingClauses;
     protected int encodingVarNum;
     protected int encodingClauseNum;
     protected int encodingModelVarNum;
@@ -29,42 +30,53 @@ public class SatCheck {
     public SatCheck(File encodingFile, boolean properValidation) {
         validateEncodingFormat(encodingFile);
         if (properValidation) {
-            try {
-                Process process = CaDiCal.execute(encodingFile.getAbsolutePath());
-                if (!CaDiCal.isSatisfiable(process)) {
-                    throw new ValidationException("Encoding is unsatisfiable");
-                }
-                System.out.println("[INFO] Encoding is satisfiable");
-                System.out.println("-".repeat(100));
-            } catch (ValidationException e) {
-                throw e;
-            } catch (Exception e) {
-                throw new ValidationException("Failed to validate encoding", e);
+            validateSatisfiability(Application.satBackend, this.encodingVarNum, this.encodingClauses);
+        }
+    }
+
+    static void validateSatisfiability(SatBackend backend, int varNum, ClauseDatabase clauses) {
+        try {
+            SatSolver solver = SatSolver.create(backend);
+            if (!solver.isSatisfiable(varNum, clauses)) {
+                throw new ValidationException("Encoding is unsatisfiable");
             }
+            System.out.println("[INFO] Encoding is satisfiable");
+            System.out.println("-".repeat(100));
+        } catch (ValidationException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new ValidationException("Failed to validate encoding", e);
         }
     }
 
+    public SatQuerySession createQuerySession(SatBackend backend, NegationEncoding negationEncoding) {
+        return new SatQuerySession(this.encodingVarNum, this.encodingClauses, this.encodingModelVarNum, backend, negationEncoding);
+    }
+
     protected void validateEncodingFormat(File encodingFile) {
         System.out.println("[INFO] Validate format of encoding file '" + encodingFile.getPath() + "'");
-        try (BufferedReader reader = new BufferedReader(new FileReader(encodingFile));) {
-            String line = reader.readLine();
-            while (line != null) {
-                if (!line.isBlank()) {
-                    String prettyLine = line.replaceAll("\s+", " ").trim();
-                    if (!prettyLine.startsWith("c")) {
-                        this.encodingLines.add(prettyLine);
-                    }
-                    Matcher matcher = commentLineRegex.matcher(prettyLine);
+        boolean hasProperContent = false;
+        this.encodingClauses = new ClauseDatabase();
+        try (DimacsScanner scanner = new DimacsScanner(encodingFile)) {
+            while (scanner.nextLine()) {
+                if (scanner.startsWith('c')) {
+                    Matcher matcher = commentLineRegex.matcher(scanner.readLine());
                     if (matcher.matches()) {
                         this.encodingModelVarNum = Integer.parseInt(matcher.group("varNum"));
                     }
-                    matcher = paramLineRegex.matcher(prettyLine);
+                    continue;
+                }
+                if (!hasProperContent) {
+                    // First line is the parameter line
+                    hasProperContent = true;
+                    Matcher matcher = paramLineRegex.matcher(scanner.readLine());
                     if (matcher.matches()) {
                         this.encodingVarNum = Integer.parseInt(matcher.group("varNum"));
                         this.encodingClauseNum = Integer.parseInt(matcher.group("clauseNum"));
                     }
+                } else if (!scanner.readClause(this.encodingClauses)) {
+                    throw new WrongEncodingFormatException("Line " + scanner.getLineNumber() + ": invalid clause");
                 }
-                line = reader.readLine();
             }
         } catch (FileNotFoundException e) {
             throw new WrongInputException("Provided encoding file '" + encodingFile.getPath() + "' does not exist");
@@ -72,7 +84,7 @@ public class SatCheck {
             throw new WrongInstanceFormatException("Provided encoding in file '"+ encodingFile.getPath() + "' cannot be read");
         }
 
-        if (this.encodingLines.size() == 0) {
+        if (!hasProperContent) {
             throw new WrongEncodingFormatException("Encoding file is empty");
         }
         if (this.encodingModelVarNum == 0) {
@@ -2,21 +2,18 @@ package de.julsched.beliefchange.sat;
 
 import java.io.File;
 import java.io.IOException;
-import java.util.ArrayList;
-import java.util.List;
 
-import org.apache.commons.lang3.StringUtils;
+import org.logicng.datastructures.Tristate;
 
 import de.julsched.beliefchange.Application;
 import de.julsched.beliefchange.exceptions.WrongInstanceFormatException;
 import de.julsched.beliefchange.instance.ModelCheckInstance;
-import de.julsched.beliefchange.utils.CaDiCal;
-import de.julsched.beliefchange.utils.Utils;
+import de.julsched.beliefchange.utils.ClauseDatabase;
+import de.julsched.beliefchange.utils.SatSolver;
+import de.julsched.beliefchange.utils.UnitPropagator;
 
 public class SatModelCheck extends SatCheck {
 
-    private static final String modelEncodingFileName = Application.dirInterimResults + "/sat-model-check.cnf";
-
     private ModelCheckInstance instance;
 
     public SatModelCheck(File encodingFile, boolean properValidation, ModelCheckInstance instance) {
@@ -31,37 +28,34 @@ public class SatModelCheck extends SatCheck {
         System.out.println("[INFO] Start model check");
         Application.modelCheckStartTime = System.currentTimeMillis();
 
-        List<String> modelEncodingClauses = new ArrayList<String>();
-        int newClauseNum = this.encodingClauseNum;
-        String[] modelVars = instance.getModel().split(" ");
-        StringBuilder clause;
-        for (int i = 0; i <= modelVars.length - 1; i++) {
-            newClauseNum++;
-            clause = new StringBuilder(modelVars[i])
-                        .append(" 0");
-            modelEncodingClauses.add(clause.toString());
+        if (checkModel(this.encodingVarNum, this.encodingClauses, instance.getModelLiterals())) {
+            System.out.println("[INFO] Model result: TRUE");
+        } else {
+            System.out.println("[INFO] Model result: FALSE");
         }
 
-        modelEncodingClauses.add(0, "p cnf " + this.encodingVarNum + " " + newClauseNum);
-        for (int i = 1; i < this.encodingLines.size(); i++) {
-            modelEncodingClauses.add(this.encodingLines.get(i));
+        Application.modelCheckEndTime = System.currentTimeMillis();
+        System.out.println("[INFO] Finished model check");
+    }
+
+    // Returns whether the model can be extended to a model of the clauses. Almost all remaining variables of an
+    // encoding are determined by the original ones, so the solver is only needed if propagating the model leaves
+    // clauses undecided, and only for these clauses.
+    public static boolean checkModel(int varNum, ClauseDatabase clauses, int[] model) throws IOException, InterruptedException {
+        UnitPropagator propagator = new UnitPropagator(varNum, clauses);
+        Tristate propagation = propagator.propagate(model);
+        if (propagation != Tristate.UNDEF) {
+            System.out.println("[INFO] Model determined by unit propagation");
+            return propagation == Tristate.TRUE;
         }
-        modelEncodingClauses.add("");
+        ClauseDatabase residualClauses = propagator.getResidualClauses();
 
-        Utils.writeToFile(StringUtils.join(modelEncodingClauses, "\n"), modelEncodingFileName);
+        SatSolver solver = SatSolver.create(Application.satBackend);
         System.out.println("[INFO] Start solver call");
         Application.solverCallsStartTime = System.currentTimeMillis();
-        Process process = CaDiCal.execute(modelEncodingFileName);
+        boolean satisfiable = solver.isSatisfiable(propagator.getVarNum(), residualClauses);
         Application.solverCallsEndTime = System.currentTimeMillis();
         System.out.println("[INFO] Finished solver call");
-
-        if (CaDiCal.isSatisfiable(process)) {
-            System.out.println("[INFO] Model result: TRUE");
-        } else {
-            System.out.println("[INFO] Model result: FALSE");
-        }
-
-        Application.modelCheckEndTime = System.currentTimeMillis();
-        System.out.println("[INFO] Finished model check");
+        return satisfiable;
     }
 }
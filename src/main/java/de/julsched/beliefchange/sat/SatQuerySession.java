@@ -0,0 +1,95 @@
+package de.julsched.beliefchange.sat;
+
+import java.io.IOException;
+
+import org.logicng.datastructures.Tristate;
+
+import de.julsched.beliefchange.utils.ClauseDatabase;
+import de.julsched.beliefchange.utils.IncrementalSolver;
+import de.julsched.beliefchange.utils.NegatedCnf;
+import de.julsched.beliefchange.utils.QuerySession;
+import de.julsched.beliefchange.utils.SatSolver;
+import de.julsched.beliefchange.utils.Tseitin;
+import de.julsched.beliefchange.utils.UnitPropagator;
+import de.julsched.beliefchange.values.NegationEncoding;
+import de.julsched.beliefchange.values.SatBackend;
+
+// Keeps the clauses of an encoding loaded in one incremental solver. Models are propagated first and only solved
+// under the assumption of their literals if clauses remain undecided, the negation of an inference formula is added
+// guarded by its own selector. Backends running outside the JVM are called with the clauses of every query instead.
+// Checks of one session run one at a time.
+public class SatQuerySession implements QuerySession {
+
+    // Retired clauses and their variables stay in the solver, so it is loaded again after this many inference checks
+    private static final int maxRetiredSelectors = 1000;
+
+    private int varNum;
+    private ClauseDatabase clauses;
+    private int modelVarNum;
+    private SatBackend backend;
+    private NegationEncoding negationEncoding;
+    private UnitPropagator propagator;
+    private IncrementalSolver solver;
+    private int retiredSelectors;
+    private boolean validated;
+
+    public SatQuerySession(int varNum, ClauseDatabase clauses, int modelVarNum, SatBackend backend,
+                           NegationEncoding negationEncoding) {
+        this.varNum = varNum;
+        this.clauses = clauses;
+        this.modelVarNum = modelVarNum;
+        this.backend = backend;
+        this.negationEncoding = negationEncoding;
+        this.propagator = new UnitPropagator(varNum, clauses);
+        if (backend.isInProcess()) {
+            this.solver = new IncrementalSolver(backend, varNum, clauses);
+        }
+    }
+
+    public int getModelVarNum() {
+        return this.modelVarNum;
+    }
+
+    public synchronized void validateEncoding() {
+        if (!this.validated) {
+            SatCheck.validateSatisfiability(this.backend, this.varNum, this.clauses);
+            this.validated = true;
+        }
+    }
+
+    public synchronized boolean isModel(int[] model) throws IOException, InterruptedException {
+        Tristate propagation = this.propagator.propagate(model);
+        if (propagation != Tristate.UNDEF) {
+            return propagation == Tristate.TRUE;
+        }
+        if (this.solver == null) {
+            return SatSolver.create(this.backend).isSatisfiable(this.propagator.getVarNum(), this.propagator.getResidualClauses());
+        }
+        return this.solver.isSatisfiable(model);
+    }
+
+    public synchronized boolean isInferred(ClauseDatabase formula) throws IOException, InterruptedException {
+        int varNum = this.solver == null ? this.varNum : this.solver.getVarNum();
+        NegatedCnf negation = Tseitin.negateCnfFormula(varNum, formula, this.negationEncoding);
+        if (negation.isTautology()) {
+            // Inference formula is unsatisfiable -> cannot be inferred from belief base
+            return false;
+        } else if (negation.isUnsatisfiable()) {
+            // Inference formula is a tautology -> can always be inferred from belief base
+            return true;
+        }
+        if (this.solver == null) {
+            ClauseDatabase inferenceClauses = new ClauseDatabase(this.clauses);
+            inferenceClauses.addAll(negation.getClauses());
+            return !SatSolver.create(this.backend).isSatisfiable(negation.getVarNum(), inferenceClauses);
+        }
+        int selector = this.solver.addGuardedClauses(negation.getVarNum(), negation.getClauses());
+        boolean inferred = !this.solver.isSatisfiable(selector);
+        this.solver.retire(selector);
+        if (++this.retiredSelectors == maxRetiredSelectors) {
+            this.solver = new IncrementalSolver(this.backend, this.varNum, this.clauses);
+            this.retiredSelectors = 0;
+        }
+        return inferred;
+    }
+}
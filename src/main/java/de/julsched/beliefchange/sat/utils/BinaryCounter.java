@@ -4,11 +4,12 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
+import de.julsched.beliefchange.utils.ClauseDatabase;
 
 public class BinaryCounter {
 
     private int numMax = 0;
-    private List<String> encoding = new ArrayList<String>();
+    private ClauseDatabase encoding = new ClauseDatabase();
     private List<Integer> counterBitsReversed = new ArrayList<Integer>();
 
     public static int log2(int N){
@@ -19,7 +20,7 @@ public class BinaryCounter {
         return numMax;
     }
 
-    public List<String> getEncoding() {
+    public ClauseDatabase getEncoding() {
         return encoding;
     }
 
@@ -28,8 +29,12 @@ public class BinaryCounter {
     }
 
     public List<String> createEncoding(List<Integer> variablesToCount) {
+        return createClauses(variablesToCount).toDimacsList();
+    }
+
+    public ClauseDatabase createClauses(List<Integer> variablesToCount) {
         if (variablesToCount == null || variablesToCount.size() == 0) {
-            return new ArrayList<String>();
+            return new ClauseDatabase();
         }
         Collections.sort(variablesToCount);
         numMax = variablesToCount.get(variablesToCount.size() - 1);
@@ -54,14 +59,10 @@ public class BinaryCounter {
             int result2Bit = (half2.size() > i) ? half2.get(i) : 0;
             int newCarry = numMax + 1;
             int newSum = numMax + 2;
-            List<String> clauses;
             if (result2Bit == 0) {
-                clauses = HalfAdder.getClauses(half1.get(i), carry, newCarry, newSum);
+                HalfAdder.addClauses(encoding, half1.get(i), carry, newCarry, newSum);
             } else {
-                clauses = FullAdder.getClauses(half1.get(i), result2Bit, carry, newCarry, newSum);
-            }
-            for (String clause : clauses) {
-                encoding.add(clause);
+                FullAdder.addClauses(encoding, half1.get(i), result2Bit, carry, newCarry, newSum);
             }
             numMax = newSum;
             result.add(newSum);
@@ -0,0 +1,36 @@
+package de.julsched.beliefchange.sat.utils;
+
+import de.julsched.beliefchange.utils.ClauseDatabase;
+
+
+public class DiscrepancyClauses {
+
+    public static final int clauseNumExact = 4;
+    public static final int clauseNumVague = 2;
+
+    // Exact (d <-> x xor y): "d -x y 0", "d x -y 0", "-d -x -y 0", "-d x y 0"
+    public static void addExact(ClauseDatabase clauses, int discrepancyVar, int var1, int var2) {
+        clauses.addClause(discrepancyVar, -var1, var2);
+        clauses.addClause(discrepancyVar, var1, -var2);
+        clauses.addClause(-discrepancyVar, -var1, -var2);
+        clauses.addClause(-discrepancyVar, var1, var2);
+    }
+
+    // Vague (x xor y -> d): "d -x y 0", "d x -y 0"
+    public static void addVague(ClauseDatabase clauses, int discrepancyVar, int var1, int var2) {
+        clauses.addClause(discrepancyVar, -var1, var2);
+        clauses.addClause(discrepancyVar, var1, -var2);
+    }
+
+    public static void addClauses(ClauseDatabase clauses, boolean exact, int discrepancyVar, int var1, int var2) {
+        if (exact) {
+            addExact(clauses, discrepancyVar, var1, var2);
+        } else {
+            addVague(clauses, discrepancyVar, var1, var2);
+        }
+    }
+
+    public static int getClauseNum(boolean exact) {
+        return exact ? clauseNumExact : clauseNumVague;
+    }
+}
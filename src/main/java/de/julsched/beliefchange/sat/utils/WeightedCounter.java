@@ -0,0 +1,148 @@
+package de.julsched.beliefchange.sat.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import de.julsched.beliefchange.utils.ClauseDatabase;
+
+// Counts the weighted sum of literals exactly as a binary number: every literal is placed in the columns of the bits
+// set in its weight, which are reduced by full and half adders, carrying to the next column. Unlike BinaryCounter the
+// adders are equivalences, so the bits can be compared in both directions. The number of clauses is linear in the
+// number of weight bits.
+public class WeightedCounter {
+
+    private ClauseDatabase clauses;
+    private int trueVar;
+    private int varNum;
+
+    // New variables are numbered from varNum + 1
+    public WeightedCounter(ClauseDatabase clauses, int trueVar, int varNum) {
+        this.clauses = clauses;
+        this.trueVar = trueVar;
+        this.varNum = varNum;
+    }
+
+    public int getVarNum() {
+        return this.varNum;
+    }
+
+    // Returns the literals of the bits of the sum, least significant bit first
+    public int[] count(int[] literals, long[] weights) {
+        List<List<Integer>> columns = new ArrayList<>();
+        for (int i = 0; i < literals.length; i++) {
+            for (int j = 0; j < Long.SIZE - 1; j++) {
+                if ((weights[i] >> j & 1) == 1) {
+                    while (columns.size() <= j) {
+                        columns.add(new ArrayList<>());
+                    }
+                    columns.get(j).add(literals[i]);
+                }
+            }
+        }
+        List<Integer> bits = new ArrayList<>();
+        for (int j = 0; j < columns.size(); j++) {
+            List<Integer> column = columns.get(j);
+            // Adders consume the column from the front and append their sums at the end
+            int next = 0;
+            while (column.size() - next > 1) {
+                if (columns.size() == j + 1) {
+                    columns.add(new ArrayList<>());
+                }
+                int carryVar = ++this.varNum;
+                int sumVar = ++this.varNum;
+                if (column.size() - next == 2) {
+                    addHalfAdder(column.get(next), column.get(next + 1), carryVar, sumVar);
+                    next += 2;
+                } else {
+                    addFullAdder(column.get(next), column.get(next + 1), column.get(next + 2), carryVar, sumVar);
+                    next += 3;
+                }
+                column.add(sumVar);
+                columns.get(j + 1).add(carryVar);
+            }
+            bits.add(next < column.size() ? column.get(next) : -this.trueVar);
+        }
+        return bits.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    // Clauses requiring the number of the bits to be at most the bound unless one of the guard literals is true
+    public void addAtMost(int[] bits, long bound, int... guard) {
+        if (bound < 0) {
+            addGuardedClause(guard);
+            return;
+        }
+        if (bits.length < Long.SIZE - 1 && bound >= (1L << bits.length) - 1) {
+            return;
+        }
+        // Exceeds the bound iff at the most significant bit that differs from the bound, it is set and the bound not
+        for (int j = 0; j < bits.length; j++) {
+            if ((bound >> j & 1) == 1) {
+                continue;
+            }
+            List<Integer> clause = new ArrayList<>();
+            clause.add(-bits[j]);
+            for (int i = j + 1; i < bits.length; i++) {
+                if ((bound >> i & 1) == 1) {
+                    clause.add(-bits[i]);
+                }
+            }
+            addGuardedClause(guard, clause);
+        }
+    }
+
+    // Returns the literals whose conjunction is equivalent to the number of the bits being equal to the value,
+    // or null if it can not be
+    public static int[] getEqualLiterals(int[] bits, long value) {
+        if (value < 0 || bits.length < Long.SIZE - 1 && value >> bits.length != 0) {
+            return null;
+        }
+        int[] literals = new int[bits.length];
+        for (int j = 0; j < bits.length; j++) {
+            literals[j] = (value >> j & 1) == 1 ? bits[j] : -bits[j];
+        }
+        return literals;
+    }
+
+    private void addGuardedClause(int[] guard, List<Integer> literals) {
+        for (int literal : guard) {
+            this.clauses.addLiteral(literal);
+        }
+        for (int literal : literals) {
+            this.clauses.addLiteral(literal);
+        }
+        this.clauses.endClause();
+    }
+
+    private void addGuardedClause(int[] guard) {
+        addGuardedClause(guard, List.of(-this.trueVar));
+    }
+
+    // c <-> a & b, s <-> a xor b
+    private void addHalfAdder(int a, int b, int carryVar, int sumVar) {
+        this.clauses.addClause(-a, -b, carryVar);
+        this.clauses.addClause(a, -carryVar);
+        this.clauses.addClause(b, -carryVar);
+        this.clauses.addClause(a, -b, sumVar);
+        this.clauses.addClause(-a, b, sumVar);
+        this.clauses.addClause(a, b, -sumVar);
+        this.clauses.addClause(-a, -b, -sumVar);
+    }
+
+    // c <-> at least two of a, b, x, s <-> a xor b xor x
+    private void addFullAdder(int a, int b, int x, int carryVar, int sumVar) {
+        this.clauses.addClause(-a, -b, carryVar);
+        this.clauses.addClause(-a, -x, carryVar);
+        this.clauses.addClause(-b, -x, carryVar);
+        this.clauses.addClause(a, b, -carryVar);
+        this.clauses.addClause(a, x, -carryVar);
+        this.clauses.addClause(b, x, -carryVar);
+        this.clauses.addClause(a, b, -x, sumVar);
+        this.clauses.addClause(a, -b, x, sumVar);
+        this.clauses.addClause(-a, b, x, sumVar);
+        this.clauses.addClause(-a, -b, -x, sumVar);
+        this.clauses.addClause(-a, -b, x, -sumVar);
+        this.clauses.addClause(-a, b, -x, -sumVar);
+        this.clauses.addClause(a, -b, -x, -sumVar);
+        this.clauses.addClause(a, b, x, -sumVar);
+    }
+}
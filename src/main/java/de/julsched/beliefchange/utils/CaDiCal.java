@@ -1,72 +1,54 @@
 package de.julsched.beliefchange.utils;
 
-import java.io.BufferedReader;
 import java.io.IOException;
-import java.io.InputStreamReader;
 
 public class CaDiCal {
 
-    public static Process execute(String encodingFileName) throws IOException, InterruptedException {
-        String[] command = new String[]{"cadical", encodingFileName};
-
-        Runtime run  = Runtime.getRuntime();
-        Process process = run.exec(command);
-        process.waitFor();
-        return process;
+    // CaDiCal reads the problem from stdin when no file is given
+    public static SolverProcess start() throws IOException {
+        return new SolverProcess("cadical");
     }
 
-    public static boolean isSatisfiable(Process process) throws IOException {
-        BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()));
+    public static boolean isSatisfiable(SolverProcess solver) throws IOException {
         String line;
-        boolean solutionFound = false;
-        while ((line = reader.readLine()) != null) {
+        while ((line = solver.readLine()) != null) {
             if (line.equals("s SATISFIABLE")) {
-                solutionFound = true;
+                return true;
+            }
+            if (line.equals("s UNSATISFIABLE")) {
+                return false;
             }
         }
-        reader.close();
-
-        if (solutionFound) {
-            return true;
-        } else {
-            return false;
-        }
+        return false;
     }
 
-    public static int[] readSolutionModel(Process process) throws IOException {
-        BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()));
-
+    // Returns the values of the variables 1 to varNum as DIMACS literals or null if there is no model
+    public static int[] readSolutionModel(SolverProcess solver, int varNum) throws IOException {
         String line;
         boolean solutionFound = false;
-        StringBuilder solutionLine = new StringBuilder();
-        boolean firstLineDone = false;
+        int[] model = new int[varNum];
 
-        while ((line = reader.readLine()) != null) {
+        while ((line = solver.readLine()) != null) {
             if (line.equals("s SATISFIABLE")) {
                 solutionFound = true;
+            } else if (line.equals("s UNSATISFIABLE")) {
+                break;
             }
-            if (line.startsWith("v", 0)) {
-                if (firstLineDone) {
-                    solutionLine.append(" ");
-                }
-                String lineContent = line.split("v ")[1].split(" 0")[0];
-                if (!lineContent.equals("0")) { // Happens when last result line contains 'v 0' only
-                    solutionLine.append(lineContent);
-                }
-                firstLineDone = true;
+            if (line.startsWith("v", 0) && ModelParser.readValueLine(line, model)) {
+                // Model is complete
+                break;
             }
         }
-        reader.close();
 
         if (!(solutionFound)) {
             return null;
         }
-
-        String[] stringResult = solutionLine.toString().split(" ");
-        int[] result = new int[stringResult.length];
-        for (int i = 0; i < stringResult.length; i++) {
-            result[i] = Integer.parseInt(stringResult[i]);
+        for (int v = 1; v <= varNum; v++) {
+            if (model[v - 1] == 0) {
+                // Variable does not occur in the clauses
+                model[v - 1] = -v;
+            }
         }
-        return result;
+        return model;
     }
 }
@@ -0,0 +1,21 @@
+package de.julsched.beliefchange.utils;
+
+import java.io.IOException;
+
+public class CaDiCalSolver extends SatSolver {
+
+    public int[] solve(int varNum, ClauseDatabase clauses) throws IOException {
+        try (SolverProcess solver = CaDiCal.start()) {
+            solver.feedCnf(varNum, clauses);
+            return CaDiCal.readSolutionModel(solver, varNum);
+        }
+    }
+
+    @Override
+    public boolean isSatisfiable(int varNum, ClauseDatabase clauses) throws IOException {
+        try (SolverProcess solver = CaDiCal.start()) {
+            solver.feedCnf(varNum, clauses);
+            return CaDiCal.isSatisfiable(solver);
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package de.julsched.beliefchange.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Stores clauses as one flat array of literals; clause c occupies [offsets[c], offsets[c + 1])
+public class ClauseDatabase {
+
+    private int[] literals;
+    private int[] offsets;
+    private int size;
+    private int literalNum;
+
+    public ClauseDatabase() {
+        this(16, 64);
+    }
+
+    public ClauseDatabase(int clauseCapacity, int literalCapacity) {
+        this.literals = new int[Math.max(literalCapacity, 1)];
+        this.offsets = new int[Math.max(clauseCapacity, 1) + 1];
+    }
+
+    public ClauseDatabase(ClauseDatabase clauses) {
+        this.literals = Arrays.copyOf(clauses.literals, Math.max(clauses.literalNum, 1));
+        this.offsets = Arrays.copyOf(clauses.offsets, clauses.size + 1);
+        this.size = clauses.size;
+        this.literalNum = clauses.literalNum;
+    }
+
+    public static ClauseDatabase fromDimacs(List<String> clauses) {
+        ClauseDatabase database = new ClauseDatabase(clauses.size(), clauses.size() * 4);
+        for (String clause : clauses) {
+            database.addDimacsClause(clause);
+        }
+        return database;
+    }
+
+    // Literals added one by one form a clause once endClause() is called
+    public void addLiteral(int literal) {
+        if (this.literalNum == this.literals.length) {
+            this.literals = Arrays.copyOf(this.literals, this.literals.length * 2);
+        }
+        this.literals[this.literalNum++] = literal;
+    }
+
+    public void endClause() {
+        if (this.size + 1 == this.offsets.length) {
+            this.offsets = Arrays.copyOf(this.offsets, this.offsets.length * 2);
+        }
+        this.size++;
+        this.offsets[this.size] = this.literalNum;
+    }
+
+    // Drops the literals added since the last endClause()
+    public void discardClause() {
+        this.literalNum = this.offsets[this.size];
+    }
+
+    public void addClause(int... clause) {
+        addClause(clause, 0, clause.length);
+    }
+
+    public void addClause(int[] clause, int from, int to) {
+        ensureLiteralCapacity(to - from);
+        System.arraycopy(clause, from, this.literals, this.literalNum, to - from);
+        this.literalNum += to - from;
+        endClause();
+    }
+
+    public void addClause(ClauseDatabase clauses, int clause) {
+        addClause(clauses.literals, clauses.offsets[clause], clauses.offsets[clause + 1]);
+    }
+
+    public void addAll(ClauseDatabase clauses) {
+        ensureLiteralCapacity(clauses.literalNum);
+        for (int c = 0; c < clauses.size; c++) {
+            addClause(clauses, c);
+        }
+    }
+
+    // Copies all clauses with their variables renamed in a single pass over the literal array
+    public void addAll(ClauseDatabase clauses, LiteralRemapper remapper) {
+        ensureLiteralCapacity(clauses.literalNum);
+        if (this.size + clauses.size >= this.offsets.length) {
+            this.offsets = Arrays.copyOf(this.offsets, Math.max(this.offsets.length * 2, this.size + clauses.size + 1));
+        }
+        int shift = this.literalNum;
+        for (int i = 0; i < clauses.literalNum; i++) {
+            this.literals[shift + i] = remapper.mapLiteral(clauses.literals[i]);
+        }
+        for (int c = 1; c <= clauses.size; c++) {
+            this.offsets[this.size + c] = shift + clauses.offsets[c];
+        }
+        this.literalNum += clauses.literalNum;
+        this.size += clauses.size;
+    }
+
+    // Parses a single clause of the form '1 -2 3 0'
+    public void addDimacsClause(String clause) {
+        int literal = 0;
+        int sign = 1;
+        boolean inNumber = false;
+        for (int i = 0; i < clause.length(); i++) {
+            char c = clause.charAt(i);
+            if (c == '-') {
+                sign = -1;
+            } else if (c >= '0' && c <= '9') {
+                literal = literal * 10 + (c - '0');
+                inNumber = true;
+            } else if (inNumber) {
+                if (literal == 0) {
+                    break;
+                }
+                addLiteral(sign * literal);
+                literal = 0;
+                sign = 1;
+                inNumber = false;
+            }
+        }
+        if (inNumber && literal != 0) {
+            addLiteral(sign * literal);
+        }
+        endClause();
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    public int getLiteralNum() {
+        return this.literalNum;
+    }
+
+    public int getClauseStart(int clause) {
+        return this.offsets[clause];
+    }
+
+    public int getClauseEnd(int clause) {
+        return this.offsets[clause + 1];
+    }
+
+    public int getClauseLength(int clause) {
+        return this.offsets[clause + 1] - this.offsets[clause];
+    }
+
+    public int getLiteral(int position) {
+        return this.literals[position];
+    }
+
+    public int[] getClause(int clause) {
+        return Arrays.copyOfRange(this.literals, this.offsets[clause], this.offsets[clause + 1]);
+    }
+
+    public int getMaxVar() {
+        int maxVar = 0;
+        for (int i = 0; i < this.literalNum; i++) {
+            int var = Math.abs(this.literals[i]);
+            if (var > maxVar) {
+                maxVar = var;
+            }
+        }
+        return maxVar;
+    }
+
+    // Drops every clause from index clauseNum onwards
+    public void truncate(int clauseNum) {
+        if (clauseNum < this.size) {
+            this.size = clauseNum;
+            this.literalNum = this.offsets[clauseNum];
+        }
+    }
+
+    public String toDimacs(int clause) {
+        StringBuilder builder = new StringBuilder();
+        appendDimacs(builder, clause);
+        return builder.toString();
+    }
+
+    public void appendDimacs(StringBuilder builder, int clause) {
+        for (int i = this.offsets[clause]; i < this.offsets[clause + 1]; i++) {
+            builder.append(this.literals[i])
+                   .append(' ');
+        }
+        builder.append('0');
+    }
+
+    // Appends all clauses, each one terminated by a line break
+    public void appendDimacs(StringBuilder builder) {
+        for (int c = 0; c < this.size; c++) {
+            appendDimacs(builder, c);
+            builder.append('\n');
+        }
+    }
+
+    public List<String> toDimacsList() {
+        List<String> clauses = new ArrayList<String>(this.size);
+        for (int c = 0; c < this.size; c++) {
+            clauses.add(toDimacs(c));
+        }
+        return clauses;
+    }
+
+    private void ensureLiteralCapacity(int additional) {
+        if (this.literalNum + additional > this.literals.length) {
+            this.literals = Arrays.copyOf(this.literals, Math.max(this.literals.length * 2, this.literalNum + additional));
+        }
+    }
+}
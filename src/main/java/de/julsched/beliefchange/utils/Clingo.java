@@ -1,8 +1,6 @@
 package de.julsched.beliefchange.utils;
 
-import java.io.BufferedReader;
 import java.io.IOException;
-import java.io.InputStreamReader;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -10,39 +8,61 @@ import de.julsched.beliefchange.exceptions.MinDistanceException;
 
 public class Clingo {
 
-    public static Process execute(String encodingFileName, boolean returnAllModels) throws IOException, InterruptedException {
-        String[] command;
-        if (returnAllModels) {
-            command = new String[]{"clingo", "--models", "0", encodingFileName};
-        } else {
-            command = new String[]{"clingo", encodingFileName};
-        }
-        Runtime run = Runtime.getRuntime();
-        Process process = run.exec(command);
-        process.waitFor();
-        return process;
+    // Clingo reads the program from stdin when no file is given
+    public static SolverProcess start(List<String> program) throws IOException {
+        return new SolverProcess("clingo").feed(program);
+    }
+
+    public static SolverProcess start(String encodingFileName) throws IOException {
+        return new SolverProcess("clingo", encodingFileName);
+    }
+
+    // Enumerates the answer sets that are subset-minimal regarding the shown atoms in a single solver call:
+    // the domain heuristic assigns shown atoms to false first and solution recording excludes supersets of found sets
+    public static SolverProcess startMinimalModels(List<String> program) throws IOException {
+        return new SolverProcess("clingo", "--models", "0", "--heuristic=Domain", "--dom-mod=5,16", "--enum-mode=domRec").feed(program);
+    }
+
+    // Enumerates the answer sets projected onto the shown atoms, i.e. answer sets differing in other atoms only
+    // are printed once
+    public static SolverProcess startProjectedModels(List<String> program) throws IOException {
+        return new SolverProcess("clingo", "--models", "0", "--project").feed(program);
     }
 
-    public static boolean hasSolution(Process process) throws IOException {
-        BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()));
+    // Reads the shown atoms of every answer set while the solver is still running
+    public static List<String> readModels(SolverProcess solver) throws IOException {
+        List<String> models = new ArrayList<>();
+        String line;
+        boolean isModelLine = false;
+        while ((line = solver.readLine()) != null) {
+            if (isModelLine) {
+                models.add(line.trim());
+                isModelLine = false;
+            } else if (line.startsWith("Answer:", 0)) {
+                isModelLine = true;
+            }
+        }
+        return models;
+    }
 
+    public static boolean hasSolution(SolverProcess solver) throws IOException {
         String line;
-        while ((line = reader.readLine()) != null) {
+        while ((line = solver.readLine()) != null) {
             if (line.equals("SATISFIABLE")) {
-                reader.close();
                 return true;
             }
+            if (line.equals("UNSATISFIABLE")) {
+                return false;
+            }
         }
-        reader.close();
         return false;
     }
 
-    public static String readOptimumLine(Process process) throws IOException {
-        BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()));
+    public static String readOptimumLine(SolverProcess solver) throws IOException {
         String line;
         String optimum = "";
         boolean optimumFound = false;
-        while ((line = reader.readLine()) != null) {
+        while ((line = solver.readLine()) != null) {
             if (line.equals("  Optimum    : yes")) {
                 optimumFound = true;
             }
@@ -51,7 +71,6 @@ public class Clingo {
                 break;
             }
         }
-        reader.close();
 
         if (!optimumFound || optimum.isEmpty()) {
             throw new MinDistanceException(
@@ -61,14 +80,13 @@ public class Clingo {
         return optimum;
     }
 
-    public static String readOptimumResult(Process process) throws IOException {
-        BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()));
+    public static String readOptimumResult(SolverProcess solver) throws IOException {
         String line;
         List<String> lines = new ArrayList<>();
         boolean optimumFound = false;
         int index = -1;
         int optimizationLineIndex = -1;
-        while ((line = reader.readLine()) != null) {
+        while ((line = solver.readLine()) != null) {
             index++;
             if (line.equals("  Optimum    : yes")) {
                 optimumFound = true;
@@ -78,7 +96,6 @@ public class Clingo {
             }
             lines.add(line);
         }
-        reader.close();
 
         if (!optimumFound) {
             return null;
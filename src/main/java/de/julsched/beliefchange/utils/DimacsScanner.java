@@ -0,0 +1,198 @@
+package de.julsched.beliefchange.utils;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.zip.GZIPInputStream;
+
+// Scans DIMACS-like files line by line in a single pass over the raw bytes, so that clauses go straight into
+// a clause database without creating a String per line; files ending in '.gz' are decompressed on the fly
+public class DimacsScanner implements Closeable {
+
+    private static final int bufferSize = 1 << 20;
+
+    private ReadableByteChannel channel;
+    private ByteBuffer buffer = ByteBuffer.allocate(bufferSize);
+    private byte[] bytes = this.buffer.array();
+    private int position;
+    private int limit;
+    private int lineNumber;
+    private byte[] line = new byte[256];
+
+    public DimacsScanner(File file) throws IOException {
+        FileChannel fileChannel;
+        try {
+            fileChannel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+        } catch (NoSuchFileException e) {
+            throw new FileNotFoundException(file.getPath());
+        }
+        if (file.getName().endsWith(".gz")) {
+            this.channel = Channels.newChannel(new GZIPInputStream(Channels.newInputStream(fileChannel), 1 << 16));
+        } else {
+            this.channel = fileChannel;
+        }
+    }
+
+    // Moves to the start of the next line that is not blank; returns false at the end of the input
+    public boolean nextLine() throws IOException {
+        if (this.lineNumber > 0) {
+            skipRestOfLine();
+        }
+        while (true) {
+            this.lineNumber++;
+            skipSpaces();
+            int c = peek();
+            if (c == -1) {
+                return false;
+            }
+            if (c != '\n' && c != '\r') {
+                return true;
+            }
+            skipLineBreak();
+        }
+    }
+
+    // Number of the current line, starting at 1
+    public int getLineNumber() {
+        return this.lineNumber;
+    }
+
+    public boolean startsWith(char c) throws IOException {
+        return peek() == c;
+    }
+
+    // Returns the rest of the current line with all whitespace sequences replaced by a single space and trimmed
+    public String readLine() throws IOException {
+        int length = 0;
+        boolean pendingSpace = false;
+        int c = peek();
+        while (c != -1 && c != '\n' && c != '\r') {
+            this.position++;
+            if (isSpace(c)) {
+                pendingSpace = true;
+            } else {
+                if (length + 2 > this.line.length) {
+                    this.line = Arrays.copyOf(this.line, this.line.length * 2);
+                }
+                if (pendingSpace) {
+                    this.line[length++] = ' ';
+                    pendingSpace = false;
+                }
+                this.line[length++] = (byte) c;
+            }
+            c = peek();
+        }
+        return new String(this.line, 0, length, StandardCharsets.UTF_8);
+    }
+
+    // Parses the rest of the current line as a clause of the form '1 -2 3 0' and adds it to the clauses;
+    // returns false and adds nothing if the line is not a valid clause
+    public boolean readClause(ClauseDatabase clauses) throws IOException {
+        int literalNum = 0;
+        while (true) {
+            skipSpaces();
+            int c = peek();
+            int sign = 1;
+            if (c == '-') {
+                sign = -1;
+                this.position++;
+                c = peek();
+            }
+            if (c == '0' && sign == 1) {
+                // Terminating zero, nothing else is allowed to follow
+                this.position++;
+                skipSpaces();
+                c = peek();
+                if (literalNum > 0 && (c == -1 || c == '\n' || c == '\r')) {
+                    clauses.endClause();
+                    return true;
+                }
+                clauses.discardClause();
+                return false;
+            }
+            if (c < '1' || c > '9') {
+                clauses.discardClause();
+                return false;
+            }
+            long literal = 0;
+            while (c >= '0' && c <= '9') {
+                literal = literal * 10 + (c - '0');
+                if (literal > Integer.MAX_VALUE) {
+                    clauses.discardClause();
+                    return false;
+                }
+                this.position++;
+                c = peek();
+            }
+            if (!isSpace(c)) {
+                clauses.discardClause();
+                return false;
+            }
+            clauses.addLiteral(sign * (int) literal);
+            literalNum++;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.channel.close();
+    }
+
+    private int peek() throws IOException {
+        if (this.position == this.limit && !fill()) {
+            return -1;
+        }
+        return this.bytes[this.position] & 0xff;
+    }
+
+    private boolean fill() throws IOException {
+        this.buffer.clear();
+        int read = 0;
+        while (read == 0) {
+            read = this.channel.read(this.buffer);
+        }
+        this.position = 0;
+        this.limit = Math.max(read, 0);
+        return read > 0;
+    }
+
+    private void skipSpaces() throws IOException {
+        while (isSpace(peek())) {
+            this.position++;
+        }
+    }
+
+    private void skipRestOfLine() throws IOException {
+        int c = peek();
+        while (c != -1 && c != '\n' && c != '\r') {
+            this.position++;
+            c = peek();
+        }
+        skipLineBreak();
+    }
+
+    // Line breaks are '\n', '\r' or '\r\n'
+    private void skipLineBreak() throws IOException {
+        int c = peek();
+        if (c == '\r') {
+            this.position++;
+            c = peek();
+        }
+        if (c == '\n') {
+            this.position++;
+        }
+    }
+
+    private static boolean isSpace(int c) {
+        return c == ' ' || c == '\t' || c == '\f' || c == 0x0B;
+    }
+}
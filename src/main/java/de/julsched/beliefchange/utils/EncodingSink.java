@@ -0,0 +1,156 @@
+package de.julsched.beliefchange.utils;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+// Writes an encoding piece by piece through a buffered file channel, so that it never has to be assembled in one String
+public class EncodingSink implements Closeable {
+
+    private static final int bufferSize = 1 << 16;
+
+    private WritableByteChannel channel;
+    private ByteBuffer buffer = ByteBuffer.allocate(bufferSize);
+    private byte[] digits = new byte[11];
+
+    public EncodingSink(String fileName) throws IOException {
+        this(FileChannel.open(Paths.get(fileName),
+                              StandardOpenOption.CREATE,
+                              StandardOpenOption.WRITE,
+                              StandardOpenOption.TRUNCATE_EXISTING));
+    }
+
+    public EncodingSink(WritableByteChannel channel) {
+        this.channel = channel;
+    }
+
+    public static void writeCnf(String fileName, int varNum, ClauseDatabase... clauseDatabases) throws IOException {
+        try (EncodingSink sink = new EncodingSink(fileName)) {
+            sink.writeCnf(varNum, clauseDatabases);
+        }
+    }
+
+    // Writes 'p cnf <varNum> <clause number>' followed by the clauses of all databases
+    public void writeCnf(int varNum, ClauseDatabase... clauseDatabases) throws IOException {
+        int clauseNum = 0;
+        for (ClauseDatabase clauses : clauseDatabases) {
+            clauseNum += clauses.size();
+        }
+        write("p cnf ")
+            .write(varNum)
+            .write(' ')
+            .write(clauseNum)
+            .write('\n');
+        for (ClauseDatabase clauses : clauseDatabases) {
+            writeClauses(clauses);
+        }
+    }
+
+    public EncodingSink write(char c) throws IOException {
+        if (c >= 0x80) {
+            return write(String.valueOf(c));
+        }
+        ensureCapacity(1);
+        this.buffer.put((byte) c);
+        return this;
+    }
+
+    public EncodingSink write(int value) throws IOException {
+        ensureCapacity(this.digits.length);
+        if (value < 0) {
+            this.buffer.put((byte) '-');
+        }
+        long remaining = Math.abs((long) value);
+        int length = 0;
+        do {
+            this.digits[length++] = (byte) ('0' + remaining % 10);
+            remaining /= 10;
+        } while (remaining > 0);
+        while (length > 0) {
+            this.buffer.put(this.digits[--length]);
+        }
+        return this;
+    }
+
+    public EncodingSink write(String text) throws IOException {
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c >= 0x80) {
+                // Not plain ASCII, let the encoder handle the remaining characters
+                byte[] bytes = text.substring(i).getBytes(StandardCharsets.UTF_8);
+                for (byte b : bytes) {
+                    ensureCapacity(1);
+                    this.buffer.put(b);
+                }
+                return this;
+            }
+            ensureCapacity(1);
+            this.buffer.put((byte) c);
+        }
+        return this;
+    }
+
+    // Writes the lines separated by line breaks, like joining them with '\n'
+    public void writeLines(List<String> lines) throws IOException {
+        for (int i = 0; i < lines.size(); i++) {
+            if (i > 0) {
+                write('\n');
+            }
+            write(lines.get(i));
+        }
+    }
+
+    // Writes a single clause of the form '1 -2 3 0'
+    public void writeClause(ClauseDatabase clauses, int clause) throws IOException {
+        for (int i = clauses.getClauseStart(clause); i < clauses.getClauseEnd(clause); i++) {
+            write(clauses.getLiteral(i)).write(' ');
+        }
+        write('0');
+    }
+
+    // Writes all clauses, each one terminated by a line break
+    public void writeClauses(ClauseDatabase clauses) throws IOException {
+        for (int c = 0; c < clauses.size(); c++) {
+            writeClause(clauses, c);
+            write('\n');
+        }
+    }
+
+    // Writes a model of the form '1 -2 3' terminated by a line break
+    public void writeModel(int[] literals) throws IOException {
+        for (int i = 0; i < literals.length; i++) {
+            if (i > 0) {
+                write(' ');
+            }
+            write(literals[i]);
+        }
+        write('\n');
+    }
+
+    // Hands the buffered part to the channel, e.g. once it is final and may be read by others
+    public void flush() throws IOException {
+        this.buffer.flip();
+        while (this.buffer.hasRemaining()) {
+            this.channel.write(this.buffer);
+        }
+        this.buffer.clear();
+    }
+
+    @Override
+    public void close() throws IOException {
+        flush();
+        this.channel.close();
+    }
+
+    private void ensureCapacity(int bytes) throws IOException {
+        if (this.buffer.remaining() < bytes) {
+            flush();
+        }
+    }
+}
@@ -10,11 +10,26 @@ import de.julsched.beliefchange.exceptions.MinDistanceException;
 
 public class Glpsol {
 
-    public static void executeSolver(String modelFileName, String resultFileName) throws IOException, InterruptedException {
-        String[] command = new String[]{"glpsol", "-m", modelFileName, "-w", resultFileName};
-        Runtime run = Runtime.getRuntime();
-        Process process = run.exec(command);
-        process.waitFor(); // Wait for process to write output to file and finish
+    // Glpsol needs a path for the model, so it reads the model from the pipe behind /dev/stdin
+    public static void executeSolver(List<String> model, String resultFileName) throws IOException {
+        try (SolverProcess solver = new SolverProcess("glpsol", "-m", "/dev/stdin", "-w", resultFileName)) {
+            solver.feed(model);
+            solver.waitFor(); // Wait for process to write output to file and finish
+        }
+    }
+
+    public static void executeSolver(String modelFileName, String resultFileName) throws IOException {
+        try (SolverProcess solver = new SolverProcess("glpsol", "-m", modelFileName, "-w", resultFileName)) {
+            solver.waitFor(); // Wait for process to write output to file and finish
+        }
+    }
+
+    // The model file is translated by every call, the data section is read from the pipe behind /dev/stdin
+    public static void executeSolver(String modelFileName, List<String> data, String resultFileName) throws IOException {
+        try (SolverProcess solver = new SolverProcess("glpsol", "-m", modelFileName, "-d", "/dev/stdin", "-w", resultFileName)) {
+            solver.feed(data);
+            solver.waitFor(); // Wait for process to write output to file and finish
+        }
     }
 
     public static boolean containsSolution(String fileName) throws IOException {
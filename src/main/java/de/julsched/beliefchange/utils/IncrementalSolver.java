@@ -0,0 +1,61 @@
+package de.julsched.beliefchange.utils;
+
+import org.logicng.collections.LNGIntVector;
+import org.logicng.datastructures.Tristate;
+import org.logicng.solvers.sat.MiniSatStyleSolver;
+
+import de.julsched.beliefchange.values.SatBackend;
+
+// Keeps an encoding loaded in one LogicNG solver to answer many queries. The clauses of a query are guarded by a
+// selector variable and only take effect when solving under the assumption of the selector, so that clauses learned
+// from the encoding carry over from one query to the next.
+public class IncrementalSolver {
+
+    private MiniSatStyleSolver solver;
+    private boolean unsatisfiable;
+
+    public IncrementalSolver(SatBackend backend, int varNum, ClauseDatabase clauses) {
+        this.solver = LogicNGSolver.createSolver(backend);
+        this.unsatisfiable = !LogicNGSolver.addClauses(this.solver, varNum, clauses);
+    }
+
+    public int getVarNum() {
+        return this.solver.nVars();
+    }
+
+    // Creates the variables up to varNum and a new selector variable, which is returned as DIMACS literal
+    public int addGuardedClauses(int varNum, ClauseDatabase clauses) {
+        while (this.solver.nVars() < Math.max(varNum, clauses.getMaxVar())) {
+            this.solver.newVar(true, true);
+        }
+        int selector = this.solver.newVar(true, true) + 1;
+        for (int c = 0; c < clauses.size() && !this.unsatisfiable; c++) {
+            LNGIntVector clause = new LNGIntVector(clauses.getClauseLength(c) + 1);
+            clause.push(LogicNGSolver.toSolverLiteral(-selector));
+            for (int i = clauses.getClauseStart(c); i < clauses.getClauseEnd(c); i++) {
+                clause.push(LogicNGSolver.toSolverLiteral(clauses.getLiteral(i)));
+            }
+            this.unsatisfiable = !this.solver.addClause(clause, null);
+        }
+        return selector;
+    }
+
+    // Assumptions are DIMACS literals
+    public boolean isSatisfiable(int... assumptions) {
+        if (this.unsatisfiable) {
+            return false;
+        }
+        LNGIntVector solverAssumptions = new LNGIntVector(assumptions.length);
+        for (int literal : assumptions) {
+            solverAssumptions.push(LogicNGSolver.toSolverLiteral(literal));
+        }
+        return this.solver.solve(null, solverAssumptions) == Tristate.TRUE;
+    }
+
+    // Disables the clauses of a selector for good, so that the solver can remove them
+    public void retire(int selector) {
+        if (!this.unsatisfiable) {
+            this.unsatisfiable = !this.solver.addClause(LogicNGSolver.toSolverLiteral(-selector), null);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package de.julsched.beliefchange.utils;
+
+import java.util.Arrays;
+
+// Renames the variables of a clause block that gets copied onto a new variable range:
+// Variables 1..mappedVarNum are shifted by a fixed offset, all other variables (e.g. auxiliary variables
+// introduced by Tseitin) are either kept unchanged or get fresh numbers in the order of their first occurrence
+public class LiteralRemapper {
+
+    private final int mappedVarNum;
+    private final int offset;
+    private final boolean renumberOtherVars;
+
+    private int[] otherVars = new int[0]; // Fresh number of variable mappedVarNum + 1 + i at index i, 0 if not assigned yet
+    private int varNum;
+
+    public LiteralRemapper(int mappedVarNum, int offset) {
+        this.mappedVarNum = mappedVarNum;
+        this.offset = offset;
+        this.renumberOtherVars = false;
+    }
+
+    // Variables above mappedVarNum are numbered consecutively after varNum
+    public LiteralRemapper(int mappedVarNum, int offset, int varNum) {
+        this.mappedVarNum = mappedVarNum;
+        this.offset = offset;
+        this.renumberOtherVars = true;
+        this.varNum = varNum;
+    }
+
+    public int mapVar(int var) {
+        if (var <= this.mappedVarNum) {
+            return var + this.offset;
+        }
+        if (!this.renumberOtherVars) {
+            return var;
+        }
+        int index = var - this.mappedVarNum - 1;
+        if (index >= this.otherVars.length) {
+            this.otherVars = Arrays.copyOf(this.otherVars, Math.max(this.otherVars.length * 2, index + 1));
+        }
+        if (this.otherVars[index] == 0) {
+            this.varNum++;
+            this.otherVars[index] = this.varNum;
+        }
+        return this.otherVars[index];
+    }
+
+    public int mapLiteral(int literal) {
+        return literal < 0 ? -mapVar(-literal) : mapVar(literal);
+    }
+
+    public int getMappedVarNum() {
+        return this.mappedVarNum;
+    }
+
+    public int getOffset() {
+        return this.offset;
+    }
+
+    // Highest variable number handed out for renumbered variables
+    public int getVarNum() {
+        return this.varNum;
+    }
+}
@@ -0,0 +1,73 @@
+package de.julsched.beliefchange.utils;
+
+import org.logicng.collections.LNGBooleanVector;
+import org.logicng.collections.LNGIntVector;
+import org.logicng.datastructures.Tristate;
+import org.logicng.solvers.sat.GlucoseConfig;
+import org.logicng.solvers.sat.GlucoseSyrup;
+import org.logicng.solvers.sat.MiniSat2Solver;
+import org.logicng.solvers.sat.MiniSatConfig;
+import org.logicng.solvers.sat.MiniSatStyleSolver;
+
+import de.julsched.beliefchange.exceptions.WrongInputException;
+import de.julsched.beliefchange.values.SatBackend;
+
+// Solves within the JVM, avoiding the encoding file and the solver process
+public class LogicNGSolver extends SatSolver {
+
+    private SatBackend backend;
+
+    public LogicNGSolver(SatBackend backend) {
+        this.backend = backend;
+    }
+
+    public int[] solve(int varNum, ClauseDatabase clauses) {
+        MiniSatStyleSolver solver = createSolver(this.backend);
+        if (!addClauses(solver, varNum, clauses)) {
+            return null;
+        }
+        if (solver.solve(null) != Tristate.TRUE) {
+            return null;
+        }
+
+        LNGBooleanVector assignment = solver.model();
+        int[] model = new int[varNum];
+        for (int v = 1; v <= varNum; v++) {
+            model[v - 1] = assignment.get(v - 1) ? v : -v;
+        }
+        return model;
+    }
+
+    // Variable v of a DIMACS literal is variable v - 1 of the solver
+    public static int toSolverLiteral(int literal) {
+        return MiniSatStyleSolver.mkLit(Math.abs(literal) - 1, literal < 0);
+    }
+
+    // Creates the variables and adds the clauses, returns false if the clauses are already known to be unsatisfiable
+    public static boolean addClauses(MiniSatStyleSolver solver, int varNum, ClauseDatabase clauses) {
+        int solverVarNum = Math.max(varNum, clauses.getMaxVar());
+        for (int v = 0; v < solverVarNum; v++) {
+            solver.newVar(true, true);
+        }
+        for (int c = 0; c < clauses.size(); c++) {
+            LNGIntVector clause = new LNGIntVector(clauses.getClauseLength(c));
+            for (int i = clauses.getClauseStart(c); i < clauses.getClauseEnd(c); i++) {
+                clause.push(toSolverLiteral(clauses.getLiteral(i)));
+            }
+            if (!solver.addClause(clause, null)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public static MiniSatStyleSolver createSolver(SatBackend backend) {
+        if (!backend.isInProcess()) {
+            throw new WrongInputException("SAT solver backend '" + backend + "' does not run within the JVM");
+        }
+        if (backend == SatBackend.GLUCOSE) {
+            return new GlucoseSyrup(MiniSatConfig.builder().build(), GlucoseConfig.builder().build());
+        }
+        return new MiniSat2Solver();
+    }
+}
@@ -0,0 +1,20 @@
+package de.julsched.beliefchange.utils;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Evicts the least recently used entry once more than capacity entries are stored; not synchronized
+public class LruCache<K, V> extends LinkedHashMap<K, V> {
+
+    private int capacity;
+
+    public LruCache(int capacity) {
+        super(16, 0.75f, true);
+        this.capacity = capacity;
+    }
+
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+        return size() > this.capacity;
+    }
+}
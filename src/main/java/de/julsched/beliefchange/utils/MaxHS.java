@@ -1,38 +1,38 @@
 package de.julsched.beliefchange.utils;
 
-import java.io.BufferedReader;
 import java.io.IOException;
-import java.io.InputStreamReader;
+import java.util.BitSet;
 
 import de.julsched.beliefchange.exceptions.MinDistanceException;
 
 public class MaxHS {
 
-    public static Process execute(String encodingFileName, boolean printSolution) throws IOException, InterruptedException {
-        String[] command;
+    // MaxHS reads the problem from stdin when no file is given
+    public static SolverProcess start(boolean printSolution) throws IOException {
         if (printSolution) {
-            command = new String[]{"maxhs", "-printSoln", encodingFileName};
-        } else {
-            command = new String[]{"maxhs", encodingFileName};
+            return new SolverProcess("maxhs", "-printSoln");
         }
-        Runtime run  = Runtime.getRuntime();
-        Process process = run.exec(command);
-        process.waitFor();
-        return process;
+        return new SolverProcess("maxhs");
     }
 
-    public static String readOptimumLine(Process process) throws IOException {
-        BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()));
+    // Feeds the clauses as plain CNF and checks whether they are satisfiable
+    public static boolean isSatisfiable(int varNum, ClauseDatabase... clauseDatabases) throws IOException {
+        try (SolverProcess solver = start(false)) {
+            solver.feedCnf(varNum, clauseDatabases);
+            return isSatisfiable(solver);
+        }
+    }
+
+    public static String readOptimumLine(SolverProcess solver) throws IOException {
         String line;
         String optimum = "";
 
-        while ((line = reader.readLine()) != null) {
+        while ((line = solver.readLine()) != null) {
             if (line.startsWith("o", 0)) {
                 optimum = line.split(" ")[1];
                 break;
             }
         }
-        reader.close();
 
         if (optimum.isEmpty()) {
             throw new MinDistanceException("Belief base or belief change formula might be unsatisfiable / change formula might be a tautology");
@@ -40,54 +40,33 @@ public class MaxHS {
         return optimum;
     }
 
-    public static String readOptimumSolutionModel(Process process) throws IOException {
-        BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()));
-
+    // Returns the optimum model with bit v set if variable v is true or null if there is none
+    public static BitSet readOptimumSolutionModel(SolverProcess solver) throws IOException {
         String line;
-        String solutionLine = "";
-
-        while ((line = reader.readLine()) != null) {
+        while ((line = solver.readLine()) != null) {
             if (line.startsWith("v", 0)) {
-                solutionLine = line.split("v ")[1];
-                break;
+                // MaxHS returns a solution line consisting of 0 and 1 only
+                return ModelParser.parseBitSolution(line);
             }
         }
-        reader.close();
-
-        if (solutionLine.isEmpty()) {
-            return "";
-        }
-
-        StringBuilder result = new StringBuilder();
-        // MaxHS returns a solution line consisting of 0 and 1 only
-        String[] values = solutionLine.split("");
-        for (int i = 0; i < values.length; i++) {
-            if (values[i].equals("0")) {
-                result.append("-")
-                      .append(i + 1)
-                      .append(" ");
-            } else if (values[i].equals("1")) {
-                result.append(i + 1)
-                      .append(" ");
-            }
-        }
-        return result.toString().trim();
+        return null;
     }
 
-    public static boolean isSatisfiable(Process process) throws IOException {
-        BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()));
+    public static boolean isSatisfiable(SolverProcess solver) throws IOException {
         String line;
         boolean solutionFound = false;
         boolean noFalsifiedSofts = false;
-        while ((line = reader.readLine()) != null) {
+        while ((line = solver.readLine()) != null) {
             if (line.equals("s OPTIMUM FOUND")) {
                 solutionFound = true;
             }
             if (line.equals("c Solved: Number of falsified softs = 0")) {
                 noFalsifiedSofts = true;
             }
+            if (line.equals("s UNSATISFIABLE") || (solutionFound && noFalsifiedSofts)) {
+                break;
+            }
         }
-        reader.close();
 
         if (solutionFound && noFalsifiedSofts) {
             return true;
@@ -96,15 +75,13 @@ public class MaxHS {
         }
     }
 
-    public static int[] readSolutionModel(Process process) throws IOException {
-        BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()));
-
+    public static int[] readSolutionModel(SolverProcess solver) throws IOException {
         String line;
         boolean solutionFound = false;
         boolean noFalsifiedSofts = false;
         String solutionLine = "";
 
-        while ((line = reader.readLine()) != null) {
+        while ((line = solver.readLine()) != null) {
             if (line.equals("s OPTIMUM FOUND")) {
                 solutionFound = true;
             }
@@ -112,25 +89,15 @@ public class MaxHS {
                 noFalsifiedSofts = true;
             }
             if (line.startsWith("v", 0)) {
-                solutionLine = line.split("v ")[1];
+                solutionLine = line;
             }
         }
-        reader.close();
 
         if (!(solutionFound && noFalsifiedSofts)) {
             return null;
         }
 
         // MaxHS returns a solution line consisting of 0 and 1 only
-        String[] values = solutionLine.split("");
-        int[] result = new int[values.length];
-        for (int i = 0; i < values.length; i++) {
-            if (values[i].equals("0")) {
-                result[i] = (-1) * (i + 1);
-            } else if (values[i].equals("1")) {
-                result[i] = i + 1;
-            }
-        }
-        return result;
+        return ModelParser.parseBitSolutionLiterals(solutionLine);
     }
 }
@@ -0,0 +1,41 @@
+package de.julsched.beliefchange.utils;
+
+import org.logicng.collections.LNGBooleanVector;
+import org.logicng.collections.LNGIntVector;
+import org.logicng.datastructures.Tristate;
+import org.logicng.solvers.sat.MiniSatStyleSolver;
+
+import de.julsched.beliefchange.values.SatBackend;
+
+// Enumerates all models of the clauses projected onto the variables 1 to projectionVarNum with one incremental solver.
+// Every model found is excluded by a blocking clause over the projected variables only, so models differing in
+// auxiliary variables alone (e.g. introduced by negating a formula) are returned once.
+public class ModelEnumerator {
+
+    private MiniSatStyleSolver solver;
+    private int projectionVarNum;
+    private boolean exhausted;
+
+    public ModelEnumerator(SatBackend backend, int varNum, ClauseDatabase clauses, int projectionVarNum) {
+        this.solver = LogicNGSolver.createSolver(backend);
+        this.projectionVarNum = projectionVarNum;
+        this.exhausted = !LogicNGSolver.addClauses(this.solver, varNum, clauses);
+    }
+
+    // Returns the next model as DIMACS literals of the variables 1 to projectionVarNum or null if there is none left
+    public int[] next() {
+        if (this.exhausted || this.solver.solve(null) != Tristate.TRUE) {
+            this.exhausted = true;
+            return null;
+        }
+        LNGBooleanVector assignment = this.solver.model();
+        int[] model = new int[this.projectionVarNum];
+        LNGIntVector blockingClause = new LNGIntVector(this.projectionVarNum);
+        for (int v = 1; v <= this.projectionVarNum; v++) {
+            model[v - 1] = assignment.get(v - 1) ? v : -v;
+            blockingClause.push(LogicNGSolver.toSolverLiteral(-model[v - 1]));
+        }
+        this.exhausted = !this.solver.addClause(blockingClause, null);
+        return model;
+    }
+}
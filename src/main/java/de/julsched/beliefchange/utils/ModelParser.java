@@ -0,0 +1,125 @@
+package de.julsched.beliefchange.utils;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+// Decodes models printed by solvers character by character instead of splitting them into one String per variable
+public class ModelParser {
+
+    // Parses a line of literals of the form '1 -2 3'
+    public static int[] parseLiterals(String line) {
+        int[] literals = new int[Math.max(line.length() / 2, 1)];
+        int literalNum = 0;
+        int i = 0;
+        while (i < line.length()) {
+            char c = line.charAt(i);
+            if (c == ' ' || c == '\t') {
+                i++;
+                continue;
+            }
+            int end = endOfNumber(line, i);
+            int literal = parseNumber(line, i, end);
+            if (literalNum == literals.length) {
+                literals = Arrays.copyOf(literals, literals.length * 2);
+            }
+            literals[literalNum++] = literal;
+            i = end;
+        }
+        return Arrays.copyOf(literals, literalNum);
+    }
+
+    // Stores the literals of a line of the form 'v 1 -2 3' at index |literal| - 1 of the model,
+    // returns true once the terminating '0' has been read
+    public static boolean readValueLine(String line, int[] model) {
+        int i = line.startsWith("v") ? 1 : 0;
+        while (i < line.length()) {
+            char c = line.charAt(i);
+            if (c == ' ' || c == '\t') {
+                i++;
+                continue;
+            }
+            int end = endOfNumber(line, i);
+            int literal = parseNumber(line, i, end);
+            if (literal == 0) {
+                return true;
+            }
+            int var = Math.abs(literal);
+            if (var <= model.length) {
+                model[var - 1] = literal;
+            }
+            i = end;
+        }
+        return false;
+    }
+
+    // Decodes a MaxHS solution line of the form 'v 0110', whose i-th value belongs to variable i;
+    // bit v of the result is set if variable v is true
+    public static BitSet parseBitSolution(String line) {
+        int start = solutionStart(line);
+        BitSet model = new BitSet(line.length() - start + 1);
+        int var = 0;
+        for (int i = start; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == '1') {
+                model.set(++var);
+            } else if (c == '0') {
+                ++var;
+            }
+        }
+        return model;
+    }
+
+    // Decodes a MaxHS solution line of the form 'v 0110' into the literals '-1 2 3 -4'
+    public static int[] parseBitSolutionLiterals(String line) {
+        int start = solutionStart(line);
+        int[] model = new int[line.length() - start];
+        int var = 0;
+        for (int i = start; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == '1') {
+                var++;
+                model[var - 1] = var;
+            } else if (c == '0') {
+                var++;
+                model[var - 1] = -var;
+            }
+        }
+        return Arrays.copyOf(model, var);
+    }
+
+    private static int solutionStart(String line) {
+        int start = line.startsWith("v") ? 1 : 0;
+        while (start < line.length() && line.charAt(start) == ' ') {
+            start++;
+        }
+        return start;
+    }
+
+    private static int endOfNumber(String line, int start) {
+        int end = start;
+        while (end < line.length() && line.charAt(end) != ' ' && line.charAt(end) != '\t') {
+            end++;
+        }
+        return end;
+    }
+
+    private static int parseNumber(String line, int start, int end) {
+        boolean negative = line.charAt(start) == '-';
+        int i = negative ? start + 1 : start;
+        if (i == end) {
+            throw new NumberFormatException("Invalid literal '" + line.substring(start, end) + "'");
+        }
+        long value = 0;
+        for (; i < end; i++) {
+            char c = line.charAt(i);
+            if (c < '0' || c > '9') {
+                throw new NumberFormatException("Invalid literal '" + line.substring(start, end) + "'");
+            }
+            value = value * 10 + (c - '0');
+            if (value > Integer.MAX_VALUE) {
+                throw new NumberFormatException("Invalid literal '" + line.substring(start, end) + "'");
+            }
+        }
+        return negative ? (int) -value : (int) value;
+    }
+}
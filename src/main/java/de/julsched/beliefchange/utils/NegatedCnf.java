@@ -0,0 +1,35 @@
+package de.julsched.beliefchange.utils;
+
+// Result of negating a CNF formula: the negation in CNF plus the variable count including auxiliary variables
+public class NegatedCnf {
+
+    private final ClauseDatabase clauses;
+    private final int varNum;
+    private final boolean tautology;
+    private final boolean unsatisfiable;
+
+    NegatedCnf(ClauseDatabase clauses, int varNum, boolean tautology, boolean unsatisfiable) {
+        this.clauses = clauses;
+        this.varNum = varNum;
+        this.tautology = tautology;
+        this.unsatisfiable = unsatisfiable;
+    }
+
+    public ClauseDatabase getClauses() {
+        return this.clauses;
+    }
+
+    public int getVarNum() {
+        return this.varNum;
+    }
+
+    // Negation is a tautology, i.e. the original formula is unsatisfiable
+    public boolean isTautology() {
+        return this.tautology;
+    }
+
+    // Negation is unsatisfiable, i.e. the original formula is a tautology
+    public boolean isUnsatisfiable() {
+        return this.unsatisfiable;
+    }
+}
@@ -0,0 +1,17 @@
+package de.julsched.beliefchange.utils;
+
+import java.io.IOException;
+
+// An encoding kept in memory to answer inference and model checks one after another
+public interface QuerySession {
+
+    int getModelVarNum();
+
+    // Validates the encoding like the checks do unless '-s' is given; only the first call validates
+    void validateEncoding() throws IOException, InterruptedException;
+
+    // Literal i of the model belongs to variable i + 1
+    boolean isModel(int[] model) throws IOException, InterruptedException;
+
+    boolean isInferred(ClauseDatabase formula) throws IOException, InterruptedException;
+}
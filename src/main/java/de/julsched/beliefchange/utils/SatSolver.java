@@ -0,0 +1,25 @@
+package de.julsched.beliefchange.utils;
+
+import java.io.IOException;
+
+import de.julsched.beliefchange.values.SatBackend;
+
+public abstract class SatSolver {
+
+    public static SatSolver create(SatBackend backend) {
+        switch (backend) {
+            case GLUCOSE:
+            case MINISAT:
+                return new LogicNGSolver(backend);
+            default:
+                return new CaDiCalSolver();
+        }
+    }
+
+    // Returns the model as DIMACS literals of the variables 1 to varNum or null if the clauses are unsatisfiable
+    public abstract int[] solve(int varNum, ClauseDatabase clauses) throws IOException, InterruptedException;
+
+    public boolean isSatisfiable(int varNum, ClauseDatabase clauses) throws IOException, InterruptedException {
+        return solve(varNum, clauses) != null;
+    }
+}
@@ -0,0 +1,122 @@
+package de.julsched.beliefchange.utils;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.InterruptedIOException;
+import java.nio.channels.Channels;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+// Runs an external solver that receives its problem through stdin. Stdout and stderr are drained on separate threads
+// while the solver runs, so that a full pipe can block neither the solver nor the caller. Callers may stop reading
+// as soon as the answer is known, closing the process terminates the solver if it is still running.
+public class SolverProcess implements Closeable {
+
+    // Marks the end of the solver output in the queue, compared by reference
+    private static final String endOfOutput = new String();
+
+    private Process process;
+    private BlockingQueue<String> outputLines = new LinkedBlockingQueue<>();
+    private Thread outputDrainer;
+    private Thread errorDrainer;
+    private boolean outputEnded;
+
+    public SolverProcess(String... command) throws IOException {
+        this.process = new ProcessBuilder(command).start();
+        this.outputDrainer = drain(this.process.getInputStream(), this.outputLines, command[0] + "-stdout");
+        this.errorDrainer = drain(this.process.getErrorStream(), null, command[0] + "-stderr");
+    }
+
+    // Sink writing to the stdin of the solver, closing it signals the end of the problem
+    public EncodingSink getInput() {
+        return new EncodingSink(Channels.newChannel(this.process.getOutputStream()));
+    }
+
+    public SolverProcess feed(List<String> lines) throws IOException {
+        try (EncodingSink sink = getInput()) {
+            sink.writeLines(lines);
+        }
+        return this;
+    }
+
+    public SolverProcess feedCnf(int varNum, ClauseDatabase... clauseDatabases) throws IOException {
+        try (EncodingSink sink = getInput()) {
+            sink.writeCnf(varNum, clauseDatabases);
+        }
+        return this;
+    }
+
+    // Returns the next line printed by the solver or null once its output has ended
+    public String readLine() throws IOException {
+        if (this.outputEnded) {
+            return null;
+        }
+        try {
+            String line = this.outputLines.take();
+            if (line == endOfOutput) {
+                this.outputEnded = true;
+                return null;
+            }
+            return line;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for solver output");
+        }
+    }
+
+    // Waits until the solver terminates, e.g. because it writes its result to a file
+    public int waitFor() throws IOException {
+        try {
+            this.process.getOutputStream().close();
+            return this.process.waitFor();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for solver to finish");
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (this.process.isAlive()) {
+            // Answer has been read already, the rest of the search is not needed
+            this.process.destroy();
+        }
+        try {
+            this.process.getOutputStream().close();
+        } catch (IOException e) {
+            // Solver has already stopped reading its input
+        }
+        try {
+            this.outputDrainer.join();
+            this.errorDrainer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static Thread drain(InputStream stream, BlockingQueue<String> lines, String name) {
+        Thread thread = new Thread(() -> {
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(stream))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (lines != null) {
+                        lines.add(line);
+                    }
+                }
+            } catch (IOException e) {
+                // Stream has been closed because the solver was terminated
+            } finally {
+                if (lines != null) {
+                    lines.add(endOfOutput);
+                }
+            }
+        }, name);
+        thread.setDaemon(true);
+        thread.start();
+        return thread;
+    }
+}
@@ -0,0 +1,71 @@
+package de.julsched.beliefchange.utils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Installed as System.out and System.err, so that every thread can collect its own output. Threads started by a
+// capturing thread, like enumeration threads and the drainers of solver processes, write to the same capture while
+// it lasts. Other threads, like those of the common fork/join pool, write to the capture of the command that runs
+// exclusively, if there is one, and otherwise to the original stream.
+public class ThreadOutputStream extends OutputStream {
+
+    private static final InheritableThreadLocal<ByteArrayOutputStream> capture = new InheritableThreadLocal<>();
+    // Threads keep the capture they inherited after it has been stopped
+    private static final Set<ByteArrayOutputStream> activeCaptures = ConcurrentHashMap.newKeySet();
+    private static volatile ByteArrayOutputStream exclusiveCapture;
+
+    private OutputStream original;
+
+    public ThreadOutputStream(OutputStream original) {
+        this.original = original;
+    }
+
+    public static void startCapture() {
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        activeCaptures.add(stream);
+        capture.set(stream);
+    }
+
+    public static String stopCapture() {
+        ByteArrayOutputStream stream = capture.get();
+        capture.remove();
+        activeCaptures.remove(stream);
+        return stream.toString();
+    }
+
+    // Called by the capturing thread of a command that no other command runs concurrently with
+    public static void startExclusiveCapture() {
+        exclusiveCapture = capture.get();
+    }
+
+    public static void stopExclusiveCapture() {
+        exclusiveCapture = null;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        getStream().write(b);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        getStream().write(b, off, len);
+    }
+
+    @Override
+    public void flush() throws IOException {
+        getStream().flush();
+    }
+
+    private OutputStream getStream() {
+        OutputStream stream = capture.get();
+        if (stream != null && activeCaptures.contains(stream)) {
+            return stream;
+        }
+        stream = exclusiveCapture;
+        return stream != null ? stream : this.original;
+    }
+}
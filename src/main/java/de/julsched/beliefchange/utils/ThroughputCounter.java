@@ -0,0 +1,36 @@
+package de.julsched.beliefchange.utils;
+
+// Counts the items, e.g. models, passing a stage of a pipeline and the time the stage has been busy with them,
+// time spent waiting for other stages is not included
+public class ThroughputCounter {
+
+    private String stage;
+    private String unit = "models";
+    private long items;
+    private long busyTime;
+    private long startTime;
+
+    public ThroughputCounter(String stage) {
+        this.stage = stage;
+    }
+
+    public ThroughputCounter(String stage, String unit) {
+        this.stage = stage;
+        this.unit = unit;
+    }
+
+    public void start() {
+        this.startTime = System.nanoTime();
+    }
+
+    public void stop(long items) {
+        this.busyTime += System.nanoTime() - this.startTime;
+        this.items += items;
+    }
+
+    public void print() {
+        double seconds = Math.max(this.busyTime, 1) / 1e9;
+        System.out.println("[INFO] " + this.stage + ": " + this.items + " " + this.unit + ", "
+                            + String.format("%.0f", this.items / seconds) + " " + this.unit + "/s");
+    }
+}
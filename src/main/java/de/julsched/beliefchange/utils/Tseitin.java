@@ -1,120 +1,146 @@
 package de.julsched.beliefchange.utils;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 
-import org.logicng.formulas.Formula;
-import org.logicng.formulas.FormulaFactory;
-import org.logicng.io.parsers.PropositionalParser;
-import org.logicng.transformations.cnf.TseitinTransformation;
-
-import de.julsched.beliefchange.exceptions.CnfConversionException;
+import de.julsched.beliefchange.values.NegationEncoding;
 
 public class Tseitin {
 
-    // Caution: returned array also contains the parameter line
-    public static String[] negateCnfFormula(int varNum, List<String> clauses) {
-        try {
-            StringBuilder conjunction = new StringBuilder();
-            for (int x = 0; x < clauses.size(); x++) {
-                String clause = clauses.get(x);
-                if (x > 0) {
-                    conjunction.append(" & ");
+    // Negates a CNF formula directly on clause level: every non-unit clause c gets an auxiliary variable a
+    // with a <-> ~c, the negation is then the disjunction of all auxiliary variables and negated unit clauses.
+    // Literals and clauses are simplified the same way LogicNG does (duplicates, complementary literals)
+    public static NegatedCnf negateCnfFormula(int varNum, ClauseDatabase clauses) {
+        return negateCnfFormula(varNum, clauses, NegationEncoding.TSEITIN);
+    }
+
+    // Plaisted-Greenbaum only defines a -> ~c, which suffices as long as the negation occurs positively,
+    // i.e. it is only conjoined with other clauses and its models are projected onto the original variables
+    public static NegatedCnf negateCnfFormula(int varNum, ClauseDatabase clauses, NegationEncoding encoding) {
+        boolean fullDefinition = encoding != NegationEncoding.PLAISTED_GREENBAUM;
+        int[] literalStamps = new int[2 * (Math.max(varNum, clauses.getMaxVar()) + 1)];
+        ClauseDatabase simplifiedClauses = new ClauseDatabase(clauses.size(), clauses.getLiteralNum());
+        HashMap<Integer, List<Integer>> clausesByHash = new HashMap<>();
+        for (int c = 0; c < clauses.size(); c++) {
+            int start = simplifiedClauses.getLiteralNum();
+            boolean isTautologicalClause = false;
+            for (int i = clauses.getClauseStart(c); i < clauses.getClauseEnd(c); i++) {
+                int literal = clauses.getLiteral(i);
+                if (literalStamps[literalIndex(-literal)] == c + 1) {
+                    isTautologicalClause = true;
+                    break;
                 }
-                StringBuilder disjunction = new StringBuilder();
-                String[] vars = clause.split(" ");
-                for (int i = 0; i < vars.length - 1; i++) {
-                    if (i > 0) {
-                        disjunction.append(" | ");
-                    }
-                    disjunction.append(vars[i].replace('-', '~'));
+                if (literalStamps[literalIndex(literal)] != c + 1) {
+                    literalStamps[literalIndex(literal)] = c + 1;
+                    simplifiedClauses.addLiteral(literal);
                 }
-                conjunction.append("(")
-                           .append(disjunction)
-                           .append(")");
             }
+            if (isTautologicalClause) {
+                simplifiedClauses.discardClause();
+                continue;
+            }
+            if (simplifiedClauses.getLiteralNum() == start) {
+                // Empty clause, formula is unsatisfiable
+                return new NegatedCnf(null, varNum, true, false);
+            }
+            simplifiedClauses.endClause();
 
-            FormulaFactory f = new FormulaFactory();
-            PropositionalParser p = new PropositionalParser(f);
-            Formula formula = p.parse(conjunction.toString()).negate();
-            return Tseitin.runCnfTransformation(formula, varNum);
-        } catch (Exception e) {
-            throw new CnfConversionException(e);
+            // Drop clauses that contain the same set of literals as a previous one
+            int clause = simplifiedClauses.size() - 1;
+            int[] sortedLiterals = simplifiedClauses.getClause(clause);
+            Arrays.sort(sortedLiterals);
+            int hash = Arrays.hashCode(sortedLiterals);
+            List<Integer> candidates = clausesByHash.computeIfAbsent(hash, k -> new ArrayList<>());
+            boolean isDuplicate = false;
+            for (int candidate : candidates) {
+                int[] candidateLiterals = simplifiedClauses.getClause(candidate);
+                Arrays.sort(candidateLiterals);
+                if (Arrays.equals(sortedLiterals, candidateLiterals)) {
+                    isDuplicate = true;
+                    break;
+                }
+            }
+            if (isDuplicate) {
+                simplifiedClauses.truncate(clause);
+            } else {
+                candidates.add(clause);
+            }
         }
-    }
 
-    private static String[] runCnfTransformation(Formula formula, int varNum) {
-        TseitinTransformation transformation = new TseitinTransformation(0);
-        String formulaCnf = transformation.apply(formula, true).toString();
-        if (formulaCnf.contains("$true")) {
+        if (simplifiedClauses.isEmpty()) {
             // Formula is a tautology
-            String[] array = new String[1];
-            array[0] = "tautology";
-            return array;
+            return new NegatedCnf(null, varNum, false, true);
         }
-        if (formulaCnf.contains("$false")) {
-            String[] array = new String[1];
-            array[0] = "unsat";
-            return array;
-        }
-
-        List<String> disjunctionsDimacs = new ArrayList<>();
-        int nextNum = varNum + 1;
-        HashMap<String, String> newVarMap = new HashMap<>();
-        String[] disjunctions = formulaCnf.split(" & ");
-        for (String disjunction : disjunctions) {
-            StringBuilder disjunctionDimacs = new StringBuilder();
-            String[] vars = disjunction.replace("(", "").replace(")", "").trim().split(" \\| ");
-            for (String var : vars) {
-                StringBuilder literal = new StringBuilder(var.replace('~', '-').trim());
-                if (literal.toString().startsWith("-@RESERVED_CNF_")) {
-                    String newVariable = literal.toString().replaceAll("-", "");
-                    if (newVarMap.containsKey(newVariable)) {
-                        literal = new StringBuilder("-")
-                                    .append(newVarMap.get(newVariable));
-                    } else {
-                        literal = new StringBuilder("-")
-                                    .append(nextNum);
-                        newVarMap.put(newVariable, Integer.toString(nextNum));
-                        nextNum++;
-                    }
-                } else if (literal.toString().startsWith("@RESERVED_CNF_")) {
-                    if (newVarMap.containsKey(literal.toString())) {
-                        literal = new StringBuilder(newVarMap.get(literal.toString()));
-                    } else {
-                        literal = new StringBuilder(Integer.toString(nextNum));
-                        newVarMap.put(literal.toString(), Integer.toString(nextNum));
-                        nextNum++;
-                    }
+        // Complementary unit clauses make the formula unsatisfiable
+        Arrays.fill(literalStamps, 0);
+        for (int c = 0; c < simplifiedClauses.size(); c++) {
+            if (simplifiedClauses.getClauseLength(c) == 1) {
+                int literal = simplifiedClauses.getLiteral(simplifiedClauses.getClauseStart(c));
+                if (literalStamps[literalIndex(-literal)] != 0) {
+                    return new NegatedCnf(null, varNum, true, false);
                 }
-                disjunctionDimacs.append(literal)
-                                    .append(" ");
+                literalStamps[literalIndex(literal)] = 1;
             }
-            disjunctionDimacs.append("0");
-            disjunctionsDimacs.add(disjunctionDimacs.toString());
         }
 
-        StringBuilder finalDimacs = new StringBuilder("p cnf ")
-                                        .append(nextNum - 1)
-                                        .append(" ")
-                                        .append(disjunctionsDimacs.size())
-                                        .append("\n");
-        for (String disjunction : disjunctionsDimacs) {
-            finalDimacs.append(disjunction)
-                        .append("\n");
+        ClauseDatabase negation = new ClauseDatabase(simplifiedClauses.size() + simplifiedClauses.getLiteralNum() + 1,
+                                                     3 * simplifiedClauses.getLiteralNum() + simplifiedClauses.size());
+        if (simplifiedClauses.size() == 1) {
+            for (int i = 0; i < simplifiedClauses.getLiteralNum(); i++) {
+                negation.addClause(-simplifiedClauses.getLiteral(i));
+            }
+            return new NegatedCnf(negation, varNum, false, false);
         }
-
-        return finalDimacs.toString().split("\n");
+        int[] disjunction = new int[simplifiedClauses.size()];
+        int auxiliaryVar = varNum;
+        int unitClauseNum = 0;
+        int lastNonUnitClause = -1;
+        for (int c = 0; c < simplifiedClauses.size(); c++) {
+            int start = simplifiedClauses.getClauseStart(c);
+            int end = simplifiedClauses.getClauseEnd(c);
+            if (end - start == 1) {
+                disjunction[c] = -simplifiedClauses.getLiteral(start);
+                unitClauseNum++;
+                continue;
+            }
+            lastNonUnitClause = c;
+            auxiliaryVar++;
+            disjunction[c] = auxiliaryVar;
+            for (int i = start; i < end; i++) {
+                negation.addClause(-auxiliaryVar, -simplifiedClauses.getLiteral(i));
+            }
+            if (!fullDefinition) {
+                continue;
+            }
+            negation.addLiteral(auxiliaryVar);
+            for (int i = start; i < end; i++) {
+                negation.addLiteral(simplifiedClauses.getLiteral(i));
+            }
+            negation.endClause();
+        }
+        // With a single auxiliary variable the disjunction may coincide with its defining clause
+        if (!fullDefinition || auxiliaryVar != varNum + 1 || !isNegationOfUnits(simplifiedClauses, lastNonUnitClause, unitClauseNum, literalStamps)) {
+            negation.addClause(disjunction);
+        }
+        return new NegatedCnf(negation, auxiliaryVar, false, false);
     }
 
-    public static String[] transformToCnf(String formula, int varNum) {
-        try {
-            FormulaFactory f = new FormulaFactory();
-            PropositionalParser p = new PropositionalParser(f);
-            return Tseitin.runCnfTransformation(p.parse(formula.toString()), varNum);
-        } catch (Exception e) {
-            throw new CnfConversionException(e);
+    // Checks whether the clause consists of exactly the negated unit literals marked in literalStamps
+    private static boolean isNegationOfUnits(ClauseDatabase clauses, int clause, int unitClauseNum, int[] literalStamps) {
+        if (clauses.getClauseLength(clause) != unitClauseNum) {
+            return false;
+        }
+        for (int i = clauses.getClauseStart(clause); i < clauses.getClauseEnd(clause); i++) {
+            if (literalStamps[literalIndex(-clauses.getLiteral(i))] == 0) {
+                return false;
+            }
         }
+        return true;
+    }
+
+    private static int literalIndex(int literal) {
+        return literal < 0 ? -2 * literal + 1 : 2 * literal;
     }
 }
@@ -0,0 +1,180 @@
+package de.julsched.beliefchange.utils;
+
+import java.util.Arrays;
+
+import org.logicng.datastructures.Tristate;
+
+// Propagates assignments through the clauses of an encoding with two watched literals per clause.
+// The watched literals of a clause are kept at its first two positions.
+public class UnitPropagator {
+
+    private int varNum;
+    private int[] literals;
+    private int[] clauseStarts;
+    private int[][] watches;
+    private int[] watchNum;
+    private int[] unitLiterals;
+    private int unitNum;
+    private boolean hasEmptyClause;
+
+    // Per variable: 1 if true, -1 if false, 0 if unassigned
+    private byte[] values;
+    private int[] trail;
+    private int trailSize;
+
+    public UnitPropagator(int varNum, ClauseDatabase clauses) {
+        this.varNum = Math.max(varNum, clauses.getMaxVar());
+        this.literals = new int[clauses.getLiteralNum()];
+        this.clauseStarts = new int[clauses.size() + 1];
+        this.watches = new int[2 * this.varNum][];
+        this.watchNum = new int[2 * this.varNum];
+        this.unitLiterals = new int[16];
+        this.values = new byte[this.varNum + 1];
+        this.trail = new int[this.varNum];
+
+        int position = 0;
+        for (int c = 0; c < clauses.size(); c++) {
+            this.clauseStarts[c] = position;
+            for (int i = clauses.getClauseStart(c); i < clauses.getClauseEnd(c); i++) {
+                this.literals[position++] = clauses.getLiteral(i);
+            }
+            int length = position - this.clauseStarts[c];
+            if (length == 0) {
+                this.hasEmptyClause = true;
+            } else if (length == 1) {
+                if (this.unitNum == this.unitLiterals.length) {
+                    this.unitLiterals = Arrays.copyOf(this.unitLiterals, this.unitNum * 2);
+                }
+                this.unitLiterals[this.unitNum++] = this.literals[this.clauseStarts[c]];
+            } else {
+                watch(this.literals[this.clauseStarts[c]], c);
+                watch(this.literals[this.clauseStarts[c] + 1], c);
+            }
+        }
+        this.clauseStarts[clauses.size()] = position;
+    }
+
+    // Assigns the DIMACS literals and propagates them, the assignment of a previous call is discarded.
+    // Returns FALSE on a conflict, TRUE if every clause is satisfied and UNDEF if clauses remain undecided.
+    public Tristate propagate(int[] assignment) {
+        for (int t = 0; t < this.trailSize; t++) {
+            this.values[Math.abs(this.trail[t])] = 0;
+        }
+        this.trailSize = 0;
+        if (this.hasEmptyClause) {
+            return Tristate.FALSE;
+        }
+        for (int u = 0; u < this.unitNum; u++) {
+            if (!assign(this.unitLiterals[u])) {
+                return Tristate.FALSE;
+            }
+        }
+        for (int literal : assignment) {
+            if (!assign(literal)) {
+                return Tristate.FALSE;
+            }
+        }
+
+        for (int next = 0; next < this.trailSize; next++) {
+            int falseLiteral = -this.trail[next];
+            int index = literalIndex(falseLiteral);
+            int[] clauseList = this.watches[index];
+            for (int w = 0; w < this.watchNum[index]; w++) {
+                int c = clauseList[w];
+                int start = this.clauseStarts[c];
+                if (this.literals[start] == falseLiteral) {
+                    this.literals[start] = this.literals[start + 1];
+                    this.literals[start + 1] = falseLiteral;
+                }
+                if (value(this.literals[start]) > 0) {
+                    continue;
+                }
+                // Look for a literal that is not false to watch instead
+                boolean moved = false;
+                for (int i = start + 2; i < this.clauseStarts[c + 1]; i++) {
+                    if (value(this.literals[i]) >= 0) {
+                        this.literals[start + 1] = this.literals[i];
+                        this.literals[i] = falseLiteral;
+                        watch(this.literals[start + 1], c);
+                        clauseList[w--] = clauseList[--this.watchNum[index]];
+                        moved = true;
+                        break;
+                    }
+                }
+                if (!moved && !assign(this.literals[start])) {
+                    return Tristate.FALSE;
+                }
+            }
+        }
+
+        // Unassigned variables do not matter if every clause is satisfied already
+        if (this.trailSize < this.varNum) {
+            for (int c = 0; c < this.clauseStarts.length - 1; c++) {
+                if (!isSatisfied(c)) {
+                    return Tristate.UNDEF;
+                }
+            }
+        }
+        return Tristate.TRUE;
+    }
+
+    // After propagate() returned UNDEF: the clauses not satisfied yet without their false literals, which are
+    // satisfiable if and only if the assignment can be extended to a model of all clauses
+    public ClauseDatabase getResidualClauses() {
+        ClauseDatabase residualClauses = new ClauseDatabase();
+        for (int c = 0; c < this.clauseStarts.length - 1; c++) {
+            if (isSatisfied(c)) {
+                continue;
+            }
+            for (int i = this.clauseStarts[c]; i < this.clauseStarts[c + 1]; i++) {
+                if (value(this.literals[i]) == 0) {
+                    residualClauses.addLiteral(this.literals[i]);
+                }
+            }
+            residualClauses.endClause();
+        }
+        return residualClauses;
+    }
+
+    public int getVarNum() {
+        return this.varNum;
+    }
+
+    // Returns false if the literal is assigned false already
+    private boolean assign(int literal) {
+        int value = value(literal);
+        if (value != 0) {
+            return value > 0;
+        }
+        this.values[Math.abs(literal)] = (byte) (literal > 0 ? 1 : -1);
+        this.trail[this.trailSize++] = literal;
+        return true;
+    }
+
+    private int value(int literal) {
+        return literal > 0 ? this.values[literal] : -this.values[-literal];
+    }
+
+    private boolean isSatisfied(int clause) {
+        for (int i = this.clauseStarts[clause]; i < this.clauseStarts[clause + 1]; i++) {
+            if (value(this.literals[i]) > 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void watch(int literal, int clause) {
+        int index = literalIndex(literal);
+        if (this.watches[index] == null) {
+            this.watches[index] = new int[4];
+        } else if (this.watchNum[index] == this.watches[index].length) {
+            this.watches[index] = Arrays.copyOf(this.watches[index], this.watchNum[index] * 2);
+        }
+        this.watches[index][this.watchNum[index]++] = clause;
+    }
+
+    private static int literalIndex(int literal) {
+        return literal > 0 ? 2 * (literal - 1) : 2 * (-literal - 1) + 1;
+    }
+}
@@ -3,6 +3,7 @@ package de.julsched.beliefchange.utils;
 import java.io.BufferedWriter;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.util.List;
 
 public class Utils {
 
@@ -11,4 +12,11 @@ public class Utils {
         writer.write(content);
         writer.close();
     }
+
+    // Streams the lines to the file instead of joining them first
+    public static void writeToFile(List<String> lines, String fileName) throws IOException {
+        try (EncodingSink sink = new EncodingSink(fileName)) {
+            sink.writeLines(lines);
+        }
+    }
 }
@@ -2,8 +2,10 @@ package de.julsched.beliefchange.values;
 
 public enum Algorithm {
     ASP("asp"),
+    ASP_DOMREC("asp-domrec"),
     ILP("ilp"),
-    MAXSAT("maxsat");
+    MAXSAT("maxsat"),
+    MAXSAT_LOGICNG("maxsat-logicng");
 
     private static Algorithm defaultAlgorithm = MAXSAT;
 
@@ -0,0 +1,49 @@
+package de.julsched.beliefchange.values;
+
+public enum ModelFormat {
+    BINARY("binary", ".bin"),
+    TEXT("text", "");
+
+    private static ModelFormat defaultModelFormat = TEXT;
+
+    private String name;
+    private String fileExtension;
+
+    ModelFormat(String name, String fileExtension) {
+        this.name = name;
+        this.fileExtension = fileExtension;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+
+    public String getFileExtension() {
+        return this.fileExtension;
+    }
+
+    public static ModelFormat getModelFormat(String name) {
+        for (ModelFormat modelFormat : ModelFormat.values()) {
+            if (modelFormat.toString().equals(name)) {
+                return modelFormat;
+            }
+        }
+        return null;
+    }
+
+    public static ModelFormat getDefault() {
+        return defaultModelFormat;
+    }
+
+    public static String getValues() {
+        String values = "";
+        for (ModelFormat modelFormat : ModelFormat.values()) {
+            if (!values.isEmpty()) {
+                values += "|";
+            }
+            values += modelFormat.toString();
+        }
+        return values;
+    }
+}
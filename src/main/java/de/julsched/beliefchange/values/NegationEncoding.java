@@ -0,0 +1,43 @@
+package de.julsched.beliefchange.values;
+
+public enum NegationEncoding {
+    TSEITIN("tseitin"),
+    PLAISTED_GREENBAUM("plaisted-greenbaum");
+
+    private static NegationEncoding defaultNegationEncoding = TSEITIN;
+
+    private String name;
+
+    NegationEncoding(String name) {
+        this.name = name;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+
+    public static NegationEncoding getNegationEncoding(String name) {
+        for (NegationEncoding negationEncoding : NegationEncoding.values()) {
+            if (negationEncoding.toString().equals(name)) {
+                return negationEncoding;
+            }
+        }
+        return null;
+    }
+
+    public static NegationEncoding getDefault() {
+        return defaultNegationEncoding;
+    }
+
+    public static String getValues() {
+        String values = "";
+        for (NegationEncoding negationEncoding : NegationEncoding.values()) {
+            if (!values.isEmpty()) {
+                values += "|";
+            }
+            values += negationEncoding.toString();
+        }
+        return values;
+    }
+}
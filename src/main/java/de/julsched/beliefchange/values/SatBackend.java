@@ -0,0 +1,68 @@
+package de.julsched.beliefchange.values;
+
+public enum SatBackend {
+    CADICAL("cadical"),
+    GLUCOSE("glucose"),
+    MINISAT("minisat");
+
+    private static SatBackend defaultSatBackend = CADICAL;
+    private static SatBackend defaultInProcessSatBackend = MINISAT;
+
+    private String name;
+
+    SatBackend(String name) {
+        this.name = name;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+
+    public static SatBackend getSatBackend(String name) {
+        for (SatBackend satBackend : SatBackend.values()) {
+            if (satBackend.toString().equals(name)) {
+                return satBackend;
+            }
+        }
+        return null;
+    }
+
+    // LogicNG solvers run within the JVM, CaDiCal as a separate process
+    public boolean isInProcess() {
+        return this != CADICAL;
+    }
+
+    public static SatBackend getDefault() {
+        return defaultSatBackend;
+    }
+
+    public static SatBackend getInProcessDefault() {
+        return defaultInProcessSatBackend;
+    }
+
+    public static String getValues() {
+        String values = "";
+        for (SatBackend satBackend : SatBackend.values()) {
+            if (!values.isEmpty()) {
+                values += "|";
+            }
+            values += satBackend.toString();
+        }
+        return values;
+    }
+
+    public static String getInProcessValues() {
+        String values = "";
+        for (SatBackend satBackend : SatBackend.values()) {
+            if (!satBackend.isInProcess()) {
+                continue;
+            }
+            if (!values.isEmpty()) {
+                values += "|";
+            }
+            values += satBackend.toString();
+        }
+        return values;
+    }
+}
@@ -0,0 +1,146 @@
+package de.julsched.beliefchange.asp;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import de.julsched.beliefchange.utils.ClauseDatabase;
+import de.julsched.beliefchange.utils.IncrementalSolver;
+import de.julsched.beliefchange.values.SatBackend;
+
+public class EncodingTranslatorTest {
+
+    private static final String[] heads = {"", "not isRevisionModel "};
+
+    @Test
+    public void testTranslateEqualsAnswerSets() {
+        Random random = new Random(24);
+        for (int f = 0; f < 1000; f++) {
+            // Variable i is represented by its copy n + i
+            int n = 1 + random.nextInt(4);
+            boolean hasDiscrepancyRules = random.nextInt(4) != 0;
+            List<String> encoding = new ArrayList<>(Encoding.createVarDefinitionEncoding(2 * n));
+            for (int i = 1; i <= n; i++) {
+                encoding.add("r(" + i + "," + (n + i) + ").");
+            }
+            if (hasDiscrepancyRules) {
+                encoding.addAll(Encoding.createDiscrepancyConstraints(""));
+            }
+            List<String> heads = new ArrayList<>();
+            List<List<String>> bodies = new ArrayList<>();
+            boolean hasRevisionModelRule = random.nextBoolean();
+            if (hasRevisionModelRule) {
+                heads.add("isRevisionModel ");
+                bodies.add(createBody(random, n));
+            }
+            int constraintNum = random.nextInt(4);
+            for (int c = 0; c < constraintNum; c++) {
+                heads.add(EncodingTranslatorTest.heads[random.nextInt(EncodingTranslatorTest.heads.length)]);
+                bodies.add(createBody(random, n));
+            }
+            for (int c = 0; c < heads.size(); c++) {
+                encoding.add(heads.get(c) + ":- " + String.join(", ", bodies.get(c)) + ".");
+            }
+
+            ClauseDatabase clauses = EncodingTranslator.translate(encoding, 2 * n);
+            IncrementalSolver solver = new IncrementalSolver(SatBackend.MINISAT, clauses.getMaxVar(), clauses);
+            for (int assignment = 0; assignment < 1 << 2 * n; assignment++) {
+                int discrepancies = 0;
+                for (int i = 1; i <= n; i++) {
+                    discrepancies |= hasDiscrepancyRules && isTrue(assignment, i) != isTrue(assignment, n + i) ? 1 << i : 0;
+                }
+                boolean isRevisionModel = hasRevisionModelRule && holds(bodies.get(0), assignment, discrepancies);
+                boolean isAnswerSet = true;
+                for (int c = hasRevisionModelRule ? 1 : 0; c < heads.size(); c++) {
+                    if (holds(bodies.get(c), assignment, discrepancies) && (heads.get(c).isEmpty() || isRevisionModel)) {
+                        isAnswerSet = false;
+                    }
+                }
+
+                int[] assumptions = new int[2 * n];
+                for (int v = 1; v <= 2 * n; v++) {
+                    assumptions[v - 1] = isTrue(assignment, v) ? v : -v;
+                }
+                assertEquals(isAnswerSet, solver.isSatisfiable(assumptions), String.join("\n", encoding));
+            }
+        }
+    }
+
+    @Test
+    public void testTranslateUnsupported() {
+        assertNull(EncodingTranslator.translate(List.of("{t(1..3)}."), 2));
+        assertNull(EncodingTranslator.translate(List.of("{t(1..2)}.", ":- t(1), u(2)."), 2));
+        assertNull(EncodingTranslator.translate(List.of("{t(1..2)}.", "isRevisionModel :- t(1).", "isRevisionModel :- t(2)."), 2));
+        assertNull(EncodingTranslator.translate(List.of("{t(1..2)}.", "#minimize {1,P : d(P)}."), 2));
+    }
+
+    // Body elements over t/1 and d/1 like those created by Encoding, including atoms of d/1 without rules
+    private static List<String> createBody(Random random, int n) {
+        List<String> body = new ArrayList<>();
+        int elementNum = 1 + random.nextInt(3);
+        for (int e = 0; e < elementNum; e++) {
+            int type = random.nextInt(3);
+            if (type == 0) {
+                body.add(createAtom(random, n));
+            } else if (type == 1) {
+                List<String> disjuncts = new ArrayList<>();
+                int disjunctNum = 1 + random.nextInt(3);
+                for (int i = 0; i < disjunctNum; i++) {
+                    disjuncts.add(createAtom(random, n));
+                }
+                body.add("1 {" + String.join("; ", disjuncts) + "}");
+            } else {
+                String p = random.nextBoolean() ? "P" : "S";
+                body.add("#count {" + p + " : d(" + p + ")} != " + random.nextInt(n + 2));
+            }
+        }
+        return body;
+    }
+
+    private static String createAtom(Random random, int n) {
+        String negation = random.nextBoolean() ? "not " : "";
+        if (random.nextBoolean()) {
+            return negation + "t(" + (1 + random.nextInt(2 * n)) + ")";
+        }
+        return negation + "d(" + (1 + random.nextInt(n + 1)) + ")";
+    }
+
+    private static boolean holds(List<String> body, int assignment, int discrepancies) {
+        for (String element : body) {
+            if (element.startsWith("1 {")) {
+                boolean holds = false;
+                for (String disjunct : element.substring(3, element.length() - 1).split("; ")) {
+                    holds |= holdsAtom(disjunct, assignment, discrepancies);
+                }
+                if (!holds) {
+                    return false;
+                }
+            } else if (element.startsWith("#count")) {
+                int num = Integer.parseInt(element.substring(element.lastIndexOf(' ') + 1));
+                if (Integer.bitCount(discrepancies) == num) {
+                    return false;
+                }
+            } else if (!holdsAtom(element, assignment, discrepancies)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean holdsAtom(String atom, int assignment, int discrepancies) {
+        boolean negated = atom.startsWith("not ");
+        String positive = negated ? atom.substring(4) : atom;
+        int var = Integer.parseInt(positive.substring(2, positive.length() - 1));
+        boolean holds = positive.startsWith("t") ? isTrue(assignment, var) : (discrepancies >> var & 1) == 1;
+        return holds != negated;
+    }
+
+    private static boolean isTrue(int assignment, int var) {
+        return (assignment >> (var - 1) & 1) == 1;
+    }
+}
@@ -0,0 +1,154 @@
+package de.julsched.beliefchange.ilp;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import de.julsched.beliefchange.utils.ClauseDatabase;
+import de.julsched.beliefchange.utils.IncrementalSolver;
+import de.julsched.beliefchange.values.SatBackend;
+
+public class EncodingTranslatorTest {
+
+    private static final String[] comparators = {"<=", ">=", "="};
+
+    @Test
+    public void testTranslateEqualsConstraints() {
+        Random random = new Random(24);
+        for (int f = 0; f < 1000; f++) {
+            int varNum = 1 + random.nextInt(5);
+            List<String> varDeclarations = new ArrayList<>();
+            for (int v = 1; v <= varNum; v++) {
+                varDeclarations.add("var x" + v + " binary;");
+            }
+            // Bit v - 1 of an index is the value of xv
+            boolean[] satisfied = new boolean[1 << varNum];
+            Arrays.fill(satisfied, true);
+            List<String> constraints = new ArrayList<>();
+            int constraintNum = 1 + random.nextInt(3);
+            for (int c = 1; c <= constraintNum; c++) {
+                StringBuilder constraint = new StringBuilder("s.t. constraint")
+                                            .append(c)
+                                            .append(":\n\t");
+                double[] left = new double[1 << varNum];
+                double[] right = new double[1 << varNum];
+                appendSum(random, varNum, 2, constraint, left);
+                String comparator = comparators[random.nextInt(comparators.length)];
+                constraint.append(" ")
+                          .append(comparator)
+                          .append(" ");
+                appendSum(random, varNum, 2, constraint, right);
+                constraints.add(constraint.append(";").toString());
+                for (int assignment = 0; assignment < 1 << varNum; assignment++) {
+                    satisfied[assignment] &= compare(left[assignment], comparator, right[assignment]);
+                }
+            }
+
+            ClauseDatabase clauses = EncodingTranslator.translate(varDeclarations, constraints, varNum);
+            IncrementalSolver solver = new IncrementalSolver(SatBackend.MINISAT, clauses.getMaxVar(), clauses);
+            for (int assignment = 0; assignment < 1 << varNum; assignment++) {
+                int[] assumptions = new int[varNum];
+                for (int v = 1; v <= varNum; v++) {
+                    assumptions[v - 1] = (assignment >> (v - 1) & 1) == 1 ? v : -v;
+                }
+                assertEquals(satisfied[assignment], solver.isSatisfiable(assumptions), String.join("\n", constraints));
+            }
+        }
+    }
+
+    @Test
+    public void testLinearExpression() {
+        // x1 / 2 - x2 / 3 + 1 = (3 * x1 - 2 * x2 + 6) / 6
+        LinearExpression expression = LinearExpression.variable(1).divide(2)
+                                        .add(LinearExpression.variable(2).divide(3), -1)
+                                        .add(LinearExpression.constant(1), 1);
+        assertEquals(Map.of(1, 3L, 2, -2L), expression.getCoefficients());
+        assertEquals(6, expression.getConstant());
+
+        // Negative divisors move their sign to the numerator, cancelled variables are removed
+        expression = LinearExpression.variable(1).divide(-2).add(LinearExpression.variable(1).divide(-2), -1);
+        assertEquals(Map.of(), expression.getCoefficients());
+        assertEquals(0, expression.getConstant());
+    }
+
+    @Test
+    public void testTranslateChangeConstraint() {
+        // Contraction: the negated change formula clause a1 holds if one of its literals does not
+        List<String> varDeclarations = List.of("var x1 binary;", "var x2 binary;", "var x3 binary;", "var a1 binary;");
+        List<String> constraints = List.of("s.t. changeConstraint1:", "\t(x1 + x2 + x3) / 3 <= a1;");
+        ClauseDatabase clauses = EncodingTranslator.translate(varDeclarations, constraints, 3);
+        // a1 is variable 4, followed by the variable fixed to true
+        assertEquals(List.of("5 0", "4 -1 0", "4 -2 0", "4 -3 0"), clauses.toDimacsList());
+    }
+
+    @Test
+    public void testTranslateUnsupported() {
+        List<String> varDeclarations = List.of("var x1 binary;", "var x2 integer;");
+        assertNull(EncodingTranslator.translate(varDeclarations, List.of(), 2));
+
+        varDeclarations = List.of("var x1 binary;", "var x2 binary;");
+        assertNull(EncodingTranslator.translate(varDeclarations, List.of("maximize total: x1 + x2;"), 2));
+        assertNull(EncodingTranslator.translate(varDeclarations, List.of("s.t. product: x1 * x2 <= 1;"), 2));
+    }
+
+    // Appends a random sum of numbers, variables and quotients to the text and adds its value under every assignment
+    private static void appendSum(Random random, int varNum, int depth, StringBuilder text, double[] values) {
+        int termNum = 1 + random.nextInt(3);
+        for (int t = 0; t < termNum; t++) {
+            int sign = random.nextInt(3) == 0 ? -1 : 1;
+            if (sign < 0) {
+                text.append(t == 0 ? "-" : " - ");
+            } else if (t > 0) {
+                text.append(" + ");
+            }
+            double[] termValues = new double[values.length];
+            int type = random.nextInt(depth > 0 ? 4 : 2);
+            if (type == 0) {
+                int number = random.nextInt(4);
+                text.append(number);
+                Arrays.fill(termValues, number);
+            } else if (type == 1) {
+                int var = 1 + random.nextInt(varNum);
+                text.append("x")
+                    .append(var);
+                for (int assignment = 0; assignment < values.length; assignment++) {
+                    termValues[assignment] = assignment >> (var - 1) & 1;
+                }
+            } else {
+                text.append("(");
+                appendSum(random, varNum, depth - 1, text, termValues);
+                text.append(")");
+            }
+            if (type != 0 && random.nextInt(3) == 0) {
+                int divisor = 1 + random.nextInt(4);
+                text.append(" / ")
+                    .append(divisor);
+                for (int assignment = 0; assignment < values.length; assignment++) {
+                    termValues[assignment] /= divisor;
+                }
+            }
+            for (int assignment = 0; assignment < values.length; assignment++) {
+                values[assignment] += sign * termValues[assignment];
+            }
+        }
+    }
+
+    // Denominators are small, so that distinct values differ by far more than rounding errors
+    private static boolean compare(double left, String comparator, double right) {
+        switch (comparator) {
+            case "<=":
+                return left <= right + 1e-9;
+            case ">=":
+                return left >= right - 1e-9;
+            default:
+                return Math.abs(left - right) <= 1e-9;
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package de.julsched.beliefchange.sat;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import de.julsched.beliefchange.utils.ClauseDatabase;
+
+public class MinimalSetEnumeratorTest {
+
+    @Test
+    public void testNextEqualsBruteForce() {
+        Random random = new Random(8);
+        for (int f = 0; f < 3000; f++) {
+            int varNum = 2 + random.nextInt(8);
+            ClauseDatabase clauses = new ClauseDatabase();
+            int clauseNum = random.nextInt(3 * varNum);
+            for (int c = 0; c < clauseNum; c++) {
+                int length = 1 + random.nextInt(3);
+                for (int i = 0; i < length; i++) {
+                    int var = 1 + random.nextInt(varNum);
+                    clauses.addLiteral(random.nextBoolean() ? var : -var);
+                }
+                clauses.endClause();
+            }
+            List<Integer> discrepancyVars = new ArrayList<>();
+            for (int v = 1; v <= varNum; v++) {
+                if (random.nextInt(3) != 0) {
+                    discrepancyVars.add(v);
+                }
+            }
+
+            Set<Set<Integer>> expected = determineMinimalSets(clauses, varNum, discrepancyVars);
+            Set<Set<Integer>> result = new HashSet<>();
+            MinimalSetEnumerator enumerator = new MinimalSetEnumerator(clauses, varNum, discrepancyVars);
+            List<Integer> minimalSet;
+            int previousSize = 0;
+            while ((minimalSet = enumerator.next()) != null) {
+                // Ordered by size like the repeated MaxSAT calls
+                assertTrue(minimalSet.size() >= previousSize);
+                previousSize = minimalSet.size();
+                assertTrue(result.add(new HashSet<>(minimalSet)));
+            }
+            assertEquals(expected, result);
+        }
+    }
+
+    // Positions (starting at 1) of the discrepancy variables of all subset-minimal sets true in some model
+    private static Set<Set<Integer>> determineMinimalSets(ClauseDatabase clauses, int varNum, List<Integer> discrepancyVars) {
+        Set<Set<Integer>> sets = new HashSet<>();
+        for (int assignment = 0; assignment < 1 << varNum; assignment++) {
+            if (!isModel(clauses, assignment)) {
+                continue;
+            }
+            Set<Integer> set = new HashSet<>();
+            for (int i = 0; i < discrepancyVars.size(); i++) {
+                if ((assignment >> (discrepancyVars.get(i) - 1) & 1) == 1) {
+                    set.add(i + 1);
+                }
+            }
+            sets.add(set);
+        }
+        Set<Set<Integer>> minimalSets = new HashSet<>();
+        for (Set<Integer> set : sets) {
+            boolean isMinimal = true;
+            for (Set<Integer> other : sets) {
+                if (other.size() < set.size() && set.containsAll(other)) {
+                    isMinimal = false;
+                    break;
+                }
+            }
+            if (isMinimal) {
+                minimalSets.add(set);
+            }
+        }
+        return minimalSets;
+    }
+
+    private static boolean isModel(ClauseDatabase clauses, int assignment) {
+        for (int c = 0; c < clauses.size(); c++) {
+            boolean satisfied = false;
+            for (int literal : clauses.getClause(c)) {
+                if ((assignment >> (Math.abs(literal) - 1) & 1) == (literal > 0 ? 1 : 0)) {
+                    satisfied = true;
+                    break;
+                }
+            }
+            if (!satisfied) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
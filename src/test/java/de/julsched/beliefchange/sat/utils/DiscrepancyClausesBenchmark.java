@@ -0,0 +1,84 @@
+package de.julsched.beliefchange.sat.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import de.julsched.beliefchange.utils.ClauseDatabase;
+
+// Not part of the regular test run, execute with 'mvn test -Dtest=DiscrepancyClausesBenchmark'
+public class DiscrepancyClausesBenchmark {
+
+    private static final int varNum = 100000;
+    private static final int rounds = 5;
+
+    private static final List<String> templatesExact = Arrays.asList(new String[] {
+        "d -x y 0",
+        "d x -y 0",
+        "-d -x -y 0",
+        "-d x y 0"
+    });
+
+    private static final List<String> templatesVague = Arrays.asList(new String[] {
+        "d -x y 0",
+        "d x -y 0"
+    });
+
+    @Test
+    public void benchmarkExact() {
+        runBenchmark(true);
+    }
+
+    @Test
+    public void benchmarkVague() {
+        runBenchmark(false);
+    }
+
+    private void runBenchmark(boolean exact) {
+        // Warm up and check that both variants produce the same clauses
+        ClauseDatabase templateClauses = createWithTemplates(exact);
+        ClauseDatabase emitterClauses = createWithEmitter(exact);
+        assertEquals(templateClauses.toDimacsList(), emitterClauses.toDimacsList());
+
+        long start = System.nanoTime();
+        for (int r = 0; r < rounds; r++) {
+            createWithTemplates(exact);
+        }
+        long timeTemplates = (System.nanoTime() - start) / rounds;
+
+        start = System.nanoTime();
+        for (int r = 0; r < rounds; r++) {
+            createWithEmitter(exact);
+        }
+        long timeEmitter = (System.nanoTime() - start) / rounds;
+
+        System.out.println("[INFO] Discrepancy clauses (" + (exact ? "exact" : "vague") + ", " + varNum + " variables): "
+                            + "templates " + (timeTemplates / 1000000) + " ms, "
+                            + "emitter " + (timeEmitter / 1000000) + " ms, "
+                            + "speedup " + String.format("%.1f", (double) timeTemplates / timeEmitter) + "x");
+    }
+
+    private ClauseDatabase createWithTemplates(boolean exact) {
+        List<String> templates = exact ? templatesExact : templatesVague;
+        ClauseDatabase clauses = new ClauseDatabase();
+        for (int v = 1; v <= varNum; v++) {
+            for (String template : templates) {
+                clauses.addDimacsClause(template.replaceAll("d", Integer.toString(2 * varNum + v))
+                                                .replaceAll("x", Integer.toString(v))
+                                                .replaceAll("y", Integer.toString(varNum + v)));
+            }
+        }
+        return clauses;
+    }
+
+    private ClauseDatabase createWithEmitter(boolean exact) {
+        ClauseDatabase clauses = new ClauseDatabase();
+        for (int v = 1; v <= varNum; v++) {
+            DiscrepancyClauses.addClauses(clauses, exact, 2 * varNum + v, v, varNum + v);
+        }
+        return clauses;
+    }
+}
@@ -0,0 +1,93 @@
+package de.julsched.beliefchange.sat.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import de.julsched.beliefchange.utils.ClauseDatabase;
+import de.julsched.beliefchange.utils.IncrementalSolver;
+import de.julsched.beliefchange.values.SatBackend;
+
+public class WeightedCounterTest {
+
+    @Test
+    public void testCountEqualsWeightedSum() {
+        Random random = new Random(24);
+        for (int f = 0; f < 1000; f++) {
+            int varNum = 1 + random.nextInt(6);
+            int literalNum = random.nextInt(8);
+            int[] literals = new int[literalNum];
+            long[] weights = new long[literalNum];
+            for (int i = 0; i < literalNum; i++) {
+                int var = 1 + random.nextInt(varNum);
+                literals[i] = random.nextBoolean() ? var : -var;
+                weights[i] = random.nextInt(3) == 0 ? 1 : random.nextInt(20);
+            }
+            int trueVar = varNum + 1;
+            ClauseDatabase clauses = new ClauseDatabase();
+            clauses.addClause(trueVar);
+            WeightedCounter counter = new WeightedCounter(clauses, trueVar, trueVar);
+            int[] bits = counter.count(literals, weights);
+
+            long total = Arrays.stream(weights).sum();
+            long bound = random.nextInt((int) total + 3) - 1;
+            int guardVar = counter.getVarNum() + 1;
+            ClauseDatabase atMostClauses = new ClauseDatabase(clauses);
+            new WeightedCounter(atMostClauses, trueVar, guardVar).addAtMost(bits, bound, guardVar);
+
+            IncrementalSolver solver = new IncrementalSolver(SatBackend.MINISAT, guardVar, clauses);
+            IncrementalSolver atMostSolver = new IncrementalSolver(SatBackend.MINISAT, guardVar, atMostClauses);
+            for (int assignment = 0; assignment < 1 << varNum; assignment++) {
+                int[] assumptions = new int[varNum];
+                for (int v = 1; v <= varNum; v++) {
+                    assumptions[v - 1] = (assignment >> (v - 1) & 1) == 1 ? v : -v;
+                }
+                long sum = 0;
+                for (int i = 0; i < literalNum; i++) {
+                    if ((assignment >> (Math.abs(literals[i]) - 1) & 1) == (literals[i] > 0 ? 1 : 0)) {
+                        sum += weights[i];
+                    }
+                }
+
+                // The bits are determined by the literals
+                assertTrue(solver.isSatisfiable(concat(assumptions, WeightedCounter.getEqualLiterals(bits, sum))));
+                int[] otherValue = WeightedCounter.getEqualLiterals(bits, sum + 1);
+                if (otherValue != null) {
+                    assertFalse(solver.isSatisfiable(concat(assumptions, otherValue)));
+                }
+
+                assertEquals(sum <= bound, atMostSolver.isSatisfiable(concat(assumptions, new int[] {-guardVar})));
+                assertTrue(atMostSolver.isSatisfiable(concat(assumptions, new int[] {guardVar})));
+            }
+        }
+    }
+
+    @Test
+    public void testCount() {
+        // 1 + 2 * 2 + 3: 1 and 3 are added by a half adder, whose carry is added to 2 by another one
+        ClauseDatabase clauses = new ClauseDatabase();
+        clauses.addClause(4);
+        WeightedCounter counter = new WeightedCounter(clauses, 4, 4);
+        int[] bits = counter.count(new int[] {1, 2, 3}, new long[] {1, 2, 1});
+        assertEquals(8, counter.getVarNum());
+        assertEquals(1 + 7 + 7, clauses.size());
+        // Sum of the first half adder, sum and carry of the second one
+        assertEquals(Arrays.toString(new int[] {6, 8, 7}), Arrays.toString(bits));
+
+        assertEquals(Arrays.toString(new int[] {6, -8, 7}), Arrays.toString(WeightedCounter.getEqualLiterals(bits, 5)));
+        assertNull(WeightedCounter.getEqualLiterals(bits, 8));
+        assertNull(WeightedCounter.getEqualLiterals(bits, -1));
+    }
+
+    private static int[] concat(int[] literals1, int[] literals2) {
+        int[] literals = Arrays.copyOf(literals1, literals1.length + literals2.length);
+        System.arraycopy(literals2, 0, literals, literals1.length, literals2.length);
+        return literals;
+    }
+}
@@ -0,0 +1,133 @@
+package de.julsched.beliefchange.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.logicng.formulas.FType;
+import org.logicng.formulas.Formula;
+import org.logicng.formulas.FormulaFactory;
+import org.logicng.formulas.Literal;
+import org.logicng.transformations.cnf.TseitinTransformation;
+
+import de.julsched.beliefchange.values.NegationEncoding;
+
+public class TseitinTest {
+
+    @Test
+    public void testNegateCnfFormulaEqualsLogicNG() {
+        Random random = new Random(4);
+        for (int f = 0; f < 20000; f++) {
+            int varNum = 1 + random.nextInt(6);
+            ClauseDatabase clauses = new ClauseDatabase();
+            int clauseNum = 1 + random.nextInt(6);
+            for (int c = 0; c < clauseNum; c++) {
+                int length = 1 + random.nextInt(4);
+                for (int i = 0; i < length; i++) {
+                    int var = 1 + random.nextInt(varNum);
+                    clauses.addLiteral(random.nextBoolean() ? var : -var);
+                }
+                clauses.endClause();
+            }
+
+            NegatedCnf negation = Tseitin.negateCnfFormula(varNum, clauses);
+            List<String> expected = negateWithLogicNG(varNum, clauses);
+            if (expected.get(0).equals("tautology")) {
+                assertTrue(negation.isTautology());
+                assertFalse(negation.isUnsatisfiable());
+            } else if (expected.get(0).equals("unsat")) {
+                assertTrue(negation.isUnsatisfiable());
+                assertFalse(negation.isTautology());
+            } else {
+                assertFalse(negation.isTautology() || negation.isUnsatisfiable());
+                assertEquals(expected.get(0), Integer.toString(negation.getVarNum()));
+                assertEquals(expected.subList(1, expected.size()), toDimacs(negation.getClauses()));
+            }
+        }
+    }
+
+    @Test
+    public void testNegateCnfFormulaPlaistedGreenbaum() {
+        // (1 v 2) & (-1 v 3) & -2
+        ClauseDatabase clauses = new ClauseDatabase();
+        clauses.addClause(1, 2);
+        clauses.addClause(-1, 3);
+        clauses.addClause(-2);
+
+        NegatedCnf negation = Tseitin.negateCnfFormula(3, clauses, NegationEncoding.PLAISTED_GREENBAUM);
+        assertEquals(5, negation.getVarNum());
+        List<String> expected = List.of("-4 -1 0", "-4 -2 0", "-5 1 0", "-5 -3 0", "4 5 2 0");
+        assertEquals(expected, toDimacs(negation.getClauses()));
+    }
+
+    // Reference: LogicNG's Tseitin transformation of the negated formula, auxiliary variables numbered by first occurrence
+    private static List<String> negateWithLogicNG(int varNum, ClauseDatabase clauses) {
+        FormulaFactory f = new FormulaFactory();
+        List<Formula> conjunction = new ArrayList<>();
+        for (int c = 0; c < clauses.size(); c++) {
+            List<Formula> disjunction = new ArrayList<>();
+            for (int literal : clauses.getClause(c)) {
+                disjunction.add(f.literal(Integer.toString(Math.abs(literal)), literal > 0));
+            }
+            conjunction.add(f.or(disjunction));
+        }
+        Formula cnf = new TseitinTransformation(0).apply(f.and(conjunction).negate(), true);
+        List<String> result = new ArrayList<>();
+        if (cnf.isConstantFormula()) {
+            result.add(cnf.type() == FType.TRUE ? "tautology" : "unsat");
+            return result;
+        }
+
+        Map<String, Integer> auxiliaryVars = new HashMap<>();
+        result.add(null);
+        List<Formula> cnfClauses = new ArrayList<>();
+        if (cnf.type() == FType.AND) {
+            cnf.forEach(cnfClauses::add);
+        } else {
+            cnfClauses.add(cnf);
+        }
+        for (Formula clause : cnfClauses) {
+            StringBuilder dimacs = new StringBuilder();
+            List<Formula> literals = new ArrayList<>();
+            if (clause.type() == FType.OR) {
+                clause.forEach(literals::add);
+            } else {
+                literals.add(clause);
+            }
+            for (Formula formula : literals) {
+                Literal literal = (Literal) formula;
+                int var;
+                if (literal.name().startsWith("@RESERVED_CNF_")) {
+                    var = auxiliaryVars.computeIfAbsent(literal.name(), k -> varNum + auxiliaryVars.size() + 1);
+                } else {
+                    var = Integer.parseInt(literal.name());
+                }
+                dimacs.append(literal.phase() ? var : -var)
+                      .append(" ");
+            }
+            result.add(dimacs.append("0").toString());
+        }
+        result.set(0, Integer.toString(varNum + auxiliaryVars.size()));
+        return result;
+    }
+
+    private static List<String> toDimacs(ClauseDatabase clauses) {
+        List<String> result = new ArrayList<>();
+        for (int c = 0; c < clauses.size(); c++) {
+            StringBuilder dimacs = new StringBuilder();
+            for (int literal : clauses.getClause(c)) {
+                dimacs.append(literal)
+                      .append(" ");
+            }
+            result.add(dimacs.append("0").toString());
+        }
+        return result;
+    }
+}
@@ -0,0 +1,120 @@
+package de.julsched.beliefchange.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.logicng.datastructures.Tristate;
+
+public class UnitPropagatorTest {
+
+    @Test
+    public void testPropagateEqualsBruteForce() {
+        Random random = new Random(23);
+        for (int f = 0; f < 3000; f++) {
+            int varNum = 2 + random.nextInt(8);
+            ClauseDatabase clauses = new ClauseDatabase();
+            int clauseNum = random.nextInt(3 * varNum);
+            for (int c = 0; c < clauseNum; c++) {
+                int length = 1 + random.nextInt(3);
+                for (int i = 0; i < length; i++) {
+                    int var = 1 + random.nextInt(varNum);
+                    clauses.addLiteral(random.nextBoolean() ? var : -var);
+                }
+                clauses.endClause();
+            }
+
+            // The propagator is reused, so every assignment also checks that the previous one is discarded
+            UnitPropagator propagator = new UnitPropagator(varNum, clauses);
+            for (int q = 0; q < 5; q++) {
+                List<Integer> assignment = new ArrayList<>();
+                for (int v = 1; v <= varNum; v++) {
+                    if (random.nextBoolean()) {
+                        assignment.add(random.nextBoolean() ? v : -v);
+                    }
+                }
+                int[] literals = assignment.stream().mapToInt(Integer::intValue).toArray();
+
+                boolean extensible = isSatisfiable(clauses, varNum, literals);
+                Tristate propagation = propagator.propagate(literals);
+                if (propagation == Tristate.UNDEF) {
+                    ClauseDatabase residualClauses = propagator.getResidualClauses();
+                    for (int i = 0; i < residualClauses.getLiteralNum(); i++) {
+                        assertFalse(assignment.contains(residualClauses.getLiteral(i)));
+                        assertFalse(assignment.contains(-residualClauses.getLiteral(i)));
+                    }
+                    assertEquals(extensible, isSatisfiable(residualClauses, varNum, new int[0]));
+                } else {
+                    assertEquals(extensible, propagation == Tristate.TRUE);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testResidualClauses() {
+        // (1 v 2 v 3) & (-1 v 4) & (-4 v 2 v 5) & (3 v 5 v 6)
+        ClauseDatabase clauses = new ClauseDatabase();
+        clauses.addClause(1, 2, 3);
+        clauses.addClause(-1, 4);
+        clauses.addClause(-4, 2, 5);
+        clauses.addClause(3, 5, 6);
+
+        UnitPropagator propagator = new UnitPropagator(6, clauses);
+        assertEquals(6, propagator.getVarNum());
+        // 1 implies 4, which leaves (2 v 5) & (3 v 5 v 6)
+        assertEquals(Tristate.UNDEF, propagator.propagate(new int[] {1}));
+        ClauseDatabase residualClauses = propagator.getResidualClauses();
+        assertEquals(2, residualClauses.size());
+        assertEquals(List.of(2, 5), sorted(residualClauses.getClause(0)));
+        assertEquals(List.of(3, 5, 6), sorted(residualClauses.getClause(1)));
+
+        assertEquals(Tristate.TRUE, propagator.propagate(new int[] {1, 5}));
+        assertEquals(Tristate.FALSE, propagator.propagate(new int[] {1, -2, -5}));
+    }
+
+    private static List<Integer> sorted(int[] clause) {
+        List<Integer> literals = new ArrayList<>();
+        for (int literal : clause) {
+            literals.add(literal);
+        }
+        literals.sort(null);
+        return literals;
+    }
+
+    private static boolean isSatisfiable(ClauseDatabase clauses, int varNum, int[] assignment) {
+        for (int values = 0; values < 1 << varNum; values++) {
+            boolean consistent = true;
+            for (int literal : assignment) {
+                if ((values >> (Math.abs(literal) - 1) & 1) != (literal > 0 ? 1 : 0)) {
+                    consistent = false;
+                    break;
+                }
+            }
+            if (consistent && isModel(clauses, values)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isModel(ClauseDatabase clauses, int values) {
+        for (int c = 0; c < clauses.size(); c++) {
+            boolean satisfied = false;
+            for (int literal : clauses.getClause(c)) {
+                if ((values >> (Math.abs(literal) - 1) & 1) == (literal > 0 ? 1 : 0)) {
+                    satisfied = true;
+                    break;
+                }
+            }
+            if (!satisfied) {
+                return false;
+            }
+        }
+        return true;
+    }
+}